@@ -0,0 +1,20 @@
+package com.example.hr_benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH 실행 진입점 (benchmarks.jar)
+ *
+ * 명령행 옵션은 JMH 기본과 같고, 할당량 확인을 위해 GC 프로파일러(gc.alloc.rate.norm = 호출당 할당 바이트)를 항상 붙임
+ * 예) java -jar target/benchmarks.jar WageBenchmark -f 1 -wi 3 -i 5
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder().parent(cli).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.hr_benchmarks;
+
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전 사원 월간 조회(/monthly/all) 의 행 매핑/묶음 (사원 300명 x 22 근무일 = 6,600건)
+ *
+ * 1. 조회 컬럼 -> EmployeeAttendanceRow (JPQL 생성자 projection 이 행마다 호출하는 생성자, 엔티티 없음)
+ * 2. EmployeeAttendanceRow.groupByEmployee (사원 ID 순 행 -> 사원별 기록)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthlyLogsBenchmark {
+
+    @Param({"300"})
+    private int employees;
+
+    // 조회 결과 컬럼 (employee_id, work_date, check_in, check_out, status, working_minutes, daily_wage)
+    private Object[][] columns;
+    private List<EmployeeAttendanceRow> rows;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> selected = new ArrayList<>();
+        LocalDate start = LocalDate.of(2026, 3, 2);
+        // 조회 쿼리와 같은 사원 ID, 근무일 순서
+        for (long id = 1; id <= employees; id++) {
+            for (int day = 0; day < 22; day++) {
+                selected.add(new Object[]{id, start.plusDays(day), LocalTime.of(8, 50), LocalTime.of(18, 5),
+                        "퇴근", 495, 99_000});
+            }
+        }
+        columns = selected.toArray(Object[][]::new);
+        rows = project();
+    }
+
+    @Benchmark
+    public List<EmployeeAttendanceRow> project() {
+        List<EmployeeAttendanceRow> result = new ArrayList<>(columns.length);
+        for (Object[] c : columns) {
+            result.add(new EmployeeAttendanceRow((Long) c[0], (LocalDate) c[1], (LocalTime) c[2], (LocalTime) c[3],
+                    (String) c[4], (Integer) c[5], (Integer) c[6]));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<Long, List<AttendanceLogResponse>> groupByEmployee() {
+        return EmployeeAttendanceRow.groupByEmployee(rows);
+    }
+}
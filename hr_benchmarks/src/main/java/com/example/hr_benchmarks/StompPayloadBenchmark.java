@@ -0,0 +1,76 @@
+package com.example.hr_benchmarks;
+
+import com.example.hr_service.dto.AdminUpdateDelta;
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.service.AttendanceNotifications;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STOMP 알림 payload 의 Jackson 직렬화 (브로커 전송 전 byte[] 변환 비용)
+ * payload 는 서비스가 보내는 것과 같은 AttendanceNotifications / AdminUpdateDelta 로 만듦
+ *
+ * 1. CHECK_OUT 알림 Map (AttendanceService.sendWebSocketUpdate)
+ * 2. ADMIN_DELTA (변경 5일)
+ * 3. 구 ADMIN_UPDATE 전체 월간 payload (22일, 호환 기간 동안 같이 전송) - ADMIN_DELTA 와 크기/할당 비교용
+ * 4. ABSENT_BATCH (결근 300명)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StompPayloadBenchmark {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private Map<String, Object> checkOut;
+    private AdminUpdateDelta delta;
+    private Map<String, Object> fullMonth;
+    private Map<String, Object> absentBatch;
+
+    @Setup
+    public void setUp() {
+        checkOut = AttendanceNotifications.punch("CHECK_OUT", "퇴근", LocalTime.of(18, 3, 21).toString(), 99_000, 495L);
+
+        List<AttendanceLogResponse> month = new ArrayList<>();
+        LocalDate start = LocalDate.of(2026, 3, 2);
+        for (int day = 0; day < 22; day++) {
+            month.add(new AttendanceLogResponse(start.plusDays(day), LocalTime.of(8, 50), LocalTime.of(18, 5), "퇴근", 495, 99_000));
+        }
+        delta = new AdminUpdateDelta(AdminUpdateDelta.TYPE, 1024, 7L, "2026-03",
+                month.subList(0, 5), List.of(), 12.5, 3, 2_178_000);
+
+        fullMonth = AttendanceNotifications.adminUpdate(7L, start, 12.5, 3, month, 2_178_000L);
+
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) ids.add(id);
+        absentBatch = AttendanceNotifications.absentBatch(start, ids);
+    }
+
+    @Benchmark
+    public byte[] checkOutMap() {
+        return mapper.writeValueAsBytes(checkOut);
+    }
+
+    @Benchmark
+    public byte[] adminDelta() {
+        return mapper.writeValueAsBytes(delta);
+    }
+
+    @Benchmark
+    public byte[] legacyFullMonth() {
+        return mapper.writeValueAsBytes(fullMonth);
+    }
+
+    @Benchmark
+    public byte[] absentBatch() {
+        return mapper.writeValueAsBytes(absentBatch);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.hr_benchmarks;
+
+import com.example.hr_service.service.AttendancePolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 퇴근 처리의 근무분/일당/상태 계산 (AttendanceService.checkOut, PunchIngestionService 공용 규칙)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WageBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final LocalTime[] checkIns = new LocalTime[SAMPLES];
+    private final LocalTime[] checkOuts = new LocalTime[SAMPLES];
+    private final String[] statuses = new String[SAMPLES];
+    private final int[] hourlyRates = new int[SAMPLES];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SAMPLES; i++) {
+            checkIns[i] = LocalTime.of(8, 0).plusMinutes(i % 90);
+            checkOuts[i] = LocalTime.of(17, 0).plusMinutes(i % 150);
+            statuses[i] = AttendancePolicy.checkInStatus(checkIns[i]);
+            hourlyRates[i] = 10_030 + (i % 20) * 500;
+        }
+    }
+
+    @Benchmark
+    public int wage() {
+        int i = next();
+        return AttendancePolicy.wage(480 + (i & 63), hourlyRates[i]);
+    }
+
+    @Benchmark
+    public int checkOutMath() {
+        int i = next();
+        long minutes = AttendancePolicy.workingMinutes(checkIns[i], checkOuts[i]);
+        int wage = AttendancePolicy.wage(minutes, hourlyRates[i]);
+        String status = AttendancePolicy.checkOutStatus(statuses[i], checkOuts[i]);
+        return wage + status.length();
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLES - 1);
+    }
+}
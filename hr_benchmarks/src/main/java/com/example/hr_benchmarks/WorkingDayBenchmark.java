@@ -0,0 +1,85 @@
+package com.example.hr_benchmarks;
+
+import com.example.hr_service.service.WorkingDayCalendar;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 근무일 계산: WorkingDayCalendar(연도별 비트셋) vs 이전 방식(날짜 루프 + 공휴일 HashSet)
+ *
+ * 이전 isRestDay/getDateRange 는 AttendanceAdminService 에서 WorkingDayCalendar 로 대체됨 -> 비교 기준으로만 남김
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkingDayBenchmark {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2026, 5, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2026, 5, 31);
+    private static final LocalDate YEAR_START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate YEAR_END = LocalDate.of(2026, 12, 31);
+
+    private WorkingDayCalendar calendar;
+    private Set<LocalDate> holidays;
+    private LocalDate[] days;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        calendar = new WorkingDayCalendar(new ClassPathResource("holidays-kr.txt"));
+        holidays = new HashSet<>();
+        for (LocalDate d = YEAR_START; !d.isAfter(YEAR_END); d = d.plusDays(1)) {
+            if (!isWeekend(d) && !calendar.isWorkingDay(d)) holidays.add(d);
+        }
+        days = new LocalDate[365];
+        for (int i = 0; i < days.length; i++) days[i] = YEAR_START.plusDays(i);
+    }
+
+    @Benchmark
+    public boolean isWorkingDay() {
+        return calendar.isWorkingDay(next());
+    }
+
+    @Benchmark
+    public boolean legacyIsRestDay() {
+        LocalDate date = next();
+        return isWeekend(date) || holidays.contains(date);
+    }
+
+    @Benchmark
+    public List<LocalDate> monthWorkingDays() {
+        return calendar.workingDays(MONTH_START, MONTH_END);
+    }
+
+    @Benchmark
+    public List<LocalDate> legacyMonthDateRange() {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate d = MONTH_START; !d.isAfter(MONTH_END); d = d.plusDays(1)) {
+            if (!isWeekend(d) && !holidays.contains(d)) dates.add(d);
+        }
+        return dates;
+    }
+
+    @Benchmark
+    public int yearWorkingDayCount() {
+        return calendar.countWorkingDays(YEAR_START, YEAR_END);
+    }
+
+    private LocalDate next() {
+        cursor = cursor + 1 == days.length ? 0 : cursor + 1;
+        return days[cursor];
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+}
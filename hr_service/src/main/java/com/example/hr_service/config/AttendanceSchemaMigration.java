@@ -0,0 +1,90 @@
+package com.example.hr_service.config;
+
+import com.example.hr_service.entity.AttendanceLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * attendance 테이블 인덱스 마이그레이션 (기동할 때마다 실행, 이미 있는 인덱스는 건너뜀)
+ *
+ * ddl-auto=update 는 기존 운영 테이블에 인덱스를 보장하지 않으므로 여기서 한 번 더 확인해서 생성
+ * 1. 사원+날짜 유니크 인덱스: 같은 사원/날짜 중복 기록이 남아 있으면 생성하지 않고 에러 로그만 남김
+ * 2. 날짜 기준 covering 인덱스, 퇴근 미처리 조회용 인덱스
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceSchemaMigration {
+
+    private static final String TABLE = "attendance";
+
+    private static final List<IndexDef> INDEXES = List.of(
+            new IndexDef(AttendanceLog.UK_EMPLOYEE_WORK_DATE, true, "employee_id, work_date"),
+            new IndexDef("idx_attendance_work_date_covering", false, "work_date, employee_id, daily_wage, working_minutes"),
+            new IndexDef("idx_attendance_work_date_check_out", false, "work_date, check_out"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 급여 원장 백필 등 다른 기동 작업보다 먼저 실행
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        Set<String> existing = existingIndexes();
+        if (existing == null) return;
+
+        for (IndexDef index : INDEXES) {
+            if (existing.contains(index.name())) continue;
+            if (index.unique() && hasDuplicates()) continue;
+
+            jdbcTemplate.execute("CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX " + index.name()
+                    + " ON " + TABLE + " (" + index.columns() + ")");
+            log.info("인덱스 생성 - {} ({})", index.name(), index.columns());
+        }
+    }
+
+    // 테이블이 없으면 null
+    private Set<String> existingIndexes() {
+        return jdbcTemplate.execute((Connection con) -> {
+            DatabaseMetaData meta = con.getMetaData();
+            Set<String> names = new HashSet<>();
+            boolean tableExists;
+            try (ResultSet tables = meta.getTables(con.getCatalog(), con.getSchema(), TABLE, null)) {
+                tableExists = tables.next();
+            }
+            if (!tableExists) return null;
+
+            try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), con.getSchema(), TABLE, false, false)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+            return names;
+        });
+    }
+
+    private boolean hasDuplicates() {
+        Long duplicates = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT employee_id, work_date FROM attendance "
+                + "GROUP BY employee_id, work_date HAVING COUNT(*) > 1) d", Long.class);
+        if (duplicates == null || duplicates == 0) return false;
+        log.error("사원/날짜 중복 근태 기록 {}건이 있어 {} 생성을 건너뜀 - 중복 정리 후 재기동 필요",
+                duplicates, AttendanceLog.UK_EMPLOYEE_WORK_DATE);
+        return true;
+    }
+
+    private record IndexDef(String name, boolean unique, String columns) {
+    }
+}
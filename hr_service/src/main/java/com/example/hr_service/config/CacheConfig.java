@@ -0,0 +1,38 @@
+package com.example.hr_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 사원 정보 캐시 (Caffeine, 크기/TTL 기반 만료)
+ *
+ * 무효화(evict): EmployeeRepository.save/deleteById, 연차/병가 압축이 사원 잔여를 맞추거나 외부 변경을 찾은 사원
+ * 트랜잭션 안의 무효화는 커밋 후에 반영 -> 커밋 전 값을 다른 요청이 다시 캐시에 올리는 것을 막음
+ * Flask 등 밖에서 바꾼 이름/시급은 TTL(attendance.cache.employee.ttl) 만료 때 반영
+ * 적중/미스/만료 통계는 actuator 의 cache.gets, cache.evictions 로 확인
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${attendance.cache.employee.maximum-size:10000}") long maximumSize,
+                                     @Value("${attendance.cache.employee.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
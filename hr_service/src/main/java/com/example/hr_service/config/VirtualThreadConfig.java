@@ -0,0 +1,80 @@
+package com.example.hr_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * virtual thread 모드 전용 설정 (JDK 21+, spring.threads.virtual.enabled=true -> application-virtual.properties)
+ *
+ * Tomcat 요청/@Scheduled 는 Spring Boot 가, STOMP 채널은 WebSocketConfig(attendance.websocket.executor=virtual)가 전환
+ * virtual thread 는 요청 수만큼 생기므로 /api 요청 동시 실행 수를 커넥션 풀 크기에 맞춰 제한
+ * - 자리가 날 때까지 max-wait-ms 만큼 기다리고, 넘으면 503 (커넥션 풀 대기 타임아웃까지 쌓이지 않게)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${attendance.virtual.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${attendance.virtual.max-wait-ms:5000}") long maxWaitMs) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrent, maxWaitMs));
+        registration.addUrlPatterns("/api/*");
+        log.info("virtual thread 모드 - /api 동시 실행 제한: {}, 대기 한도: {}ms", maxConcurrent, maxWaitMs);
+        return registration;
+    }
+
+    static final class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+        private final Semaphore permits;
+        private final long maxWaitMs;
+
+        ConcurrencyLimitFilter(int maxConcurrent, long maxWaitMs) {
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.getWriter().write("{\"message\":\"요청이 많습니다. 잠시 후 다시 시도해주세요.\"}");
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -1,16 +1,117 @@
 package com.example.hr_service.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.*;
-import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 엔드포인트 및 simple broker 설정
+ *
+ * 1. 클라이언트 inbound/outbound 채널 실행기: 스레드 풀 크기 조절 또는 virtual thread (JDK 21+)
+ * 2. 세션별 전송 버퍼/전송 시간 제한: 넘으면 느린 클라이언트 세션을 끊어 다른 구독자 전송을 막지 않음
+ * 3. heartbeat (서버 <-> 클라이언트)
+ * 4. 지표: websocket.channel.queue.depth, websocket.sessions.dropped
+ *    구독 목적지별(사원/채팅방 id 는 묶음): websocket.fanout.latency, websocket.messages.sent, websocket.payload.bytes
+ */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+  // 브로커 채널에 들어온 시각 (구독자별 전송까지 걸린 시간 측정용, 클라이언트로는 전달되지 않음)
+  static final String PUBLISHED_AT_HEADER = "publishedAt";
+
+  private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, DestinationMeters> destinationMeters = new ConcurrentHashMap<>();
+  private final Counter droppedSessions;
+  private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+  private TaskScheduler messageBrokerTaskScheduler;
+
+  @Value("${attendance.websocket.executor:platform}")
+  private String executorType;
+
+  @Value("${attendance.websocket.inbound.core-pool-size:8}")
+  private int inboundCorePoolSize;
+
+  @Value("${attendance.websocket.inbound.max-pool-size:32}")
+  private int inboundMaxPoolSize;
+
+  @Value("${attendance.websocket.inbound.queue-capacity:2147483647}")
+  private int inboundQueueCapacity;
+
+  @Value("${attendance.websocket.outbound.core-pool-size:8}")
+  private int outboundCorePoolSize;
+
+  @Value("${attendance.websocket.outbound.max-pool-size:32}")
+  private int outboundMaxPoolSize;
+
+  @Value("${attendance.websocket.outbound.queue-capacity:2147483647}")
+  private int outboundQueueCapacity;
+
+  @Value("${attendance.websocket.send-time-limit-ms:10000}")
+  private int sendTimeLimitMs;
+
+  @Value("${attendance.websocket.send-buffer-size-limit:524288}")
+  private int sendBufferSizeLimit;
+
+  @Value("${attendance.websocket.message-size-limit:65536}")
+  private int messageSizeLimit;
+
+  @Value("${attendance.websocket.heartbeat-ms:10000}")
+  private long heartbeatMs;
+
+  public WebSocketConfig(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.droppedSessions = Counter.builder("websocket.sessions.dropped")
+        .description("전송 버퍼/시간 제한 초과로 끊긴 세션 수")
+        .register(meterRegistry);
+  }
+
+  // heartbeat 용 (웹소켓 설정이 만드는 스케줄러, 순환 참조를 피하려고 지연 주입)
+  @Autowired
+  public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+    this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+  }
+
   @Override
   public void registerStompEndpoints(StompEndpointRegistry registry) {
+    // 세션 1개가 보낸 메시지는 보낸 순서대로 처리 (inbound 스레드 풀에서 채팅 순서/방별 보관 순서가 뒤섞이지 않게)
+    registry.setPreserveReceiveOrder(true);
+
     // 채팅용
     registry.addEndpoint("/ws-chat")
         .setAllowedOriginPatterns("*")
@@ -27,8 +128,120 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
   // 브로커 설정
   @Override
   public void configureMessageBroker(MessageBrokerRegistry registry) {
-    registry.enableSimpleBroker("/topic");
+    // /queue: 세션 1개에만 보내는 메시지 (채팅방 입장 시 최근 메시지 재전송)
+    registry.enableSimpleBroker("/topic", "/queue")
+        .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+        .setTaskScheduler(messageBrokerTaskScheduler);
     registry.setApplicationDestinationPrefixes("/app");
+    registry.configureBrokerChannel().interceptors(new ChannelInterceptor() {
+      @Override
+      public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (message.getHeaders().containsKey(PUBLISHED_AT_HEADER)) return message;
+        return MessageBuilder.fromMessage(message).setHeader(PUBLISHED_AT_HEADER, System.nanoTime()).build();
+      }
+    });
+  }
+
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration.executor(executor("inbound", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity));
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    registration.executor(executor("outbound", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity));
+    registration.interceptors(new ExecutorChannelInterceptor() {
+      @Override
+      public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Object publishedAt = message.getHeaders().get(PUBLISHED_AT_HEADER);
+        if (!(publishedAt instanceof Long start)) return;
+        DestinationMeters meters = destinationMeters.computeIfAbsent(destinationTag(message), DestinationMeters::new);
+        meters.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (ex != null) return;
+        meters.sent.increment();
+        if (message.getPayload() instanceof byte[] payload) meters.bytes.record(payload.length);
+      }
+    });
+  }
+
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration.setSendTimeLimit(sendTimeLimitMs)
+        .setSendBufferSizeLimit(sendBufferSizeLimit)
+        .setMessageSizeLimit(messageSizeLimit)
+        .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+          @Override
+          public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+            // 전송 제한 초과 세션은 SESSION_NOT_RELIABLE 로 닫힘
+            if (CloseStatus.SESSION_NOT_RELIABLE.equals(status)) {
+              droppedSessions.increment();
+              log.warn("느린 클라이언트 세션 종료 - {}", session.getId());
+            }
+            super.afterConnectionClosed(session, status);
+          }
+        });
   }
 
+  @PreDestroy
+  public void shutdownExecutors() {
+    executors.forEach(ThreadPoolTaskExecutor::shutdown);
+  }
+
+  // 지표 태그용 목적지: /topic/attendance/{id}, /topic/chat/{roomId}, 세션별 /queue 는 -user 접미사 제거
+  static String destinationTag(Message<?> message) {
+    Object original = message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION);
+    String destination = original instanceof String s ? s : SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    if (destination == null) return "none";
+    if (destination.startsWith("/topic/chat/")) return "/topic/chat/{roomId}";
+    int user = destination.indexOf("-user");
+    if (user > 0) destination = destination.substring(0, user);
+    return NUMERIC_SEGMENT.matcher(destination).replaceAll("/{id}");
+  }
+
+  private TaskExecutor executor(String channel, int corePoolSize, int maxPoolSize, int queueCapacity) {
+    if ("virtual".equalsIgnoreCase(executorType)) {
+      try {
+        return new VirtualThreadTaskExecutor("ws-" + channel + "-");
+      } catch (UnsupportedOperationException e) {
+        log.warn("virtual thread 미지원 JDK({}) - {} 채널은 스레드 풀 사용", Runtime.version().feature(), channel);
+      }
+    }
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("ws-" + channel + "-");
+    executor.setCorePoolSize(corePoolSize);
+    executor.setMaxPoolSize(Math.max(corePoolSize, maxPoolSize));
+    executor.setQueueCapacity(queueCapacity);
+    executor.setAllowCoreThreadTimeOut(true);
+    executor.initialize();
+    executors.add(executor);
+    Gauge.builder("websocket.channel.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+        .description("채널 실행기 대기 메시지 수")
+        .tag("channel", channel)
+        .register(meterRegistry);
+    return executor;
+  }
+
+  private final class DestinationMeters {
+    final Timer latency;
+    final Counter sent;
+    final DistributionSummary bytes;
+
+    DestinationMeters(String destination) {
+      this.latency = Timer.builder("websocket.fanout.latency")
+          .description("브로커 발행 ~ 구독자 세션 전송 완료")
+          .tag("destination", destination)
+          .publishPercentiles(0.5, 0.99)
+          .register(meterRegistry);
+      this.sent = Counter.builder("websocket.messages.sent")
+          .description("구독자 세션으로 전송한 메시지 수")
+          .tag("destination", destination)
+          .register(meterRegistry);
+      this.bytes = DistributionSummary.builder("websocket.payload.bytes")
+          .description("구독자 세션으로 전송한 메시지 본문 크기")
+          .baseUnit("bytes")
+          .tag("destination", destination)
+          .register(meterRegistry);
+    }
+  }
 }
@@ -1,13 +1,24 @@
 package com.example.hr_service.controller;
 
 import com.example.hr_service.dto.AttendanceLogResponse;
-import com.example.hr_service.entity.AttendanceLog;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import com.example.hr_service.dto.EmployeeMonthlySummary;
+import com.example.hr_service.entity.PayrollSnapshot;
 import com.example.hr_service.repository.AttendanceLogRepository;
+import com.example.hr_service.service.AdminUpdatePublisher;
 import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.service.AttendanceArchiveService;
+import com.example.hr_service.service.AttendanceExportService;
+import com.example.hr_service.service.LeaveLedgerService;
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.service.SalaryLedgerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -22,6 +33,12 @@ public class AdminAttendanceController {
 
     private final AttendanceAdminService adminService;
     private final AttendanceLogRepository attendanceRepository;
+    private final SalaryLedgerService salaryLedgerService;
+    private final AttendanceExportService exportService;
+    private final AdminUpdatePublisher adminUpdatePublisher;
+    private final LeaveLedgerService leaveLedgerService;
+    private final PayrollService payrollService;
+    private final AttendanceArchiveService archiveService;
 
     /**
      * 1. 근태 상태 일괄 수정 (주말 및 공휴일 자동 제외)
@@ -72,8 +89,10 @@ public class AdminAttendanceController {
             LocalDate startDate = LocalDate.of(targetYear, targetMonth, 1);
             LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-            List<AttendanceLogResponse> result = attendanceRepository.findByEmployeeIdAndWorkDateBetween(employeeId, startDate, endDate)
-                    .stream().map(AttendanceLogResponse::new).collect(Collectors.toList());
+            // 보관된 달은 보관 파일 사원 색인에서, 아니면 DTO projection (사원/근태 엔티티 로딩 없음)
+            List<AttendanceLogResponse> result = archiveService.isArchived(targetYear, targetMonth)
+                    ? archiveService.employeeMonth(employeeId, targetYear, targetMonth)
+                    : attendanceRepository.findResponsesByEmployee(employeeId, startDate, endDate);
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -83,26 +102,42 @@ public class AdminAttendanceController {
 
     /**
      * 4. 전 사원 월급 요약
+     * - 마감된 달: 급여 스냅샷 조회 (detail 이면 근무일/유급휴가/무급/지각 집계 포함 스냅샷 목록)
+     * - 기본: 월간 급여 원장 조회 ({사원ID: 급여})
+     * - department 지정 또는 detail=true: DB GROUP BY 집계 (detail 이면 급여/근무분/기록일수 목록)
      */
     @GetMapping("/salary/all-summary")
     public ResponseEntity<?> getAllEmployeesSalarySummary(
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "false") boolean detail) {
         try {
             LocalDate now = LocalDate.now();
             int targetYear = (year != null) ? year : now.getYear();
             int targetMonth = (month != null) ? month : now.getMonthValue();
 
+            if (payrollService.isClosed(targetYear, targetMonth)) {
+                // 마감 후 근태가 바뀌어도 마감 시점 값 유지
+                if (department == null && !detail) return ResponseEntity.ok(payrollService.monthlyWages(targetYear, targetMonth));
+                List<PayrollSnapshot> snapshots = payrollService.snapshots(targetYear, targetMonth, department);
+                if (detail) return ResponseEntity.ok(snapshots);
+                return ResponseEntity.ok(snapshots.stream()
+                        .collect(Collectors.toMap(PayrollSnapshot::getEmployeeId, PayrollSnapshot::getGrossWage)));
+            }
+
+            if (department == null && !detail) {
+                // 월간 급여 원장에서 바로 조회 (근태 기록 전체 스캔 없음)
+                return ResponseEntity.ok(salaryLedgerService.monthlyWages(targetYear, targetMonth));
+            }
+
             LocalDate start = LocalDate.of(targetYear, targetMonth, 1);
             LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+            List<EmployeeMonthlySummary> summaries = attendanceRepository.summarizeByEmployee(start, end, department);
+            if (detail) return ResponseEntity.ok(summaries);
 
-            List<AttendanceLog> allLogs = attendanceRepository.findByWorkDateBetween(start, end);
-            Map<Long, Long> salaryMap = allLogs.stream()
-                    .filter(log -> log != null && log.getEmployee() != null)
-                    .collect(Collectors.groupingBy(
-                            log -> log.getEmployee().getId(),
-                            Collectors.summingLong(log -> log.getDailyWage() != null ? log.getDailyWage().longValue() : 0L)));
-
+            Map<Long, Long> salaryMap = summaries.stream()
+                    .collect(Collectors.toMap(EmployeeMonthlySummary::employeeId, EmployeeMonthlySummary::totalWage));
             return ResponseEntity.ok(salaryMap);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
@@ -110,7 +145,43 @@ public class AdminAttendanceController {
     }
 
     /**
-     * 5. 전 사원 월간 기록 전체 조회
+     * 5. 월간 급여 원장 재계산 (원본 근태 기록과 대조해 어긋난 사원만 보정)
+     */
+    @PostMapping("/salary/ledger/rebuild")
+    public ResponseEntity<?> rebuildSalaryLedger(@RequestParam Integer year, @RequestParam Integer month) {
+        try {
+            return ResponseEntity.ok(salaryLedgerService.rebuild(year, month));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 5-1. 월 급여 마감 (이미 마감된 달은 기존 결과 반환, 끝나지 않은 달은 거부)
+     */
+    @PostMapping("/salary/close")
+    public ResponseEntity<?> closePayroll(@RequestParam Integer year, @RequestParam Integer month) {
+        try {
+            return ResponseEntity.ok(payrollService.close(year, month));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 5-2. 근태 기록 월 보관 (급여 마감된 달을 보관 파일로 옮기고 attendance 테이블에서 삭제)
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<?> archive(@RequestParam Integer year, @RequestParam Integer month) {
+        try {
+            return ResponseEntity.ok(archiveService.archive(year, month));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 6. 전 사원 월간 기록 전체 조회
      */
     @GetMapping("/monthly/all")
     public ResponseEntity<?> getAll(@RequestParam(required = false) Integer year, @RequestParam(required = false) Integer month) {
@@ -122,12 +193,11 @@ public class AdminAttendanceController {
             LocalDate start = LocalDate.of(targetYear, targetMonth, 1);
             LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
 
-            List<AttendanceLog> logs = attendanceRepository.findByWorkDateBetween(start, end);
-            Map<Long, List<AttendanceLogResponse>> grouped = logs.stream()
-                    .filter(l -> l.getEmployee() != null)
-                    .collect(Collectors.groupingBy(
-                            l -> l.getEmployee().getId(), 
-                            Collectors.mapping(AttendanceLogResponse::new, Collectors.toList())));
+            // DTO projection (보관된 달은 보관 파일), 사원 ID 순으로 정렬되어 있어 순서대로 묶음
+            List<EmployeeAttendanceRow> rows = archiveService.isArchived(targetYear, targetMonth)
+                    ? archiveService.monthRows(targetYear, targetMonth)
+                    : attendanceRepository.findRowsByWorkDateBetween(start, end);
+            Map<Long, List<AttendanceLogResponse>> grouped = EmployeeAttendanceRow.groupByEmployee(rows);
 
             List<Map<String, Object>> result = grouped.entrySet().stream().map(entry -> {
                 Map<String, Object> m = new HashMap<>();
@@ -141,4 +211,77 @@ public class AdminAttendanceController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 7. 전 사원 월간 기록 스트리밍 조회 (대용량 내보내기용)
+     * - format=ndjson(기본): 한 줄에 {employeeId, logs} 1건
+     * - format=array: 6번과 같은 JSON 배열을 사원 단위로 흘려보냄
+     */
+    @GetMapping("/monthly/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        LocalDate now = LocalDate.now();
+        int targetYear = (year != null) ? year : now.getYear();
+        int targetMonth = (month != null) ? month : now.getMonthValue();
+
+        LocalDate start = LocalDate.of(targetYear, targetMonth, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+
+        AttendanceExportService.Format exportFormat = "array".equalsIgnoreCase(format)
+                ? AttendanceExportService.Format.ARRAY : AttendanceExportService.Format.NDJSON;
+        MediaType contentType = exportFormat == AttendanceExportService.Format.ARRAY
+                ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = out -> exportService.writeMonthly(start, end, exportFormat, out);
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    /**
+     * 7-1. 기간 근태 CSV 내보내기 (사번, 이름, 부서, 근무일, 출근, 퇴근, 상태, 근무분, 일당)
+     * - 최대 attendance.export.csv.max-days 일 (기본 366), gzip=true 면 gzip 압축
+     */
+    @GetMapping("/export/csv")
+    public ResponseEntity<?> exportCsv(@RequestParam LocalDate start, @RequestParam LocalDate end,
+                                       @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            exportService.checkCsvRange(start, end);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        String fileName = "attendance-" + start + "_" + end + (gzip ? ".csv.gz" : ".csv");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType("text/csv; charset=UTF-8");
+
+        StreamingResponseBody body = out -> exportService.writeCsv(start, end, gzip, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
+    /**
+     * 8. 놓친 관리자 변경분 재조회 (웹소켓 재연결 시)
+     * - sinceVersion 이후 ADMIN_DELTA 목록
+     * - resync=true 면 보관 범위 밖이거나 서버 재기동(epoch 변경) -> 월간 조회로 전체 재조회
+     */
+    @GetMapping("/updates")
+    public ResponseEntity<?> getUpdates(@RequestParam long sinceVersion, @RequestParam(required = false) Long epoch) {
+        return ResponseEntity.ok(adminUpdatePublisher.since(sinceVersion, epoch));
+    }
+
+    /**
+     * 9. 사원 잔여 연차/병가 + 증감 이력 (최신 -> 과거 방향 페이지, 응답의 nextCursor 를 beforeId 로 넘김)
+     */
+    @GetMapping("/leave/{employeeId}")
+    public ResponseEntity<?> getLeaveHistory(@PathVariable Long employeeId,
+                                             @RequestParam(required = false) Long beforeId,
+                                             @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(leaveLedgerService.history(employeeId, beforeId, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.hr_service.controller;
 
-import com.example.hr_service.entity.AttendanceLog;
+import com.example.hr_service.dto.PunchReceipt;
 import com.example.hr_service.service.AttendanceService;
+import com.example.hr_service.service.PunchDeduplicator;
+import com.example.hr_service.service.PunchIngestionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,10 +18,13 @@ import java.util.Map;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final PunchIngestionService punchIngestionService;
+    private final PunchDeduplicator punchDeduplicator;
 
     // 출근 처리 API
     @PostMapping("/check-in")
-    public ResponseEntity<?> checkIn(@RequestBody Map<String, Object> request) { // String -> Object로 변경
+    public ResponseEntity<?> checkIn(@RequestBody Map<String, Object> request, // String -> Object로 변경
+                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
             // "id" 키로 값을 가져옴 (포스트맨에서 보낸 키값과 일치해야 함)
             Object idObj = request.get("id");
@@ -30,14 +36,22 @@ public class AttendanceController {
             // String이든 Integer든 Long으로 안전하게 변환
             Long employeeId = Long.valueOf(idObj.toString());
 
-            // 서비스 실행 (Long 타입 전달)
-            AttendanceLog result = attendanceService.checkIn(employeeId);
+            // 같은 사원의 중복/재시도 요청은 DB 를 거치지 않고 첫 요청 결과로 응답
+            PunchDeduplicator.Result deduped = punchDeduplicator.submit(employeeId, PunchDeduplicator.Action.CHECK_IN,
+                    idempotencyKey, () -> punchIngestionService.isEnabled()
+                            ? punchIngestionService.checkIn(employeeId) // write-behind 모드: 메모리에서 검사 후 그룹 커밋 큐로 접수
+                            : attendanceService.checkIn(employeeId));
+            PunchReceipt result = deduped.receipt();
 
-            return ResponseEntity.ok(Map.of(
+            if (punchIngestionService.isEnabled()) {
+                return receiptResponse(deduped, "출근 처리가 완료되었습니다.", "출근 요청이 접수되었습니다.");
+            }
+
+            return replayed(ResponseEntity.ok(), deduped).body(Map.of(
                 "message", "출근 처리가 완료되었습니다.",
-                "name", result.getEmployee().getName(),
-                "status", result.getStatus(),
-                "time", result.getCheckIn().format(DateTimeFormatter.ofPattern("HH:mm:ss"))
+                "name", result.name(),
+                "status", result.status(),
+                "time", result.time().format(DateTimeFormatter.ofPattern("HH:mm:ss"))
             ));
 
         } catch (RuntimeException e) {
@@ -49,7 +63,8 @@ public class AttendanceController {
 
     // 퇴근 처리 API
     @PostMapping("/check-out")
-    public ResponseEntity<?> checkOut(@RequestBody Map<String, Object> request) { // String -> Object로 변경
+    public ResponseEntity<?> checkOut(@RequestBody Map<String, Object> request, // String -> Object로 변경
+                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
             Object idObj = request.get("id");
             
@@ -58,12 +73,21 @@ public class AttendanceController {
             }
 
             Long employeeId = Long.valueOf(idObj.toString());
-            AttendanceLog result = attendanceService.checkOut(employeeId);
 
-            return ResponseEntity.ok(Map.of(
+            PunchDeduplicator.Result deduped = punchDeduplicator.submit(employeeId, PunchDeduplicator.Action.CHECK_OUT,
+                    idempotencyKey, () -> punchIngestionService.isEnabled()
+                            ? punchIngestionService.checkOut(employeeId)
+                            : attendanceService.checkOut(employeeId));
+            PunchReceipt result = deduped.receipt();
+
+            if (punchIngestionService.isEnabled()) {
+                return receiptResponse(deduped, "퇴근 처리가 완료되었습니다.", "퇴근 요청이 접수되었습니다.");
+            }
+
+            return replayed(ResponseEntity.ok(), deduped).body(Map.of(
                 "message", "퇴근 처리가 완료되었습니다.",
-                "name", result.getEmployee().getName(),
-                "time", result.getCheckOut().toString()));
+                "name", result.name(),
+                "time", result.time().toString()));
                 
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -71,4 +95,22 @@ public class AttendanceController {
             return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류가 발생했습니다."));
         }
     }
-}
\ No newline at end of file
+
+    // durable: DB 반영 완료(200) / accepted: 큐 접수만 완료(202)
+    private ResponseEntity<?> receiptResponse(PunchDeduplicator.Result deduped, String doneMessage, String acceptedMessage) {
+        PunchReceipt receipt = deduped.receipt();
+        Map<String, Object> body = Map.of(
+            "message", receipt.durable() ? doneMessage : acceptedMessage,
+            "name", receipt.name(),
+            "status", receipt.status(),
+            "time", receipt.time().format(DateTimeFormatter.ofPattern("HH:mm:ss")),
+            "ack", receipt.durable() ? "durable" : "accepted"
+        );
+        return replayed(ResponseEntity.status(receipt.durable() ? HttpStatus.OK : HttpStatus.ACCEPTED), deduped).body(body);
+    }
+
+    // 같은 Idempotency-Key 재요청이면 원래 결과임을 헤더로 표시
+    private ResponseEntity.BodyBuilder replayed(ResponseEntity.BodyBuilder builder, PunchDeduplicator.Result deduped) {
+        return deduped.replayed() ? builder.header("Idempotent-Replayed", "true") : builder;
+    }
+}
@@ -1,20 +1,38 @@
 package com.example.hr_service.controller;
 
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import com.example.hr_service.dto.ChatMessage;
+import com.example.hr_service.service.ChatMessageWriter;
+import com.example.hr_service.service.ChatRoomHistory;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Controller
+@RequiredArgsConstructor
 public class ChatController {
+
+  // 기존 단체 채팅(/topic/public)도 하나의 방으로 보관
+  private static final String PUBLIC_ROOM = "public";
+
+  private final ChatRoomHistory chatRoomHistory;
+  private final ChatMessageWriter chatMessageWriter;
+  private final SimpMessagingTemplate messagingTemplate;
   
   // 메시지 전송 : 클라이언트가 "/app/chat.sendMessage"로 메시지 보내면 호출
   @MessageMapping("/chat.sendMessage")
   // 리턴되는 메시지를 "/topic/public"채널을 구독중인 모든 유저에게 전달
   @SendTo("/topic/public")
   public ChatMessage sendMessage(ChatMessage chatMessage) {
+    record(PUBLIC_ROOM, chatMessage);
     return chatMessage;
   }
 
@@ -23,6 +41,46 @@ public class ChatController {
   @SendTo("/topic/public")
   public ChatMessage addUser(ChatMessage chatMessage, SimpMessageHeaderAccessor headerAccessor) {
     headerAccessor.getSessionAttributes().put("username", chatMessage.getSender());
+    replay(PUBLIC_ROOM, headerAccessor.getSessionId());
+    record(PUBLIC_ROOM, chatMessage);
+    return chatMessage;
+  }
+
+  // 방별 메시지 전송: "/app/chat/{roomId}" -> "/topic/chat/{roomId}" 구독자에게만 전달
+  @MessageMapping("/chat/{roomId}")
+  @SendTo("/topic/chat/{roomId}")
+  public ChatMessage sendToRoom(@DestinationVariable String roomId, ChatMessage chatMessage) {
+    ChatRoomHistory.validateRoomId(roomId);
+    record(roomId, chatMessage);
+    return chatMessage;
+  }
+
+  // 방 입장: "/app/chat/{roomId}/addUser" -> 최근 메시지를 본인에게만 재전송 후 입장 알림
+  @MessageMapping("/chat/{roomId}/addUser")
+  @SendTo("/topic/chat/{roomId}")
+  public ChatMessage addUserToRoom(@DestinationVariable String roomId, ChatMessage chatMessage,
+                                   SimpMessageHeaderAccessor headerAccessor) {
+    ChatRoomHistory.validateRoomId(roomId);
+    headerAccessor.getSessionAttributes().put("username", chatMessage.getSender());
+    headerAccessor.getSessionAttributes().put("roomId", roomId);
+    replay(roomId, headerAccessor.getSessionId());
+    record(roomId, chatMessage);
     return chatMessage;
   }
+
+  // 최근 메시지 목록을 세션 1개에만 전송 (클라이언트는 "/user/queue/chat/history" 구독)
+  private void replay(String roomId, String sessionId) {
+    SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    headers.setSessionId(sessionId);
+    headers.setLeaveMutable(true);
+    messagingTemplate.convertAndSendToUser(sessionId, "/queue/chat/history",
+        chatRoomHistory.recent(roomId), headers.getMessageHeaders());
+  }
+
+  // 서버 수신 시각 기록 후 최근 메시지 버퍼와 DB 보관 큐에 추가 (DB 저장은 기다리지 않음)
+  private void record(String roomId, ChatMessage chatMessage) {
+    chatMessage.setSentAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    chatRoomHistory.append(roomId, chatMessage);
+    chatMessageWriter.enqueue(roomId, chatMessage);
+  }
 }
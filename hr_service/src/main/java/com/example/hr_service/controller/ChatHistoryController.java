@@ -0,0 +1,33 @@
+package com.example.hr_service.controller;
+
+import com.example.hr_service.service.ChatMessageWriter;
+import com.example.hr_service.service.ChatRoomHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/chat")
+@RequiredArgsConstructor
+public class ChatHistoryController {
+
+    private final ChatMessageWriter chatMessageWriter;
+
+    /**
+     * 채팅방 과거 메시지 조회 (최신 -> 과거 방향 페이지)
+     * - beforeId 없이 최신 페이지, 이후 응답의 nextCursor 를 beforeId 로 넘겨 이전 페이지 조회
+     */
+    @GetMapping("/rooms/{roomId}/messages")
+    public ResponseEntity<?> getMessages(@PathVariable String roomId,
+                                         @RequestParam(required = false) Long beforeId,
+                                         @RequestParam(defaultValue = "50") int size) {
+        try {
+            ChatRoomHistory.validateRoomId(roomId);
+            return ResponseEntity.ok(chatMessageWriter.history(roomId, beforeId, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.hr_service.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 관리자 수정/삭제 변경분 알림 (ADMIN_DELTA)
+ * - version: 전역 증가 번호 (클라이언트는 마지막 version 이후 변경분을 REST 로 다시 받을 수 있음)
+ * - changedDays: 바뀐 날짜의 새 기록만, deletedDates: 삭제된 날짜
+ * - newTotalSalary: month(yyyy-MM) 기준 월 급여
+ */
+public record AdminUpdateDelta(String type, long version, Long employeeId, String month,
+                               List<AttendanceLogResponse> changedDays, List<LocalDate> deletedDates,
+                               Double remainingLeave, Integer remainingSickLeave, long newTotalSalary) {
+
+    public static final String TYPE = "ADMIN_DELTA";
+}
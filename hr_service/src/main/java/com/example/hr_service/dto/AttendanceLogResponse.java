@@ -3,29 +3,25 @@ package com.example.hr_service.dto;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import com.example.hr_service.entity.AttendanceLog;
-import lombok.Getter;
-import lombok.Setter;
 
-@Getter
-@Setter
-public class AttendanceLogResponse {
-    private LocalDate workDate;
-    private LocalTime checkIn;
-    private LocalTime checkOut;
-    private String status;
-    private int workingMinutes; // primitive int
-    private int dailyWage;      // primitive int
+/**
+ * 근태 기록 1일분 응답 (불변)
+ * 조회 API 는 JPQL 생성자 projection 으로 바로 만듦 (엔티티/영속성 컨텍스트 거치지 않음)
+ * 근무분/일당이 NULL 이면 0
+ */
+public record AttendanceLogResponse(LocalDate workDate, LocalTime checkIn, LocalTime checkOut, String status,
+                                    int workingMinutes, int dailyWage) {
 
-    // 생성자 (Entity -> DTO 변환용)
-    public AttendanceLogResponse(AttendanceLog log) {
-        this.workDate = log.getWorkDate();
-        this.checkIn = log.getCheckIn();
-        this.checkOut = log.getCheckOut();
-        this.status = log.getStatus();
+    // JPQL 생성자 projection / JDBC 조회 결과 -> DTO 변환용
+    public AttendanceLogResponse(LocalDate workDate, LocalTime checkIn, LocalTime checkOut, String status,
+                                 Integer workingMinutes, Integer dailyWage) {
+        this(workDate, checkIn, checkOut, status,
+                workingMinutes != null ? workingMinutes : 0, dailyWage != null ? dailyWage : 0);
+    }
 
-        // 🔥 중요: 아래처럼 바로 "null 체크"를 한 결과값만 대입해야 합니다.
-        // 기존에 있던 "this.workingMinutes = log.getWorkingMinutes();" 줄은 반드시 삭제하세요!
-        this.workingMinutes = (log.getWorkingMinutes() != null) ? log.getWorkingMinutes() : 0;
-        this.dailyWage = (log.getDailyWage() != null) ? log.getDailyWage() : 0;
+    // Entity -> DTO 변환용 (일괄 수정 기존 건별 처리)
+    public AttendanceLogResponse(AttendanceLog log) {
+        this(log.getWorkDate(), log.getCheckIn(), log.getCheckOut(), log.getStatus(),
+                log.getWorkingMinutes(), log.getDailyWage());
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.example.hr_service.dto;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -10,6 +12,7 @@ public class ChatMessage {
   private String sender;
   private String content;
   private MessageType type;
+  private LocalDateTime sentAt; // 서버 수신 시각 (클라이언트가 보낸 값은 덮어씀)
 
   public enum MessageType {
     CHAT, JOIN, LEAVE
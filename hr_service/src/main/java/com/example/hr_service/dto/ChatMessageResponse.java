@@ -0,0 +1,16 @@
+package com.example.hr_service.dto;
+
+import com.example.hr_service.entity.ChatMessageLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관된 채팅 메시지 1건 (id 는 이전 페이지 조회 cursor)
+ */
+public record ChatMessageResponse(Long id, String sender, String content, ChatMessage.MessageType type,
+                                  LocalDateTime sentAt) {
+
+    public ChatMessageResponse(ChatMessageLog log) {
+        this(log.getId(), log.getSender(), log.getContent(), log.getType(), log.getSentAt());
+    }
+}
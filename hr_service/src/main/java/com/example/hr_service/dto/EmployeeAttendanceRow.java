@@ -0,0 +1,29 @@
+package com.example.hr_service.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전 사원 월간 조회/내보내기용 projection (사원 ID + 1일분 기록, 사원 엔티티 로딩 없음)
+ */
+public record EmployeeAttendanceRow(Long employeeId, AttendanceLogResponse log) {
+
+    // JPQL 생성자 projection 용
+    public EmployeeAttendanceRow(Long employeeId, LocalDate workDate, LocalTime checkIn, LocalTime checkOut,
+                                 String status, Integer workingMinutes, Integer dailyWage) {
+        this(employeeId, new AttendanceLogResponse(workDate, checkIn, checkOut, status, workingMinutes, dailyWage));
+    }
+
+    // 사원별 기록으로 묶음 (행 순서 유지, 사원 ID 순으로 조회한 결과면 사원 ID 순)
+    public static Map<Long, List<AttendanceLogResponse>> groupByEmployee(List<EmployeeAttendanceRow> rows) {
+        Map<Long, List<AttendanceLogResponse>> grouped = new LinkedHashMap<>();
+        for (EmployeeAttendanceRow row : rows) {
+            grouped.computeIfAbsent(row.employeeId(), id -> new ArrayList<>()).add(row.log());
+        }
+        return grouped;
+    }
+}
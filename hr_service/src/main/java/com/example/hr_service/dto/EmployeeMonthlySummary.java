@@ -0,0 +1,7 @@
+package com.example.hr_service.dto;
+
+/**
+ * 사원별 월간 근태 집계 (DB GROUP BY 결과를 바로 담는 projection)
+ */
+public record EmployeeMonthlySummary(Long employeeId, Long totalWage, Long totalMinutes, Long dayCount) {
+}
@@ -0,0 +1,8 @@
+package com.example.hr_service.dto;
+
+/**
+ * 출퇴근/일괄 처리에 필요한 사원 정보 (캐시 저장용, 불변)
+ * 잔여 연차/병가처럼 자주 바뀌는 값은 포함하지 않음
+ */
+public record EmployeeSnapshot(Long id, String name, Integer hourlyRate) {
+}
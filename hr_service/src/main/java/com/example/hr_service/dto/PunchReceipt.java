@@ -0,0 +1,10 @@
+package com.example.hr_service.dto;
+
+import java.time.LocalTime;
+
+/**
+ * write-behind 모드의 출퇴근 접수 결과
+ * durable = true 이면 DB 반영(커밋)까지 끝난 상태, false 이면 큐에 접수만 된 상태
+ */
+public record PunchReceipt(String name, String status, LocalTime time, boolean durable) {
+}
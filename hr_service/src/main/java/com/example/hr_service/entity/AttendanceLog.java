@@ -6,7 +6,15 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+        // 사원 1명당 하루 1건 (사원별 일자/기간 조회도 이 인덱스 사용)
+        uniqueConstraints = @UniqueConstraint(name = AttendanceLog.UK_EMPLOYEE_WORK_DATE, columnNames = {"employee_id", "work_date"}),
+        indexes = {
+                // 날짜 기준 전 사원 조회/집계 (급여 합계까지 인덱스만으로 처리)
+                @Index(name = "idx_attendance_work_date_covering", columnList = "work_date, employee_id, daily_wage, working_minutes"),
+                // 퇴근 미처리 조회 (스케줄러)
+                @Index(name = "idx_attendance_work_date_check_out", columnList = "work_date, check_out")
+        })
 @Getter
 @Setter
 @AllArgsConstructor
@@ -14,12 +22,14 @@ import java.time.LocalTime;
 @Builder
 public class AttendanceLog {
 
+    public static final String UK_EMPLOYEE_WORK_DATE = "uk_attendance_employee_work_date";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    // 사원 테이블과 연결 (N:1)
-    @ManyToOne
+    // 사원 테이블과 연결 (N:1), 필요한 곳에서만 JOIN FETCH / 조회 API 는 projection 사용
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
@@ -0,0 +1,37 @@
+package com.example.hr_service.entity;
+
+import com.example.hr_service.dto.ChatMessage;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 메시지 보관 (ChatMessageWriter 가 batch 로 INSERT)
+ *
+ * 방별 과거 메시지는 (room_id, id) 인덱스를 따라 id 역순으로 읽음 (keyset 페이지)
+ */
+@Entity
+@Table(name = "chat_message", indexes = @Index(name = "idx_chat_message_room_id", columnList = "room_id, id"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ChatMessageLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 64)
+    private String roomId;
+
+    @Column(length = 100)
+    private String sender;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private ChatMessage.MessageType type;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,49 @@
+package com.example.hr_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 연차/병가 증감 이력 (추가만 하고 수정/삭제하지 않음)
+ *
+ * 잔여 = leave_snapshot 값 + 스냅샷 이후(id > last_entry_id) 이력 합계
+ */
+@Entity
+@Table(name = "leave_ledger", indexes = {
+        // 사원별 스냅샷 이후 이력 조회 / 이력 감사
+        @Index(name = "idx_leave_ledger_employee_id", columnList = "employee_id, id")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LeaveLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // ANNUAL(연차/반차) / SICK(병가)
+    @Column(name = "leave_type", nullable = false, length = 10)
+    private String leaveType;
+
+    // 사용 -1.0/-0.5, 복구 +1.0/+0.5, 외부 조정은 차이만큼
+    @Column(nullable = false)
+    private Double amount;
+
+    // 연차, 반차, 병가 / 외부 조정
+    @Column(nullable = false, length = 20)
+    private String reason;
+
+    // admin-batch, status-update, adjustment
+    @Column(nullable = false, length = 20)
+    private String source;
+
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+package com.example.hr_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사원별 잔여 연차/병가 스냅샷 (leave_ledger 의 last_entry_id 까지 합친 값)
+ *
+ * 연차/병가를 바꾸는 경로는 사원 행 대신 이 행을 잠그고 leave_ledger 에 이력만 추가
+ * 압축(LeaveLedgerService.compact) 때 이력을 합쳐 넣고 employee.annual_leave/sick_leave 도 같은 값으로 맞춤
+ */
+@Entity
+@Table(name = "leave_snapshot")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LeaveSnapshot {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "annual_leave")
+    private Double annualLeave;
+
+    @Column(name = "sick_leave")
+    private Integer sickLeave;
+
+    @Column(name = "last_entry_id", nullable = false)
+    private Long lastEntryId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.example.hr_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 월 급여 마감 완료 표시 (모든 사원 분할의 payroll_snapshot 이 써진 뒤에만 생성)
+ *
+ * 이 행이 있는 달만 마감된 달로 봄 - 중간에 실패한 마감의 일부 스냅샷은 다시 실행할 때 이어서 채움
+ */
+@Entity
+@Table(name = "payroll_close", uniqueConstraints = @UniqueConstraint(
+        name = "uk_payroll_close_month", columnNames = {"pay_year", "pay_month"}))
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PayrollClose {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pay_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "pay_month", nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer employees;
+
+    @Column(name = "gross_total", nullable = false)
+    private Long grossTotal;
+
+    @Column(name = "elapsed_ms", nullable = false)
+    private Long elapsedMs;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+}
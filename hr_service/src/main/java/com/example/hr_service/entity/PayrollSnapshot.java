@@ -0,0 +1,66 @@
+package com.example.hr_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 월 급여 마감 결과 (사원 x 연 x 월 1행, 한 번 쓰면 바꾸지 않음)
+ *
+ * 마감 시점의 부서/시급/월급과 근태 집계를 그대로 보관 -> 마감 후 근태/사원 정보가 바뀌어도 급여 요약은 이 값 기준
+ */
+@Entity
+@Table(name = "payroll_snapshot", uniqueConstraints = @UniqueConstraint(
+        name = "uk_payroll_snapshot_employee_month", columnNames = {"employee_id", "pay_year", "pay_month"}),
+        indexes = @Index(name = "idx_payroll_snapshot_month", columnList = "pay_year, pay_month, department"))
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PayrollSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "pay_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "pay_month", nullable = false)
+    private Integer month;
+
+    @Column(length = 50)
+    private String department;
+
+    @Column(name = "hourly_rate", nullable = false)
+    private Integer hourlyRate;
+
+    @Column(name = "monthly_salary", nullable = false)
+    private Integer monthlySalary;
+
+    // 근태 기록이 있는 날 수
+    @Column(name = "work_days", nullable = false)
+    private Integer workDays;
+
+    @Column(name = "total_minutes", nullable = false)
+    private Long totalMinutes;
+
+    // 연차/병가/휴가 1일, 반차 0.5일
+    @Column(name = "paid_leave_days", nullable = false)
+    private Double paidLeaveDays;
+
+    // 결근, 미퇴근(결근), 연차부족, 병가(무급)
+    @Column(name = "unpaid_days", nullable = false)
+    private Integer unpaidDays;
+
+    // 지각, 지각/퇴근, 지각(미퇴근)
+    @Column(name = "late_count", nullable = false)
+    private Integer lateCount;
+
+    // 일당 합계 (시급 x 인정 근무시간)
+    @Column(name = "gross_wage", nullable = false)
+    private Long grossWage;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+}
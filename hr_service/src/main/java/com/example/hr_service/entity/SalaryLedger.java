@@ -0,0 +1,37 @@
+package com.example.hr_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사원별 월간 급여/근무시간 누계 (근태 기록이 바뀔 때마다 같은 트랜잭션에서 증감)
+ */
+@Entity
+@Table(name = "salary_ledger", uniqueConstraints = @UniqueConstraint(
+        name = "uk_salary_ledger_employee_month", columnNames = {"employee_id", "work_year", "work_month"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SalaryLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "work_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "work_month", nullable = false)
+    private Integer month;
+
+    @Column(name = "total_wage", nullable = false)
+    private Long totalWage;
+
+    @Column(name = "total_minutes", nullable = false)
+    private Long totalMinutes;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
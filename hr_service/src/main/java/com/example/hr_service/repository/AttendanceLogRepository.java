@@ -1,13 +1,18 @@
 package com.example.hr_service.repository;
 
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import com.example.hr_service.dto.EmployeeMonthlySummary;
 import com.example.hr_service.entity.AttendanceLog;
 import com.example.hr_service.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface AttendanceLogRepository extends JpaRepository<AttendanceLog, Long> {
+public interface AttendanceLogRepository extends JpaRepository<AttendanceLog, Long>, AttendanceLogStreamRepository {
     // 특정 사원의 특정 날짜 기록이 있는지 찾는 기능
     Optional<AttendanceLog> findByEmployeeAndWorkDate(Employee employee, LocalDate workDate);
 
@@ -15,8 +20,34 @@ public interface AttendanceLogRepository extends JpaRepository<AttendanceLog, Lo
 
     List<AttendanceLog> findByWorkDateBetween(LocalDate start, LocalDate end);
 
+    // 사원 월간 조회 (DTO projection, 사원 JOIN 없이 employee_id 컬럼만 사용)
+    @Query("SELECT new com.example.hr_service.dto.AttendanceLogResponse(l.workDate, l.checkIn, l.checkOut, l.status, "
+            + "l.workingMinutes, l.dailyWage) "
+            + "FROM AttendanceLog l WHERE l.employee.id = :employeeId AND l.workDate BETWEEN :start AND :end "
+            + "ORDER BY l.workDate")
+    List<AttendanceLogResponse> findResponsesByEmployee(@Param("employeeId") Long employeeId,
+                                                        @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // 전 사원 월간 조회 (DTO projection, 사원 ID/날짜 순)
+    @Query("SELECT new com.example.hr_service.dto.EmployeeAttendanceRow(l.employee.id, l.workDate, l.checkIn, l.checkOut, "
+            + "l.status, l.workingMinutes, l.dailyWage) "
+            + "FROM AttendanceLog l WHERE l.workDate BETWEEN :start AND :end AND l.employee IS NOT NULL "
+            + "ORDER BY l.employee.id, l.workDate")
+    List<EmployeeAttendanceRow> findRowsByWorkDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
     List<AttendanceLog> findByWorkDateAndCheckOutIsNull(LocalDate date);
 
     // AttendanceLogRepository.java에 반드시 추가
     Optional<AttendanceLog> findByEmployeeIdAndWorkDate(Long employeeId, LocalDate workDate);
+
+    boolean existsByEmployeeIdAndWorkDate(Long employeeId, LocalDate workDate);
+
+    // 사원별 월간 합계를 DB에서 집계 (엔티티 로딩 없음), department 가 null 이면 전 부서
+    @Query("SELECT new com.example.hr_service.dto.EmployeeMonthlySummary(e.id, COALESCE(SUM(l.dailyWage), 0L), "
+            + "COALESCE(SUM(l.workingMinutes), 0L), COUNT(l)) "
+            + "FROM AttendanceLog l JOIN l.employee e "
+            + "WHERE l.workDate BETWEEN :start AND :end AND (:department IS NULL OR e.department = :department) "
+            + "GROUP BY e.id")
+    List<EmployeeMonthlySummary> summarizeByEmployee(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                                     @Param("department") String department);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * 대용량 조회용 커서 기반 스트림 (fetch size 를 호출 시점에 지정)
+ */
+public interface AttendanceLogStreamRepository {
+
+    // 사원 ID, 날짜 순으로 정렬된 DTO 커서 (엔티티 아님). 반드시 트랜잭션 안에서 try-with-resources 로 닫을 것
+    Stream<EmployeeAttendanceRow> streamByWorkDateBetweenOrderByEmployee(LocalDate start, LocalDate end, int fetchSize);
+}
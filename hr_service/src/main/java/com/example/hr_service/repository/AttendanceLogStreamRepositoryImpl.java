@@ -0,0 +1,27 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public class AttendanceLogStreamRepositoryImpl implements AttendanceLogStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<EmployeeAttendanceRow> streamByWorkDateBetweenOrderByEmployee(LocalDate start, LocalDate end, int fetchSize) {
+        return entityManager.createQuery(
+                        "SELECT new com.example.hr_service.dto.EmployeeAttendanceRow(l.employee.id, l.workDate, l.checkIn, "
+                                + "l.checkOut, l.status, l.workingMinutes, l.dailyWage) "
+                                + "FROM AttendanceLog l WHERE l.workDate BETWEEN :start AND :end AND l.employee IS NOT NULL "
+                                + "ORDER BY l.employee.id, l.workDate", EmployeeAttendanceRow.class)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.entity.ChatMessageLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface ChatMessageLogRepository extends JpaRepository<ChatMessageLog, Long> {
+
+    // 최신 페이지 (id 역순)
+    List<ChatMessageLog> findByRoomIdOrderByIdDesc(String roomId, Limit limit);
+
+    // cursor(id) 보다 이전 페이지 (id 역순)
+    List<ChatMessageLog> findByRoomIdAndIdLessThanOrderByIdDesc(String roomId, Long id, Limit limit);
+}
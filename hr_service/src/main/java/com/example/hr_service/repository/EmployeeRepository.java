@@ -1,33 +1,35 @@
 package com.example.hr_service.repository;
 
+import com.example.hr_service.config.CacheConfig;
+import com.example.hr_service.dto.EmployeeSnapshot;
 import com.example.hr_service.entity.Employee;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
     Optional<Employee> findByEmployeeNumber(String employeeNumber);
 
-    // [병가 1개 차감] 0보다 클 때만 -1
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Employee e SET e.sickLeave = e.sickLeave - 1 WHERE e.id = :id AND e.sickLeave > 0")
-    int decrementSickLeave(@Param("id") Long id);
+    // [캐시] 출퇴근/일괄 처리용 사원 정보 (없는 사원은 캐시하지 않음)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = "#p0", unless = "#result == null")
+    @Query("SELECT new com.example.hr_service.dto.EmployeeSnapshot(e.id, e.name, e.hourlyRate) FROM Employee e WHERE e.id = :id")
+    Optional<EmployeeSnapshot> findSnapshotById(@Param("id") Long id);
 
-    // [병가 1개 복구] +1
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Employee e SET e.sickLeave = e.sickLeave + 1 WHERE e.id = :id")
-    int incrementSickLeave(@Param("id") Long id);
+    // [캐시 무효화] 사원 정보를 바꾸는 저장/삭제 (트랜잭션 안이면 커밋 후 반영)
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#p0.id", condition = "#p0.id != null")
+    <S extends Employee> S save(S entity);
 
-    // [연차 차감] Double 타입 사용 (1.0 또는 0.5)
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Employee e SET e.annualLeave = e.annualLeave - :amount WHERE e.id = :id AND e.annualLeave >= :amount")
-    int decrementAnnualLeave(@Param("id") Long id, @Param("amount") Double amount);
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#p0")
+    void deleteById(Long id);
 
-    // [연차 복구] Double 타입 사용
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Employee e SET e.annualLeave = e.annualLeave + :amount WHERE e.id = :id")
-    int incrementAnnualLeave(@Param("id") Long id, @Param("amount") Double amount);
+    // 전 사원 대상 일괄 처리용 (엔티티 로딩 없음)
+    @Query("SELECT new com.example.hr_service.dto.EmployeeSnapshot(e.id, e.name, e.hourlyRate) FROM Employee e ORDER BY e.id")
+    List<EmployeeSnapshot> findAllSnapshots();
 }
\ No newline at end of file
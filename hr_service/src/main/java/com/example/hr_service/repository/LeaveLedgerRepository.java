@@ -0,0 +1,15 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.entity.LeaveLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    // 최신 이력 페이지 (id 역순)
+    List<LeaveLedgerEntry> findByEmployeeIdOrderByIdDesc(Long employeeId, Limit limit);
+
+    // cursor(id) 보다 이전 페이지 (id 역순)
+    List<LeaveLedgerEntry> findByEmployeeIdAndIdLessThanOrderByIdDesc(Long employeeId, Long id, Limit limit);
+}
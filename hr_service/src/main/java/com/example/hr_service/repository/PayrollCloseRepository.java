@@ -0,0 +1,10 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.entity.PayrollClose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional;
+
+public interface PayrollCloseRepository extends JpaRepository<PayrollClose, Long> {
+
+    Optional<PayrollClose> findByYearAndMonth(Integer year, Integer month);
+}
@@ -0,0 +1,15 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.entity.PayrollSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+
+public interface PayrollSnapshotRepository extends JpaRepository<PayrollSnapshot, Long> {
+
+    Optional<PayrollSnapshot> findByEmployeeIdAndYearAndMonth(Long employeeId, Integer year, Integer month);
+
+    List<PayrollSnapshot> findByYearAndMonthOrderByEmployeeId(Integer year, Integer month);
+
+    List<PayrollSnapshot> findByYearAndMonthAndDepartmentOrderByEmployeeId(Integer year, Integer month, String department);
+}
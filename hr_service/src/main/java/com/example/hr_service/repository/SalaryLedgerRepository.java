@@ -0,0 +1,13 @@
+package com.example.hr_service.repository;
+
+import com.example.hr_service.entity.SalaryLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+
+public interface SalaryLedgerRepository extends JpaRepository<SalaryLedger, Long> {
+
+    Optional<SalaryLedger> findByEmployeeIdAndYearAndMonth(Long employeeId, Integer year, Integer month);
+
+    List<SalaryLedger> findByYearAndMonth(Integer year, Integer month);
+}
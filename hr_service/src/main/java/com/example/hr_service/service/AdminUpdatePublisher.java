@@ -0,0 +1,191 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.AdminUpdateDelta;
+import com.example.hr_service.dto.AttendanceLogResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 관리자 수정/삭제 변경분 알림
+ *
+ * 1. 변경분마다 전역 version 부여 (트랜잭션 안이면 커밋 후에 부여/전송)
+ * 2. 사원 채널(/topic/attendance/{id})에는 바로 ADMIN_DELTA 전송 (version 부여와 같은 잠금 안에서 보내 version 순서대로 도착)
+ * 3. 관리자 채널(/topic/attendance/admin)은 window 동안 모아서 ADMIN_DELTA_BATCH 1건으로 전송 (같은 사원/월은 합침)
+ * 4. 최근 변경분은 history 만큼 보관 -> since(version) 으로 놓친 변경분 재전송, 보관 범위를 넘으면 전체 재조회(resync) 안내
+ * 5. 호환 기간 동안 구 ADMIN_UPDATE(그 달 전체 기록)도 사원 채널에만 같이 전송 (attendance.admin.notify.legacy-update)
+ *    - 관리자 채널은 ADMIN_DELTA_BATCH 만 (전 사원 일괄 처리 때 사원 수만큼 월 전체 기록을 보내지 않도록)
+ *
+ * version 은 메모리 값이라 재기동하면 epoch 가 바뀜 (클라이언트는 epoch 가 다르면 전체 재조회)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminUpdatePublisher {
+
+    private static final String ADMIN_TOPIC = "/topic/attendance/admin";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${attendance.admin.notify.coalesce-window-ms:200}")
+    private long coalesceWindowMs;
+
+    @Value("${attendance.admin.notify.history-size:10000}")
+    private int historySize;
+
+    private final long epoch = System.currentTimeMillis();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<AdminUpdateDelta> history = new ArrayDeque<>();
+    private final List<AdminUpdateDelta> pending = new ArrayList<>();
+    private long version;
+    private boolean flushScheduled;
+
+    private final ScheduledExecutorService coalescer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "admin-update-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 사원 1명의 변경분 알림 (변경된 날짜가 없으면 보내지 않음)
+     */
+    public void publish(Long employeeId, YearMonth month, List<AttendanceLogResponse> changedDays, List<LocalDate> deletedDates,
+                        Double remainingLeave, Integer remainingSickLeave, long monthlySalary) {
+        if (changedDays.isEmpty() && deletedDates.isEmpty()) return;
+        afterCommit(() -> send(employeeId, month, changedDays, deletedDates, remainingLeave, remainingSickLeave, monthlySalary));
+    }
+
+    /**
+     * 구 ADMIN_UPDATE 알림 (version 없음, 그 달 전체 기록, 사원 채널만) - ADMIN_DELTA 로 옮기기 전 사원 앱 호환용
+     */
+    public void publishLegacy(Long employeeId, LocalDate date, Double remainingLeave, Integer remainingSickLeave,
+                              List<AttendanceLogResponse> monthlyLogs, long monthlySalary) {
+        Map<String, Object> payload = AttendanceNotifications.adminUpdate(employeeId, date, remainingLeave, remainingSickLeave,
+                monthlyLogs, monthlySalary);
+        afterCommit(() -> messagingTemplate.convertAndSend("/topic/attendance/" + employeeId, (Object) payload));
+    }
+
+    /**
+     * sinceVersion 이후 변경분 (epoch 가 다르거나 보관 범위를 넘으면 resync=true)
+     */
+    public Map<String, Object> since(long sinceVersion, Long clientEpoch) {
+        lock.lock();
+        try {
+            long oldest = history.isEmpty() ? version + 1 : history.peekFirst().version();
+            boolean resync = (clientEpoch != null && clientEpoch != epoch) || sinceVersion > version || sinceVersion < oldest - 1;
+
+            List<AdminUpdateDelta> updates = new ArrayList<>();
+            if (!resync) {
+                for (AdminUpdateDelta delta : history) {
+                    if (delta.version() > sinceVersion) updates.add(delta);
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("epoch", epoch);
+            result.put("version", version);
+            result.put("resync", resync);
+            result.put("updates", updates);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        coalescer.shutdown();
+        flush();
+    }
+
+    // 트랜잭션 안이면 커밋 후 실행
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private void send(Long employeeId, YearMonth month, List<AttendanceLogResponse> changedDays, List<LocalDate> deletedDates,
+                      Double remainingLeave, Integer remainingSickLeave, long monthlySalary) {
+        lock.lock();
+        try {
+            AdminUpdateDelta delta = new AdminUpdateDelta(AdminUpdateDelta.TYPE, ++version, employeeId, month.toString(),
+                    List.copyOf(changedDays), List.copyOf(deletedDates), remainingLeave, remainingSickLeave, monthlySalary);
+            history.addLast(delta);
+            while (history.size() > historySize) history.removeFirst();
+            pending.add(delta);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                coalescer.schedule(this::flush, coalesceWindowMs, TimeUnit.MILLISECONDS);
+            }
+            // 잠금 밖에서 보내면 다른 스레드가 먼저 보내 version 이 뒤바뀔 수 있음
+            messagingTemplate.convertAndSend("/topic/attendance/" + employeeId, (Object) delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush() {
+        List<AdminUpdateDelta> batch;
+        lock.lock();
+        try {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty()) return;
+
+        List<AdminUpdateDelta> updates = coalesce(batch);
+        messagingTemplate.convertAndSend(ADMIN_TOPIC, (Object) AttendanceNotifications.adminDeltaBatch(epoch,
+                batch.get(0).version(), batch.get(batch.size() - 1).version(), updates));
+        log.debug("관리자 변경분 전송 - {}건 -> {}건", batch.size(), updates.size());
+    }
+
+    // 같은 사원/월의 변경분은 날짜별 마지막 상태와 마지막 잔여/급여로 합침
+    private List<AdminUpdateDelta> coalesce(List<AdminUpdateDelta> batch) {
+        Map<String, AdminUpdateDelta> merged = new LinkedHashMap<>();
+        for (AdminUpdateDelta delta : batch) {
+            merged.merge(delta.employeeId() + ":" + delta.month(), delta, AdminUpdatePublisher::merge);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static AdminUpdateDelta merge(AdminUpdateDelta before, AdminUpdateDelta after) {
+        Map<LocalDate, AttendanceLogResponse> changed = new TreeMap<>();
+        Set<LocalDate> deleted = new TreeSet<>(before.deletedDates());
+        before.changedDays().forEach(d -> changed.put(d.workDate(), d));
+        after.deletedDates().forEach(date -> {
+            changed.remove(date);
+            deleted.add(date);
+        });
+        after.changedDays().forEach(d -> {
+            changed.put(d.workDate(), d);
+            deleted.remove(d.workDate());
+        });
+        return new AdminUpdateDelta(AdminUpdateDelta.TYPE, after.version(), after.employeeId(), after.month(),
+                List.copyOf(changed.values()), List.copyOf(deleted),
+                after.remainingLeave(), after.remainingSickLeave(), after.newTotalSalary());
+    }
+}
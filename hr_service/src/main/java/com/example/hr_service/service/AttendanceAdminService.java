@@ -1,20 +1,23 @@
 package com.example.hr_service.service;
 
 import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import com.example.hr_service.dto.EmployeeSnapshot;
 import com.example.hr_service.entity.AttendanceLog;
-import com.example.hr_service.entity.Employee;
 import com.example.hr_service.repository.AttendanceLogRepository;
 import com.example.hr_service.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -23,60 +26,74 @@ public class AttendanceAdminService {
 
     private final AttendanceLogRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-
-    // 2026년 한국 공휴일 리스트
-    private static final Set<LocalDate> HOLIDAYS = new HashSet<>();
-
-    static {
-        HOLIDAYS.add(LocalDate.of(2026, 1, 1));   // 신정
-        HOLIDAYS.add(LocalDate.of(2026, 2, 16));  // 설날 연휴
-        HOLIDAYS.add(LocalDate.of(2026, 2, 17));  // 설날
-        HOLIDAYS.add(LocalDate.of(2026, 2, 18));  // 설날 연휴
-        HOLIDAYS.add(LocalDate.of(2026, 3, 1));   // 삼일절
-        HOLIDAYS.add(LocalDate.of(2026, 3, 2));   // 삼일절 대체공휴일
-        HOLIDAYS.add(LocalDate.of(2026, 5, 5));   // 어린이날 / 부처님오신날
-        HOLIDAYS.add(LocalDate.of(2026, 6, 6));   // 현충일
-        HOLIDAYS.add(LocalDate.of(2026, 8, 15));  // 광복절
-        HOLIDAYS.add(LocalDate.of(2026, 8, 17));  // 광복절 대체공휴일
-        HOLIDAYS.add(LocalDate.of(2026, 9, 24));  // 추석 연휴
-        HOLIDAYS.add(LocalDate.of(2026, 9, 25));  // 추석
-        HOLIDAYS.add(LocalDate.of(2026, 9, 26));  // 추석 연휴
-        HOLIDAYS.add(LocalDate.of(2026, 10, 3));  // 개천절
-        HOLIDAYS.add(LocalDate.of(2026, 10, 5));  // 개천절 대체공휴일
-        HOLIDAYS.add(LocalDate.of(2026, 10, 9));  // 한글날
-        HOLIDAYS.add(LocalDate.of(2026, 12, 25)); // 성탄절
-    }
+    private final AdminUpdatePublisher adminUpdatePublisher;
+    private final PunchIngestionService punchIngestionService;
+    private final AttendanceBulkEngine bulkEngine;
+    private final SalaryLedgerService salaryLedgerService;
+    private final PayrollService payrollService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final AttendanceArchiveService archiveService;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final AttendanceMetrics metrics;
+    private final EntityManager entityManager;
 
-    /**
-     * 주말 및 공휴일 여부 체크
-     */
-    private boolean isRestDay(LocalDate date) {
-        DayOfWeek day = date.getDayOfWeek();
-        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY || HOLIDAYS.contains(date);
-    }
+    // false 로 두면 기존 건별 처리 사용
+    @Value("${attendance.admin.bulk-engine.enabled:true}")
+    private boolean bulkEngineEnabled;
+
+    // 구 ADMIN_UPDATE(그 달 전체 기록) 동시 전송, 클라이언트가 ADMIN_DELTA 로 모두 옮기면 false
+    @Value("${attendance.admin.notify.legacy-update:true}")
+    private boolean legacyUpdateEnabled;
 
     /**
      * 1. 일괄 수정 및 실시간 전송 (주말/공휴일 제외 적용)
      */
     @Transactional
     public Map<String, Object> updateAttendanceStatusBatch(String id, String status, LocalDate startDate, LocalDate endDate) {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> outcomes = new TreeMap<>();
+        int days = 0;
+        boolean success = false;
+        try {
+            Map<String, Object> result = doUpdateBatch(id, status, startDate, endDate, outcomes);
+            days = (int) result.get("appliedDays");
+            success = true;
+            return result;
+        } finally {
+            metrics.adminBatch("update", engine(), sample, days, success ? outcomes : null);
+        }
+    }
+
+    private Map<String, Object> doUpdateBatch(String id, String status, LocalDate startDate, LocalDate endDate,
+                                              Map<String, Integer> outcomes) {
         if (endDate == null) endDate = startDate;
+        archiveService.guardWrite(startDate, endDate);
         
-        // [수정] 평일(근무일) 리스트만 추출
-        List<LocalDate> dateRange = getDateRange(startDate, endDate).stream()
-                .filter(date -> !isRestDay(date))
-                .collect(Collectors.toList());
+        // 근무일(주말/공휴일 제외)만 추출
+        List<LocalDate> dateRange = workingDayCalendar.workingDays(startDate, endDate);
                 
-        List<Employee> targetEmployees = getTargetEmployees(id);
+        if (bulkEngineEnabled) {
+            Long targetId = parseTarget(id);
+            notifyBulk(bulkEngine.applyStatus(targetId, dateRange, status), outcomes);
+        } else {
+            List<EmployeeSnapshot> targetEmployees = getTargetEmployees(id);
 
-        for (Employee employee : targetEmployees) {
-            for (LocalDate date : dateRange) {
-                processSingleUpdate(employee, date, status);
+            for (EmployeeSnapshot employee : targetEmployees) {
+                LeaveLedgerService.Account leave = lockLeave(employee);
+                List<AttendanceLogResponse> changed = new ArrayList<>();
+                for (LocalDate date : dateRange) {
+                    AttendanceLogResponse day = processSingleUpdate(employee, leave, date, status);
+                    if (day != null) changed.add(day);
+                }
+                attendanceRepository.flush();
+                // 사원마다 영속성 컨텍스트를 비워 dirty checking 대상이 누적되지 않도록
+                entityManager.clear();
+                leaveLedgerService.append(List.of(leave), "admin-batch");
+                countOutcomes(outcomes, changed, List.of());
+                refreshAndNotify(employee, leave, changed, List.of());
             }
-            attendanceRepository.flush(); 
-            refreshAndNotify(employee, startDate);
         }
+        punchIngestionService.refreshAfterCommit(startDate, endDate);
 
         return Map.of("message", "업데이트 완료", "target", id, "appliedDays", dateRange.size());
     }
@@ -86,97 +103,195 @@ public class AttendanceAdminService {
      */
     @Transactional
     public Map<String, Object> deleteAttendanceBatch(String id, LocalDate startDate, LocalDate endDate) {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> outcomes = new TreeMap<>();
+        int days = 0;
+        boolean success = false;
+        try {
+            Map<String, Object> result = doDeleteBatch(id, startDate, endDate, outcomes);
+            days = (int) result.get("appliedDays");
+            success = true;
+            return result;
+        } finally {
+            metrics.adminBatch("delete", engine(), sample, days, success ? outcomes : null);
+        }
+    }
+
+    private Map<String, Object> doDeleteBatch(String id, LocalDate startDate, LocalDate endDate, Map<String, Integer> outcomes) {
         if (endDate == null) endDate = startDate;
+        archiveService.guardWrite(startDate, endDate);
         
-        // [수정] 평일(근무일) 리스트만 추출
-        List<LocalDate> dateRange = getDateRange(startDate, endDate).stream()
-                .filter(date -> !isRestDay(date))
-                .collect(Collectors.toList());
+        // 근무일(주말/공휴일 제외)만 추출
+        List<LocalDate> dateRange = workingDayCalendar.workingDays(startDate, endDate);
                 
-        List<Employee> targetEmployees = getTargetEmployees(id);
+        if (bulkEngineEnabled) {
+            Long targetId = parseTarget(id);
+            notifyBulk(bulkEngine.delete(targetId, dateRange), outcomes);
+        } else {
+            List<EmployeeSnapshot> targetEmployees = getTargetEmployees(id);
 
-        for (Employee employee : targetEmployees) {
-            for (LocalDate date : dateRange) {
-                processSingleDelete(employee, date);
+            for (EmployeeSnapshot employee : targetEmployees) {
+                LeaveLedgerService.Account leave = lockLeave(employee);
+                List<LocalDate> deleted = new ArrayList<>();
+                for (LocalDate date : dateRange) {
+                    if (processSingleDelete(employee, leave, date)) deleted.add(date);
+                }
+                attendanceRepository.flush();
+                // 사원마다 영속성 컨텍스트를 비워 dirty checking 대상이 누적되지 않도록
+                entityManager.clear();
+                leaveLedgerService.append(List.of(leave), "admin-batch");
+                countOutcomes(outcomes, List.of(), deleted);
+                refreshAndNotify(employee, leave, List.of(), deleted);
             }
-            attendanceRepository.flush(); 
-            refreshAndNotify(employee, startDate);
         }
+        punchIngestionService.refreshAfterCommit(startDate, endDate);
 
         return Map.of("message", "삭제 및 복구 완료", "target", id, "appliedDays", dateRange.size());
     }
 
-    private void processSingleUpdate(Employee employee, LocalDate date, String status) {
-        AttendanceLog logData = attendanceRepository.findByEmployeeAndWorkDate(employee, date)
-                .orElse(AttendanceLog.builder().employee(employee).workDate(date).build());
+    // 바뀐 날짜의 새 기록 (같은 상태라 건너뛰면 null)
+    private AttendanceLogResponse processSingleUpdate(EmployeeSnapshot employee, LeaveLedgerService.Account leave,
+                                                      LocalDate date, String status) {
+        AttendanceLog logData = attendanceRepository.findByEmployeeIdAndWorkDate(employee.id(), date)
+                .orElseGet(() -> AttendanceLog.builder()
+                        .employee(employeeRepository.getReferenceById(employee.id())).workDate(date).build());
 
         if (logData.getStatus() != null) {
-            if (logData.getStatus().equals(status)) return;
-            restoreLeaveBalance(employee.getId(), logData.getStatus());
+            if (logData.getStatus().equals(status)) return null;
+            leave.restore(logData.getStatus(), date);
         }
+        Integer oldWage = logData.getDailyWage();
+        Integer oldMins = logData.getWorkingMinutes();
 
-        int fullDayMins = 480;
+        int fullDayMins = AttendancePolicy.FULL_DAY_MINUTES;
+        int halfDayMins = AttendancePolicy.HALF_DAY_MINUTES;
         switch (status) {
             case "연차":
-                if (employeeRepository.decrementAnnualLeave(employee.getId(), 1.0) > 0) {
-                    setLogData(logData, "연차", fullDayMins, calculateWage(fullDayMins, employee.getHourlyRate()));
+                if (leave.useAnnual(1.0, status, date)) {
+                    setLogData(logData, "연차", fullDayMins, calculateWage(fullDayMins, employee.hourlyRate()));
                 } else { setLogData(logData, "연차부족", 0, 0); }
                 break;
             case "반차":
-                if (employeeRepository.decrementAnnualLeave(employee.getId(), 0.5) > 0) {
-                    setLogData(logData, "반차", 240, calculateWage(240, employee.getHourlyRate()));
+                if (leave.useAnnual(0.5, status, date)) {
+                    setLogData(logData, "반차", halfDayMins, calculateWage(halfDayMins, employee.hourlyRate()));
                 } else { setLogData(logData, "연차부족", 0, 0); }
                 break;
             case "병가":
-                if (employeeRepository.decrementSickLeave(employee.getId()) > 0) {
-                    setLogData(logData, "병가", fullDayMins, calculateWage(fullDayMins, employee.getHourlyRate()));
+                if (leave.useSick(date)) {
+                    setLogData(logData, "병가", fullDayMins, calculateWage(fullDayMins, employee.hourlyRate()));
                 } else { setLogData(logData, "병가(무급)", 0, 0); }
                 break;
             case "휴가":
             case "정상근무":
-                setLogData(logData, status, fullDayMins, calculateWage(fullDayMins, employee.getHourlyRate()));
+                setLogData(logData, status, fullDayMins, calculateWage(fullDayMins, employee.hourlyRate()));
                 break;
             default:
                 setLogData(logData, status, 0, 0);
                 break;
         }
         attendanceRepository.save(logData);
+        salaryLedgerService.applyChange(employee.id(), date, oldWage, logData.getDailyWage(), oldMins, logData.getWorkingMinutes());
+        return new AttendanceLogResponse(logData);
     }
 
-    private void processSingleDelete(Employee employee, LocalDate date) {
-        attendanceRepository.findByEmployeeAndWorkDate(employee, date).ifPresent(logData -> {
-            restoreLeaveBalance(employee.getId(), logData.getStatus());
+    private boolean processSingleDelete(EmployeeSnapshot employee, LeaveLedgerService.Account leave, LocalDate date) {
+        Optional<AttendanceLog> existing = attendanceRepository.findByEmployeeIdAndWorkDate(employee.id(), date);
+        existing.ifPresent(logData -> {
+            leave.restore(logData.getStatus(), date);
             attendanceRepository.delete(logData);
+            salaryLedgerService.applyChange(employee.id(), date, logData.getDailyWage(), 0, logData.getWorkingMinutes(), 0);
         });
+        return existing.isPresent();
+    }
+
+    private LeaveLedgerService.Account lockLeave(EmployeeSnapshot employee) {
+        LeaveLedgerService.Account leave = leaveLedgerService.lock(employee.id()).get(employee.id());
+        if (leave == null) throw new RuntimeException("사원 없음");
+        return leave;
+    }
+
+    private List<EmployeeSnapshot> getTargetEmployees(String id) {
+        if ("all".equals(id)) return employeeRepository.findAllSnapshots();
+        EmployeeSnapshot emp = employeeRepository.findSnapshotById(Long.parseLong(id))
+                .orElseThrow(() -> new RuntimeException("사원 없음"));
+        return List.of(emp);
+    }
+
+    private Long parseTarget(String id) {
+        return "all".equals(id) ? null : Long.parseLong(id);
     }
 
-    private void restoreLeaveBalance(Long employeeId, String status) {
-        if ("연차".equals(status)) employeeRepository.incrementAnnualLeave(employeeId, 1.0);
-        else if ("반차".equals(status)) employeeRepository.incrementAnnualLeave(employeeId, 0.5);
-        else if ("병가".equals(status)) employeeRepository.incrementSickLeave(employeeId);
+    private void refreshAndNotify(EmployeeSnapshot employee, LeaveLedgerService.Account leave,
+                                  List<AttendanceLogResponse> changed, List<LocalDate> deleted) {
+        if (changed.isEmpty() && deleted.isEmpty()) return;
+        // 잔여 연차/병가는 잠금 중 원장에서 계산한 값
+        publishChanges(employee.id(), leave.annualLeave(), leave.sickLeave(), changed, deleted,
+                month -> calculateMonthlySalary(employee.id(), month.getYear(), month.getMonthValue()),
+                month -> attendanceRepository.findResponsesByEmployee(employee.id(), month.atDay(1), month.atEndOfMonth()));
     }
 
-    private List<LocalDate> getDateRange(LocalDate start, LocalDate end) {
-        List<LocalDate> range = new ArrayList<>();
-        LocalDate current = start;
-        while (!current.isAfter(end)) {
-            range.add(current);
-            current = current.plusDays(1);
+    // 일괄 처리 결과 중 바뀐 사원만 전송 (월 급여/구 ADMIN_UPDATE 월 기록은 월별 1회 조회)
+    private void notifyBulk(Map<Long, AttendanceBulkEngine.EmployeeChanges> changes, Map<String, Integer> outcomes) {
+        Map<YearMonth, Map<Long, Long>> wages = new HashMap<>();
+        Map<YearMonth, Map<Long, List<AttendanceLogResponse>>> monthlyLogs = new HashMap<>();
+        List<Long> changedIds = changes.entrySet().stream().filter(e -> !e.getValue().isEmpty()).map(Map.Entry::getKey).toList();
+        for (Long employeeId : changedIds) {
+            AttendanceBulkEngine.EmployeeChanges change = changes.get(employeeId);
+            countOutcomes(outcomes, change.changedDays(), change.deletedDates());
+            publishChanges(employeeId, change.annualLeave(), change.sickLeave(), change.changedDays(), change.deletedDates(),
+                    month -> wages.computeIfAbsent(month, m -> payrollService.monthlyWages(m.getYear(), m.getMonthValue()))
+                            .getOrDefault(employeeId, 0L),
+                    month -> monthlyLogs.computeIfAbsent(month, m -> loadMonth(m, changedIds))
+                            .getOrDefault(employeeId, List.of()));
         }
-        return range;
     }
 
-    private List<Employee> getTargetEmployees(String id) {
-        if ("all".equals(id)) return employeeRepository.findAll();
-        Employee emp = employeeRepository.findById(Long.parseLong(id))
-                .orElseThrow(() -> new RuntimeException("사원 없음"));
-        return List.of(emp);
+    // 구 ADMIN_UPDATE 용 그 달 전체 기록 (사원 1명이면 그 사원만, 여러 명이면 전 사원 1회 조회)
+    private Map<Long, List<AttendanceLogResponse>> loadMonth(YearMonth month, List<Long> employeeIds) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        if (employeeIds.size() == 1) {
+            Long employeeId = employeeIds.get(0);
+            return Map.of(employeeId, attendanceRepository.findResponsesByEmployee(employeeId, start, end));
+        }
+        return EmployeeAttendanceRow.groupByEmployee(attendanceRepository.findRowsByWorkDateBetween(start, end));
     }
 
-    private void refreshAndNotify(Employee employee, LocalDate date) {
-        Employee updated = employeeRepository.findById(employee.getId()).orElse(employee);
-        long newSalary = calculateMonthlySalary(updated.getId(), date.getYear(), date.getMonthValue());
-        sendWebSocketUpdate(updated.getId(), date, updated, newSalary);
+    // 변경분을 월 단위로 나눠 ADMIN_DELTA 전송 (월마다 그 달 급여), 호환 기간에는 구 ADMIN_UPDATE 도 전송
+    private void publishChanges(Long employeeId, Double annualLeave, Integer sickLeave,
+                                List<AttendanceLogResponse> changed, List<LocalDate> deleted,
+                                Function<YearMonth, Long> salaryOf,
+                                Function<YearMonth, List<AttendanceLogResponse>> monthlyLogsOf) {
+        Map<YearMonth, List<AttendanceLogResponse>> changedByMonth = new TreeMap<>();
+        Map<YearMonth, List<LocalDate>> deletedByMonth = new TreeMap<>();
+        changed.forEach(day -> changedByMonth.computeIfAbsent(YearMonth.from(day.workDate()), m -> new ArrayList<>()).add(day));
+        deleted.forEach(date -> deletedByMonth.computeIfAbsent(YearMonth.from(date), m -> new ArrayList<>()).add(date));
+
+        Set<YearMonth> months = new TreeSet<>(changedByMonth.keySet());
+        months.addAll(deletedByMonth.keySet());
+        for (YearMonth month : months) {
+            List<AttendanceLogResponse> monthChanged = changedByMonth.getOrDefault(month, List.of());
+            List<LocalDate> monthDeleted = deletedByMonth.getOrDefault(month, List.of());
+            long salary = salaryOf.apply(month);
+            adminUpdatePublisher.publish(employeeId, month, monthChanged, monthDeleted, annualLeave, sickLeave, salary);
+            if (legacyUpdateEnabled) {
+                // date 는 그 달에서 바뀐 첫 날짜
+                LocalDate first = monthChanged.isEmpty() ? monthDeleted.get(0) : monthChanged.get(0).workDate();
+                if (!monthDeleted.isEmpty() && monthDeleted.get(0).isBefore(first)) first = monthDeleted.get(0);
+                adminUpdatePublisher.publishLegacy(employeeId, first, annualLeave, sickLeave,
+                        monthlyLogsOf.apply(month), salary);
+            }
+        }
+    }
+
+    // 지표용 결과 상태별 건수 (삭제는 "삭제")
+    private void countOutcomes(Map<String, Integer> outcomes, List<AttendanceLogResponse> changed, List<LocalDate> deleted) {
+        changed.forEach(day -> outcomes.merge(day.status(), 1, Integer::sum));
+        if (!deleted.isEmpty()) outcomes.merge("삭제", deleted.size(), Integer::sum);
+    }
+
+    private String engine() {
+        return bulkEngineEnabled ? "bulk" : "legacy";
     }
 
     private void setLogData(AttendanceLog log, String status, int mins, int wage) {
@@ -186,33 +301,11 @@ public class AttendanceAdminService {
     }
 
     private int calculateWage(long mins, int hourlyRate) {
-        return (int) Math.floor(mins * (hourlyRate / 60.0));
-    }
-
-    private void sendWebSocketUpdate(Long employeeId, LocalDate date, Employee employee, long salary) {
-        LocalDate start = LocalDate.of(date.getYear(), date.getMonthValue(), 1);
-        List<AttendanceLogResponse> monthlyLogs = attendanceRepository.findByEmployeeIdAndWorkDateBetween(
-                employeeId, start, start.withDayOfMonth(start.lengthOfMonth()))
-                .stream().map(AttendanceLogResponse::new).collect(Collectors.toList());
-
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", "ADMIN_UPDATE");
-        payload.put("employeeId", employeeId);
-        payload.put("date", date.toString());
-        payload.put("remainingLeave", employee.getAnnualLeave());
-        payload.put("remainingSickLeave", employee.getSickLeave());
-        payload.put("monthlyLogs", monthlyLogs);
-        payload.put("newTotalSalary", salary);
-
-        this.messagingTemplate.convertAndSend("/topic/attendance/" + employeeId, (Object) payload);
-        this.messagingTemplate.convertAndSend("/topic/attendance/admin", (Object) payload);
-        
-        log.info("WebSocket 전송 완료 - 사원: {}, 급여: {}", employeeId, salary);
+        return AttendancePolicy.wage(mins, hourlyRate);
     }
 
+    // 마감된 달은 급여 스냅샷, 아니면 급여 원장
     public long calculateMonthlySalary(Long employeeId, int year, int month) {
-        LocalDate start = LocalDate.of(year, month, 1);
-        return attendanceRepository.findByEmployeeIdAndWorkDateBetween(employeeId, start, start.withDayOfMonth(start.lengthOfMonth()))
-                .stream().mapToLong(l -> l.getDailyWage() != null ? l.getDailyWage().longValue() : 0L).sum();
+        return payrollService.monthlyWage(employeeId, year, month);
     }
 }
\ No newline at end of file
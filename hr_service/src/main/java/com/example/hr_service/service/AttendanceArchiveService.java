@@ -0,0 +1,307 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import com.example.hr_service.dto.EmployeeMonthlySummary;
+import com.example.hr_service.repository.PayrollCloseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 근태 기록 월 보관 (급여 마감된 달을 월별 고정 폭 파일로 옮기고 attendance 테이블에서 삭제)
+ *
+ * 1. 해당 월 기록을 사원 ID, 날짜 순 커서로 읽어 임시 파일에 쓰고 이름 변경 (AttendanceSegment 형식)
+ * 2. 파일을 매핑한 뒤 DB 기록을 다시 읽어 같은 형식으로 만든 CRC/건수와 대조
+ * 3. 일치하면 보관 파일로 조회를 넘기고 attendance 행을 id 구간별 별도 트랜잭션으로 삭제
+ *
+ * 보관된 달의 월간 조회/내보내기/급여 원장 재계산은 보관 파일에서 읽음 (급여 요약은 마감 스냅샷)
+ * 기동 시 보관 폴더의 파일을 모두 매핑 (CRC 가 맞지 않으면 에러 로그만 남김)
+ *
+ * 근태를 쓰는 모든 경로(출퇴근, 상태 변경, 관리자 일괄, 스케줄러)는 트랜잭션 안에서 guardWrite 를 먼저 호출
+ * -> 달마다 읽기/쓰기 잠금의 읽기 잠금을 트랜잭션 종료까지 잡음. 보관은 쓰기 잠금을 잡아 진행 중인 쓰기가 커밋될 때까지
+ *    기다린 뒤 파일 작성/대조/삭제를 하고, 그 사이 새 쓰기와 보관된 달의 쓰기는 거부
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceArchiveService {
+
+    private static final String ROWS_SQL = "SELECT employee_id, work_date, check_in, check_out, status, working_minutes, "
+            + "daily_wage FROM attendance WHERE work_date BETWEEN ? AND ? AND employee_id IS NOT NULL "
+            + "ORDER BY employee_id, work_date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollCloseRepository payrollCloseRepository;
+
+    private final Map<YearMonth, AttendanceSegment> segments = new ConcurrentHashMap<>();
+    // 보관 작업 중인 달 (쓰기 잠금 대기 ~ 삭제 사이 새 쓰기 거부)
+    private final Set<YearMonth> archiving = ConcurrentHashMap.newKeySet();
+    // 달별 쓰기 잠금 (근태 쓰기 = 읽기 잠금, 보관 = 쓰기 잠금)
+    private final Map<YearMonth, ReentrantReadWriteLock> monthLocks = new ConcurrentHashMap<>();
+    // 보관 작업은 한 번에 하나 (가상 스레드 고정을 피하려고 synchronized 대신 사용)
+    private final ReentrantLock archiveLock = new ReentrantLock();
+
+    private Path dir;
+
+    @Value("${attendance.archive.dir:./archive}")
+    private String archiveDir;
+
+    @Value("${attendance.archive.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${attendance.archive.delete-chunk-size:1000}")
+    private int deleteChunkSize;
+
+    @PostConstruct
+    public void load() {
+        dir = Path.of(archiveDir);
+        if (!Files.isDirectory(dir)) return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "attendance-*.seg")) {
+            for (Path file : files) {
+                try {
+                    AttendanceSegment segment = AttendanceSegment.open(file);
+                    segments.put(segment.month(), segment);
+                } catch (IOException | RuntimeException e) {
+                    log.error("보관 파일 로딩 실패 - {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("근태 보관 파일 로딩 - {}, {}개월", dir.toAbsolutePath(), segments.size());
+    }
+
+    public boolean isArchived(int year, int month) {
+        return segments.containsKey(YearMonth.of(year, month));
+    }
+
+    public List<YearMonth> archivedMonths() {
+        return segments.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * 기간의 근태 쓰기 시작 (현재 트랜잭션 안에서 호출)
+     *
+     * 1. 달마다 읽기 잠금을 잡고, 보관된(또는 보관 중인) 달이면 잠금을 풀고 거부
+     * 2. 잠금은 트랜잭션이 끝날 때(커밋/롤백) 풀림 -> 그동안 해당 달 보관은 시작 전 대기
+     */
+    public void guardWrite(LocalDate start, LocalDate end) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("근태 쓰기 잠금은 트랜잭션 안에서만 잡을 수 있습니다.");
+        }
+        List<Lock> held = new ArrayList<>();
+        try {
+            for (YearMonth m = YearMonth.from(start); !m.isAfter(YearMonth.from(end)); m = m.plusMonths(1)) {
+                Lock lock = monthLocks.computeIfAbsent(m, k -> new ReentrantReadWriteLock()).readLock();
+                // 보관이 쓰기 잠금을 잡고 있으면 기다리지 않고 거부
+                if (!lock.tryLock()) throw new RuntimeException("보관된 달(" + m + ")의 근태는 수정할 수 없습니다.");
+                held.add(lock);
+                if (segments.containsKey(m) || archiving.contains(m)) {
+                    throw new RuntimeException("보관된 달(" + m + ")의 근태는 수정할 수 없습니다.");
+                }
+            }
+        } catch (RuntimeException e) {
+            held.forEach(Lock::unlock);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.forEach(Lock::unlock);
+            }
+        });
+    }
+
+    public List<AttendanceLogResponse> employeeMonth(Long employeeId, int year, int month) {
+        return segment(year, month).employee(employeeId);
+    }
+
+    // 사원 ID, 날짜 순
+    public List<EmployeeAttendanceRow> monthRows(int year, int month) {
+        try (Stream<EmployeeAttendanceRow> rows = segment(year, month).rows()) {
+            return rows.toList();
+        }
+    }
+
+    public Stream<EmployeeAttendanceRow> streamMonth(int year, int month) {
+        return segment(year, month).rows();
+    }
+
+    public List<EmployeeMonthlySummary> summarize(int year, int month) {
+        return segment(year, month).summaries();
+    }
+
+    /**
+     * 해당 월 보관 (급여 마감된 달만, 이미 보관된 달은 남은 행만 정리)
+     * 진행 중인 근태 쓰기가 끝날 때까지 기다린 뒤 시작, 끝날 때까지 해당 달 쓰기는 거부
+     */
+    public Map<String, Object> archive(int year, int month) {
+        YearMonth target = YearMonth.of(year, month);
+        if (payrollCloseRepository.findByYearAndMonth(year, month).isEmpty()) {
+            throw new RuntimeException("급여 마감 전인 달은 보관할 수 없습니다.");
+        }
+        archiveLock.lock();
+        archiving.add(target);
+        Lock writeLock = monthLocks.computeIfAbsent(target, k -> new ReentrantReadWriteLock()).writeLock();
+        writeLock.lock();
+        try {
+            return doArchive(target);
+        } finally {
+            writeLock.unlock();
+            archiving.remove(target);
+            archiveLock.unlock();
+        }
+    }
+
+    private Map<String, Object> doArchive(YearMonth target) {
+        long start = System.currentTimeMillis();
+        LocalDate from = target.atDay(1);
+        LocalDate to = target.atEndOfMonth();
+        AttendanceSegment segment = segments.get(target);
+        Path file = AttendanceSegment.fileName(dir, target);
+        if (segment == null) {
+            if (Files.exists(file)) throw new RuntimeException("읽을 수 없는 보관 파일이 있습니다: " + file);
+            segment = write(target, from, to, file);
+        }
+
+        // 파일과 DB 대조 (이전 실행에서 이미 삭제했으면 남은 행 없음)
+        long[] hot = hotChecksum(segment, from, to);
+        if (hot[0] > 0 && (hot[0] != segment.records() || hot[1] != segment.crc())) {
+            throw new RuntimeException("보관 파일과 근태 기록이 다릅니다 (" + target + ", DB " + hot[0]
+                    + "건 / 파일 " + segment.records() + "건)");
+        }
+        segments.put(target, segment);
+        int deleted = hot[0] > 0 ? deleteHotRows(from, to) : 0;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("year", target.getYear());
+        result.put("month", target.getMonthValue());
+        result.put("records", segment.records());
+        result.put("employees", segment.employees());
+        result.put("bytes", segment.bytes());
+        result.put("deleted", deleted);
+        result.put("elapsedMillis", System.currentTimeMillis() - start);
+        log.info("근태 보관 - {}", result);
+        return result;
+    }
+
+    private AttendanceSegment write(YearMonth target, LocalDate from, LocalDate to, Path file) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(dir);
+            try (AttendanceSegment.Writer writer = new AttendanceSegment.Writer(tmp, target)) {
+                transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.query(
+                        rowsCursor(from, to), (RowCallbackHandler) rs -> {
+                    try {
+                        writer.add(rs.getLong(1), rs.getDate(2).toLocalDate(), time(rs, 3), time(rs, 4), rs.getString(5),
+                                integer(rs, 6), integer(rs, 7));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+                writer.finish();
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            return AttendanceSegment.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 작성 실패: " + file, e);
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException e) {
+                log.warn("보관 임시 파일 삭제 실패 - {}", tmp);
+            }
+        }
+    }
+
+    // DB 기록을 보관 형식으로 다시 만들어 {건수, CRC} 계산
+    private long[] hotChecksum(AttendanceSegment segment, LocalDate from, LocalDate to) {
+        CRC32 checksum = new CRC32();
+        ByteBuffer record = ByteBuffer.allocate(AttendanceSegment.RECORD_BYTES);
+        long[] count = new long[1];
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.query(rowsCursor(from, to), (RowCallbackHandler) rs -> {
+            int status = segment.statusCode(rs.getString(5));
+            if (status < 0) throw new RuntimeException("보관 파일에 없는 상태 값: " + rs.getString(5));
+            record.clear();
+            AttendanceSegment.encode(record, rs.getLong(1), rs.getDate(2).toLocalDate(), time(rs, 3), time(rs, 4),
+                    status, integer(rs, 6), integer(rs, 7));
+            checksum.update(record.flip());
+            count[0]++;
+        }));
+        return new long[]{count[0], checksum.getValue()};
+    }
+
+    // id 구간(deleteChunkSize)별 별도 트랜잭션으로 삭제
+    private int deleteHotRows(LocalDate from, LocalDate to) {
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM attendance "
+                + "WHERE work_date BETWEEN ? AND ? AND employee_id IS NOT NULL", from, to);
+        if (range.get("min_id") == null) return 0;
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+        int deleted = 0;
+        for (long chunk = minId; chunk <= maxId; chunk += deleteChunkSize) {
+            long chunkFrom = chunk;
+            long chunkTo = Math.min(chunk + deleteChunkSize - 1, maxId);
+            deleted += transactionTemplate.execute(tx -> jdbcTemplate.update("DELETE FROM attendance "
+                    + "WHERE work_date BETWEEN ? AND ? AND employee_id IS NOT NULL AND id BETWEEN ? AND ?",
+                    from, to, chunkFrom, chunkTo));
+        }
+        return deleted;
+    }
+
+    // 한 방향 커서 (fetchSize 씩 읽음)
+    private PreparedStatementCreator rowsCursor(LocalDate from, LocalDate to) {
+        return con -> {
+            PreparedStatement ps = con.prepareStatement(ROWS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            return ps;
+        };
+    }
+
+    AttendanceSegment segment(int year, int month) {
+        AttendanceSegment segment = segments.get(YearMonth.of(year, month));
+        if (segment == null) throw new RuntimeException("보관되지 않은 달입니다: " + YearMonth.of(year, month));
+        return segment;
+    }
+
+    private static LocalTime time(ResultSet rs, int column) throws SQLException {
+        Time time = rs.getTime(column);
+        return time != null ? time.toLocalTime() : null;
+    }
+
+    private static Integer integer(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.AttendanceLogResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * 관리자 일괄 수정/삭제용 set 기반 처리기
+ *
+ * 1. 대상 사원 연차/병가 스냅샷을 한 번에 잠그고 잔여 계산 (LeaveLedgerService.lock, 사원 행은 잠그지 않음)
+ * 2. 대상 기간의 기존 근태 기록을 한 번에 조회
+ * 3. 날짜 순서대로 메모리에서 차감/복구를 계산 (연차부족, 병가(무급) 판정은 기존 건별 처리와 동일)
+ * 4. 근태 기록은 JDBC batch 로, 연차/병가 증감은 원장 이력 batch INSERT 로 반영 (급여 원장도 사원/월 단위로 반영)
+ * 5. 사원별 변경된 날짜와 새 잔여 연차/병가를 돌려줌 (웹소켓 변경분 알림용)
+ *
+ * employeeId 가 null 이면 전 사원 대상
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceBulkEngine {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalaryLedgerService salaryLedgerService;
+    private final LeaveLedgerService leaveLedgerService;
+
+    public record EmployeeChanges(Double annualLeave, Integer sickLeave,
+                                  List<AttendanceLogResponse> changedDays, List<LocalDate> deletedDates) {
+        public boolean isEmpty() {
+            return changedDays.isEmpty() && deletedDates.isEmpty();
+        }
+    }
+
+    public Map<Long, EmployeeChanges> applyStatus(Long employeeId, List<LocalDate> dates, String status) {
+        Map<Long, Target> targets = lockTargets(employeeId);
+        if (!dates.isEmpty()) prefetchLogs(targets, employeeId, dates);
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        SalaryLedgerService.Deltas ledger = new SalaryLedgerService.Deltas();
+        for (Target target : targets.values()) {
+            for (LocalDate date : dates) {
+                ExistingLog existing = target.logs.get(date);
+                if (existing != null && existing.status() != null) {
+                    if (existing.status().equals(status)) continue;
+                    target.leave.restore(existing.status(), date);
+                }
+
+                Object[] values = decide(target, status, date);
+                int mins = (int) values[1];
+                int wage = (int) values[2];
+                target.changed.add(new AttendanceLogResponse(date,
+                        existing != null ? existing.checkIn() : null, existing != null ? existing.checkOut() : null,
+                        (String) values[0], mins, wage));
+                if (existing != null) {
+                    updates.add(new Object[]{values[0], mins, wage, existing.id()});
+                    ledger.add(target.id, date, SalaryLedgerService.diff(existing.dailyWage(), wage),
+                            SalaryLedgerService.diff(existing.workingMinutes(), mins));
+                } else {
+                    inserts.add(new Object[]{target.id, date, values[0], mins, wage});
+                    ledger.add(target.id, date, wage, mins);
+                }
+            }
+        }
+
+        batch("UPDATE attendance SET status = ?, working_minutes = ?, daily_wage = ? WHERE id = ?", updates);
+        batch("INSERT INTO attendance (employee_id, work_date, status, working_minutes, daily_wage) VALUES (?, ?, ?, ?, ?)", inserts);
+        appendLeave(targets);
+        salaryLedgerService.apply(ledger);
+
+        log.info("일괄 수정 반영 - 사원: {}, 수정: {}, 추가: {}", targets.size(), updates.size(), inserts.size());
+        return changes(targets);
+    }
+
+    public Map<Long, EmployeeChanges> delete(Long employeeId, List<LocalDate> dates) {
+        Map<Long, Target> targets = lockTargets(employeeId);
+        if (!dates.isEmpty()) prefetchLogs(targets, employeeId, dates);
+
+        List<Object[]> deletes = new ArrayList<>();
+        SalaryLedgerService.Deltas ledger = new SalaryLedgerService.Deltas();
+        for (Target target : targets.values()) {
+            for (LocalDate date : dates) {
+                ExistingLog existing = target.logs.get(date);
+                if (existing == null) continue;
+                target.leave.restore(existing.status(), date);
+                deletes.add(new Object[]{existing.id()});
+                target.deleted.add(date);
+                ledger.add(target.id, date, SalaryLedgerService.diff(existing.dailyWage(), 0),
+                        SalaryLedgerService.diff(existing.workingMinutes(), 0));
+            }
+        }
+
+        batch("DELETE FROM attendance WHERE id = ?", deletes);
+        appendLeave(targets);
+        salaryLedgerService.apply(ledger);
+
+        log.info("일괄 삭제 반영 - 사원: {}, 삭제: {}", targets.size(), deletes.size());
+        return changes(targets);
+    }
+
+    // [상태, 근무분, 일당] - AttendanceAdminService 의 건별 처리와 같은 규칙
+    private Object[] decide(Target target, String status, LocalDate date) {
+        int fullDayMins = AttendancePolicy.FULL_DAY_MINUTES;
+        int halfDayMins = AttendancePolicy.HALF_DAY_MINUTES;
+        switch (status) {
+            case "연차":
+                return target.leave.useAnnual(1.0, status, date)
+                        ? row("연차", fullDayMins, target.wage(fullDayMins))
+                        : row("연차부족", 0, 0);
+            case "반차":
+                return target.leave.useAnnual(0.5, status, date)
+                        ? row("반차", halfDayMins, target.wage(halfDayMins))
+                        : row("연차부족", 0, 0);
+            case "병가":
+                return target.leave.useSick(date)
+                        ? row("병가", fullDayMins, target.wage(fullDayMins))
+                        : row("병가(무급)", 0, 0);
+            case "휴가":
+            case "정상근무":
+                return row(status, fullDayMins, target.wage(fullDayMins));
+            default:
+                return row(status, 0, 0);
+        }
+    }
+
+    private Object[] row(String status, int mins, int wage) {
+        return new Object[]{status, mins, wage};
+    }
+
+    // 연차/병가 스냅샷을 먼저 잠근 뒤 사원/근태를 읽어야 잠금 대기 중 커밋된 변경까지 보임
+    private Map<Long, Target> lockTargets(Long employeeId) {
+        Map<Long, LeaveLedgerService.Account> accounts = leaveLedgerService.lock(employeeId);
+
+        String sql = "SELECT id, hourly_rate FROM employee" + (employeeId != null ? " WHERE id = ?" : "") + " ORDER BY id";
+        Object[] args = employeeId != null ? new Object[]{employeeId} : new Object[0];
+
+        Map<Long, Target> targets = new LinkedHashMap<>();
+        Map<Long, Integer> late = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            LeaveLedgerService.Account leave = accounts.get(rs.getLong(1));
+            if (leave == null) {
+                late.put(rs.getLong(1), rs.getInt(2));
+                return;
+            }
+            Target target = new Target(rs.getLong(1), rs.getInt(2), leave);
+            targets.put(target.id, target);
+        }, args);
+
+        // 스냅샷을 잠근 뒤 추가된 사원 -> 빠뜨리지 않고 따로 스냅샷을 만들어 잠근 뒤 함께 처리
+        late.forEach((id, hourlyRate) -> {
+            LeaveLedgerService.Account leave = leaveLedgerService.lock(id).get(id);
+            if (leave == null) throw new RuntimeException("연차/병가 스냅샷 없음 - 사원 " + id);
+            targets.put(id, new Target(id, hourlyRate, leave));
+        });
+
+        if (employeeId != null && targets.isEmpty()) throw new RuntimeException("사원 없음");
+        return targets;
+    }
+
+    private void prefetchLogs(Map<Long, Target> targets, Long employeeId, List<LocalDate> dates) {
+        Set<LocalDate> dateSet = new HashSet<>(dates);
+        String sql = "SELECT id, employee_id, work_date, status, daily_wage, working_minutes, check_in, check_out "
+                + "FROM attendance WHERE work_date BETWEEN ? AND ?"
+                + (employeeId != null ? " AND employee_id = ?" : "") + " ORDER BY id";
+        LocalDate first = dates.get(0);
+        LocalDate last = dates.get(dates.size() - 1);
+        Object[] args = employeeId != null ? new Object[]{first, last, employeeId} : new Object[]{first, last};
+
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            Target target = targets.get(rs.getLong(2));
+            LocalDate workDate = rs.getObject(3, LocalDate.class);
+            if (target == null || !dateSet.contains(workDate)) return;
+            // 같은 날 기록이 여러 건이면 가장 먼저 생긴 기록 기준
+            target.logs.putIfAbsent(workDate, new ExistingLog(rs.getLong(1), rs.getString(4),
+                    rs.getObject(5, Integer.class), rs.getObject(6, Integer.class),
+                    rs.getObject(7, LocalTime.class), rs.getObject(8, LocalTime.class)));
+        }, args);
+    }
+
+    private void appendLeave(Map<Long, Target> targets) {
+        leaveLedgerService.append(targets.values().stream().map(t -> t.leave).toList(), "admin-batch");
+    }
+
+    private Map<Long, EmployeeChanges> changes(Map<Long, Target> targets) {
+        Map<Long, EmployeeChanges> result = new LinkedHashMap<>();
+        targets.values().forEach(t -> result.put(t.id,
+                new EmployeeChanges(t.leave.annualLeave(), t.leave.sickLeave(), t.changed, t.deleted)));
+        return result;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private record ExistingLog(long id, String status, Integer dailyWage, Integer workingMinutes,
+                               LocalTime checkIn, LocalTime checkOut) {
+    }
+
+    private static final class Target {
+        final long id;
+        final int hourlyRate;
+        final LeaveLedgerService.Account leave;
+        final Map<LocalDate, ExistingLog> logs = new HashMap<>();
+        final List<AttendanceLogResponse> changed = new ArrayList<>();
+        final List<LocalDate> deleted = new ArrayList<>();
+
+        Target(long id, int hourlyRate, LeaveLedgerService.Account leave) {
+            this.id = id;
+            this.hourlyRate = hourlyRate;
+            this.leave = leave;
+        }
+
+        int wage(int mins) {
+            return AttendancePolicy.wage(mins, hourlyRate);
+        }
+    }
+}
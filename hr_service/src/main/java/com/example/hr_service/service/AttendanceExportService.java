@@ -0,0 +1,373 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import com.example.hr_service.repository.AttendanceLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전 사원 월간 기록 스트리밍 내보내기
+ *
+ * 1. 사원 ID 순으로 정렬된 커서를 fetch size 단위로 읽음
+ * 2. 사원이 바뀔 때마다 해당 사원 묶음({employeeId, logs})만 직렬화해서 바로 출력
+ * 3. 커서는 DTO projection 이라 영속성 컨텍스트에 쌓이지 않음 -> 월 전체 크기와 상관없이 사원 1명분만 메모리에 유지
+ * 4. 보관된 달은 보관 파일을 같은 순서로 읽음
+ *
+ * MySQL 은 JDBC URL 에 useCursorFetch=true 가 있어야 fetch size 만큼씩 읽음 (없으면 결과 전체를 버퍼링)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceExportService {
+
+    private final AttendanceLogRepository attendanceRepository;
+    private final AttendanceArchiveService archiveService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${attendance.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${attendance.export.csv.buffer-bytes:65536}")
+    private int csvBufferBytes;
+
+    @Value("${attendance.export.csv.max-days:366}")
+    private int csvMaxDays;
+
+    private static final String CSV_SQL = "SELECT e.employee_number, e.name, e.department, a.work_date, a.check_in, "
+            + "a.check_out, a.status, a.working_minutes, a.daily_wage FROM attendance a JOIN employee e ON e.id = a.employee_id "
+            + "WHERE a.work_date BETWEEN ? AND ? ORDER BY a.employee_id, a.work_date";
+
+    private static final String[] CSV_HEADER = {"사번", "이름", "부서", "근무일", "출근", "퇴근", "상태", "근무분", "일당"};
+
+    public enum Format { NDJSON, ARRAY }
+
+    /**
+     * format 이 NDJSON 이면 한 줄에 사원 1명, ARRAY 면 기존 /monthly/all 과 같은 JSON 배열
+     */
+    @Transactional(readOnly = true)
+    public void writeMonthly(LocalDate start, LocalDate end, Format format, OutputStream out) throws IOException {
+        long begin = System.currentTimeMillis();
+        int groups = 0;
+        if (format == Format.ARRAY) out.write('[');
+
+        try (Stream<EmployeeAttendanceRow> stream = archiveService.isArchived(start.getYear(), start.getMonthValue())
+                ? archiveService.streamMonth(start.getYear(), start.getMonthValue())
+                : attendanceRepository.streamByWorkDateBetweenOrderByEmployee(start, end, fetchSize)) {
+            Iterator<EmployeeAttendanceRow> it = stream.iterator();
+            Long current = null;
+            List<AttendanceLogResponse> logs = new ArrayList<>();
+
+            while (it.hasNext()) {
+                EmployeeAttendanceRow row = it.next();
+                if (current != null && !current.equals(row.employeeId())) {
+                    writeGroup(out, format, groups++, current, logs);
+                    logs.clear();
+                }
+                current = row.employeeId();
+                logs.add(row.log());
+            }
+            if (current != null) writeGroup(out, format, groups++, current, logs);
+        }
+
+        if (format == Format.ARRAY) out.write(']');
+        out.flush();
+        log.info("월간 기록 내보내기 - {} ~ {}, 사원: {}, {}ms", start, end, groups, System.currentTimeMillis() - begin);
+    }
+
+    private void writeGroup(OutputStream out, Format format, int index, Long employeeId,
+                            List<AttendanceLogResponse> logs) throws IOException {
+        Map<String, Object> group = new LinkedHashMap<>();
+        group.put("employeeId", employeeId);
+        group.put("logs", logs);
+
+        if (format == Format.ARRAY && index > 0) out.write(',');
+        out.write(objectMapper.writeValueAsBytes(group));
+        if (format == Format.NDJSON) out.write('\n');
+        // 사원 묶음 단위로 내보내서 클라이언트가 바로 처리할 수 있게 함
+        out.flush();
+    }
+
+    public void checkCsvRange(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) throw new RuntimeException("종료일이 시작일보다 앞입니다.");
+        if (ChronoUnit.DAYS.between(start, end) >= csvMaxDays) {
+            throw new RuntimeException("내보내기 기간은 최대 " + csvMaxDays + "일입니다.");
+        }
+    }
+
+    /**
+     * 기간 근태 CSV 내보내기 (월 -> 사원 ID -> 날짜 순, UTF-8 BOM + 헤더 1줄, gzip 선택)
+     *
+     * 1. 월마다 한 방향 커서(fetch size)로 읽은 값을 고정 크기 버퍼에 바로 인코딩 (행 단위 DTO/문자열 조립 없음)
+     * 2. 보관된 달은 보관 파일 기록을 같은 방식으로 씀 (사원 사번/이름/부서는 사원 수만큼만 메모리에 보관)
+     * -> 기간 길이와 상관없이 메모리는 버퍼 + 커서 fetch size 만큼
+     *
+     * @return 내보낸 행 수 (헤더 제외)
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(LocalDate start, LocalDate end, boolean gzip, OutputStream out) throws IOException {
+        long begin = System.currentTimeMillis();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, csvBufferBytes) : null;
+        CsvWriter csv = new CsvWriter(compressed != null ? compressed : out, csvBufferBytes);
+        csv.bom();
+        for (int i = 0; i < CSV_HEADER.length; i++) {
+            if (i > 0) csv.comma();
+            csv.text(CSV_HEADER[i]);
+        }
+        csv.endRow();
+
+        long rows = 0;
+        Map<Long, String[]> employees = null;
+        for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+            LocalDate from = month.atDay(1).isBefore(start) ? start : month.atDay(1);
+            LocalDate to = month.atEndOfMonth().isAfter(end) ? end : month.atEndOfMonth();
+            if (archiveService.isArchived(month.getYear(), month.getMonthValue())) {
+                if (employees == null) employees = employeeColumns();
+                rows += writeArchived(csv, archiveService.segment(month.getYear(), month.getMonthValue()), from, to, employees);
+            } else {
+                rows += writeHot(csv, from, to);
+            }
+        }
+
+        csv.flush();
+        if (compressed != null) compressed.finish();
+        out.flush();
+        log.info("근태 CSV 내보내기 - {} ~ {}, {}행, gzip: {}, {}ms", start, end, rows, gzip, System.currentTimeMillis() - begin);
+        return rows;
+    }
+
+    private long writeHot(CsvWriter csv, LocalDate from, LocalDate to) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CSV_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                csv.text(rs.getString(1)).comma().text(rs.getString(2)).comma().text(rs.getString(3)).comma()
+                        .ascii(rs.getString(4)).comma().ascii(rs.getString(5)).comma().ascii(rs.getString(6)).comma()
+                        .text(rs.getString(7)).comma();
+                int minutes = rs.getInt(8);
+                if (!rs.wasNull()) csv.number(minutes);
+                csv.comma();
+                int wage = rs.getInt(9);
+                if (!rs.wasNull()) csv.number(wage);
+                csv.endRow();
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows[0];
+    }
+
+    private long writeArchived(CsvWriter csv, AttendanceSegment segment, LocalDate from, LocalDate to,
+                               Map<Long, String[]> employees) throws IOException {
+        YearMonth month = segment.month();
+        long rows = 0;
+        for (int i = 0; i < segment.records(); i++) {
+            int day = segment.dayAt(i);
+            if (day < from.getDayOfMonth() || day > to.getDayOfMonth()) continue;
+            // 테이블 내보내기(JOIN)와 같이 삭제된 사원 기록은 제외
+            String[] employee = employees.get(segment.employeeIdAt(i));
+            if (employee == null) continue;
+
+            csv.text(employee[0]).comma().text(employee[1]).comma().text(employee[2]).comma()
+                    .date(month.getYear(), month.getMonthValue(), day).comma()
+                    .time(segment.checkInAt(i)).comma().time(segment.checkOutAt(i)).comma()
+                    .text(segment.statusAt(i)).comma();
+            if (segment.minutesAt(i) >= 0) csv.number(segment.minutesAt(i));
+            csv.comma();
+            if (segment.wageAt(i) >= 0) csv.number(segment.wageAt(i));
+            csv.endRow();
+            rows++;
+        }
+        return rows;
+    }
+
+    // 사원 ID -> {사번, 이름, 부서}
+    private Map<Long, String[]> employeeColumns() {
+        Map<Long, String[]> employees = new HashMap<>();
+        jdbcTemplate.query("SELECT id, employee_number, name, department FROM employee", (RowCallbackHandler) rs ->
+                employees.put(rs.getLong(1), new String[]{rs.getString(2), rs.getString(3), rs.getString(4)}));
+        return employees;
+    }
+
+    /**
+     * CSV 값을 고정 크기 byte[] 에 UTF-8 로 직접 씀 (RFC 4180, 줄바꿈 CRLF), 버퍼가 차면 출력 스트림으로 내보냄
+     * 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고, =, +, -, @ 로 시작하는 글자 값은 ' 를 붙여 스프레드시트 수식 실행 방지
+     */
+    private static final class CsvWriter {
+
+        // 가장 긴 값 1개(UTF-8 4바이트 x 길이)보다 작으면 값 중간에 나눠 씀
+        private static final int RESERVE = 32;
+
+        private final OutputStream out;
+        private final byte[] buffer;
+        private int position;
+
+        CsvWriter(OutputStream out, int size) {
+            this.out = out;
+            this.buffer = new byte[Math.max(size, 1024)];
+        }
+
+        void bom() throws IOException {
+            ensure(3);
+            buffer[position++] = (byte) 0xEF;
+            buffer[position++] = (byte) 0xBB;
+            buffer[position++] = (byte) 0xBF;
+        }
+
+        CsvWriter comma() throws IOException {
+            ensure(1);
+            buffer[position++] = ',';
+            return this;
+        }
+
+        void endRow() throws IOException {
+            ensure(2);
+            buffer[position++] = '\r';
+            buffer[position++] = '\n';
+        }
+
+        CsvWriter text(String value) throws IOException {
+            if (value == null || value.isEmpty()) return this;
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            char first = value.charAt(0);
+            boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+
+            if (quote) put('"');
+            if (formula) put('\'');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    put('"');
+                    put('"');
+                } else if (c < 0x80) {
+                    put(c);
+                } else {
+                    ensure(4);
+                    if (c < 0x800) {
+                        buffer[position++] = (byte) (0xC0 | (c >> 6));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[position++] = (byte) (0xF0 | (cp >> 18));
+                        buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        buffer[position++] = '?';
+                    } else {
+                        buffer[position++] = (byte) (0xE0 | (c >> 12));
+                        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                    }
+                }
+            }
+            if (quote) put('"');
+            return this;
+        }
+
+        // 날짜/시각 등 드라이버가 준 ASCII 문자열 그대로
+        CsvWriter ascii(String value) throws IOException {
+            if (value == null) return this;
+            for (int i = 0; i < value.length(); i++) put(value.charAt(i));
+            return this;
+        }
+
+        CsvWriter number(long value) throws IOException {
+            ensure(RESERVE);
+            if (value < 0) {
+                buffer[position++] = '-';
+                value = -value;
+            }
+            int end = position + digits(value);
+            for (int i = end - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position = end;
+            return this;
+        }
+
+        CsvWriter date(int year, int month, int day) throws IOException {
+            ensure(10);
+            padded(year, 4);
+            buffer[position++] = '-';
+            padded(month, 2);
+            buffer[position++] = '-';
+            padded(day, 2);
+            return this;
+        }
+
+        // 0시부터 초 -> HH:mm:ss (음수는 NULL -> 빈 값)
+        CsvWriter time(int seconds) throws IOException {
+            if (seconds < 0) return this;
+            ensure(8);
+            padded(seconds / 3600, 2);
+            buffer[position++] = ':';
+            padded(seconds / 60 % 60, 2);
+            buffer[position++] = ':';
+            padded(seconds % 60, 2);
+            return this;
+        }
+
+        void flush() throws IOException {
+            if (position > 0) out.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private void padded(int value, int width) {
+            for (int i = position + width - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += width;
+        }
+
+        private void put(char c) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) c;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (position + bytes > buffer.length) flush();
+        }
+
+        private static int digits(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
+}
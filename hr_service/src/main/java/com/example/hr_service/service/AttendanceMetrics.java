@@ -0,0 +1,134 @@
+package com.example.hr_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * 출퇴근/관리자 일괄 처리/스케줄러 지표 (/actuator/prometheus)
+ *
+ * 1. attendance.punch: 출근/퇴근/상태 변경 소요 시간 (action, path, outcome = 출퇴근은 판정 상태, 상태 변경은 ok/rejected, 실패 시 error)
+ *    attendance.punch.deduplicated: DB 를 거치지 않고 메모리에서 답한 중복 출퇴근 (outcome = replayed/rejected)
+ * 2. attendance.admin.batch: 일괄 수정/삭제 소요 시간, 요청 근무일 수, 반영 건수, 결과 상태별 건수
+ *    (관리자가 보낸 상태는 자유 문자열이라 정해진 상태 외에는 other 로 묶음 - 태그 종류가 늘지 않도록)
+ * 3. attendance.scheduler.run / rows: 스케줄러 실행 시간, 결과 상태별 처리 건수
+ *
+ * 트랜잭션 안에서 기록하면 커밋/롤백 후에 기록 (커밋 시간 포함, 롤백되면 outcome=rollback)
+ */
+@Component
+@RequiredArgsConstructor
+public class AttendanceMetrics {
+
+    public static final String OK = "ok";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+    public static final String OTHER = "other";
+
+    // 일괄 처리 결과 태그로 쓰는 상태 (출퇴근 판정, 관리자 처리 결과, 삭제)
+    private static final Set<String> ADMIN_OUTCOMES = Set.of(
+            "출근", "지각", "퇴근", "지각/퇴근", "정상퇴근", "결근", "미퇴근(결근)",
+            "정상근무", "휴가", "연차", "반차", "병가", "연차부족", "병가(무급)", "삭제");
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * path: direct (AttendanceService 트랜잭션) / write-behind (PunchIngestionService 큐 접수 또는 그룹 커밋까지)
+     */
+    public void punch(String action, String path, Timer.Sample sample, String outcome) {
+        afterCompletion(committed -> sample.stop(Timer.builder("attendance.punch")
+                .description("출퇴근/상태 변경 처리 시간 (커밋 포함)")
+                .tags("action", action, "path", path)
+                .tag("outcome", committed || ERROR.equals(outcome) || REJECTED.equals(outcome) ? outcome : "rollback")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)));
+    }
+
+    public void deduplicated(String action, String outcome) {
+        Counter.builder("attendance.punch.deduplicated")
+                .description("메모리에서 답한 중복 출퇴근 요청 수")
+                .tags("action", action, "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * 관리자 일괄 수정/삭제 1회 기록
+     * outcomes: 결과 상태별 반영 건수 (연차, 연차부족, 삭제 ...), 실패면 null - 모르는 상태는 other 로 합쳐 기록
+     */
+    public void adminBatch(String operation, String engine, Timer.Sample sample, int days, Map<String, Integer> outcomes) {
+        afterCompletion(committed -> {
+            boolean success = committed && outcomes != null;
+            sample.stop(Timer.builder("attendance.admin.batch")
+                    .description("관리자 일괄 처리 시간 (커밋 포함)")
+                    .tags("operation", operation, "engine", engine, "outcome", success ? "success" : ERROR)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+            DistributionSummary.builder("attendance.admin.batch.days")
+                    .description("일괄 처리 1회당 대상 근무일 수")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(days);
+            if (!success) return;
+
+            DistributionSummary.builder("attendance.admin.batch.rows")
+                    .description("일괄 처리 1회당 반영된 근태 기록 수")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(outcomes.values().stream().mapToInt(Integer::intValue).sum());
+            Map<String, Integer> tagged = new TreeMap<>();
+            outcomes.forEach((outcome, rows) -> tagged.merge(adminOutcome(outcome), rows, Integer::sum));
+            tagged.forEach((outcome, rows) -> Counter.builder("attendance.admin.batch.outcome")
+                    .description("일괄 처리 결과 상태별 근태 기록 수")
+                    .tags("operation", operation, "outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(rows));
+        });
+    }
+
+    /**
+     * 스케줄러 작업 1회 기록 (rows: 결과 상태별 처리 건수, 실패면 null)
+     */
+    public void schedulerRun(String job, Timer.Sample sample, Map<String, Integer> rows) {
+        sample.stop(Timer.builder("attendance.scheduler.run")
+                .description("스케줄러 작업 실행 시간")
+                .tags("job", job, "outcome", rows != null ? "success" : ERROR)
+                .register(meterRegistry));
+        if (rows == null) return;
+        rows.forEach((outcome, count) -> Counter.builder("attendance.scheduler.rows")
+                .description("스케줄러 작업 결과 상태별 처리 건수")
+                .tags("job", job, "outcome", outcome)
+                .register(meterRegistry)
+                .increment(count));
+    }
+
+    private static String adminOutcome(String status) {
+        return status != null && ADMIN_OUTCOMES.contains(status) ? status : OTHER;
+    }
+
+    private void afterCompletion(Consumer<Boolean> record) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                record.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
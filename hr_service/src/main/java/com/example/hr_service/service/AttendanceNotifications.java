@@ -0,0 +1,81 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.AdminUpdateDelta;
+import com.example.hr_service.dto.AttendanceLogResponse;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 근태 STOMP 알림 payload 형식 (전송 시점/채널은 각 서비스, 형식은 여기 한 곳에서)
+ */
+public final class AttendanceNotifications {
+
+    private AttendanceNotifications() {
+    }
+
+    // CHECK_IN / CHECK_OUT (퇴근만 일당/근무분 포함)
+    public static Map<String, Object> punch(String type, String status, String time, int dailyWage, long workingMinutes) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", type);
+        data.put("status", status);
+        data.put("time", time);
+        if ("CHECK_OUT".equals(type)) {
+            data.put("dailyWage", dailyWage);
+            data.put("workingMinutes", workingMinutes);
+        }
+        return data;
+    }
+
+    public static Map<String, Object> leaveUpdate(String status, Double remainingLeave, Integer remainingSickLeave) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "LEAVE_UPDATE");
+        data.put("status", status);
+        data.put("remainingLeave", remainingLeave);
+        data.put("remainingSickLeave", remainingSickLeave);
+        return data;
+    }
+
+    public static Map<String, Object> absent(LocalDate date) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "ABSENT");
+        data.put("status", "결근");
+        data.put("date", date.toString());
+        return data;
+    }
+
+    public static Map<String, Object> absentBatch(LocalDate date, List<Long> employeeIds) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "ABSENT_BATCH");
+        data.put("date", date.toString());
+        data.put("employeeIds", employeeIds);
+        return data;
+    }
+
+    public static Map<String, Object> adminDeltaBatch(long epoch, long fromVersion, long toVersion, List<AdminUpdateDelta> updates) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "ADMIN_DELTA_BATCH");
+        data.put("epoch", epoch);
+        data.put("fromVersion", fromVersion);
+        data.put("toVersion", toVersion);
+        data.put("updates", updates);
+        return data;
+    }
+
+    // 구 ADMIN_UPDATE (그 달 전체 기록, 호환 기간 동안만)
+    public static Map<String, Object> adminUpdate(Long employeeId, LocalDate date, Double remainingLeave,
+                                                  Integer remainingSickLeave, List<AttendanceLogResponse> monthlyLogs,
+                                                  long monthlySalary) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("type", "ADMIN_UPDATE");
+        data.put("employeeId", employeeId);
+        data.put("date", date.toString());
+        data.put("remainingLeave", remainingLeave);
+        data.put("remainingSickLeave", remainingSickLeave);
+        data.put("monthlyLogs", List.copyOf(monthlyLogs));
+        data.put("newTotalSalary", monthlySalary);
+        return data;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hr_service.service;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * 출퇴근 판정 및 급여 계산 규칙 (직접 처리 / write-behind 처리 공용)
+ */
+public final class AttendancePolicy {
+
+    public static final LocalTime LATE_THRESHOLD = LocalTime.of(9, 0);
+    public static final LocalTime OFF_WORK_TIME = LocalTime.of(18, 0);
+    public static final int BREAK_MINUTES = 60; // 점심시간 제외
+    public static final int FULL_DAY_MINUTES = 480; // 연차/병가/정상근무 인정 시간
+    public static final int HALF_DAY_MINUTES = 240; // 반차 인정 시간
+
+    private AttendancePolicy() {
+    }
+
+    // 09:00 이후 출근은 지각
+    public static String checkInStatus(LocalTime checkIn) {
+        return checkIn.isAfter(LATE_THRESHOLD) ? "지각" : "출근";
+    }
+
+    // 지각 -> 지각/퇴근, 18:00 이후 정상 퇴근 -> 퇴근, 그 외는 기존 상태 유지
+    public static String checkOutStatus(String currentStatus, LocalTime checkOut) {
+        if ("지각".equals(currentStatus)) return "지각/퇴근";
+        if ("출근".equals(currentStatus) && !checkOut.isBefore(OFF_WORK_TIME)) return "퇴근";
+        return currentStatus;
+    }
+
+    public static long workingMinutes(LocalTime checkIn, LocalTime checkOut) {
+        long totalMins = Duration.between(checkIn, checkOut).toMinutes();
+        return Math.max(0, totalMins - BREAK_MINUTES);
+    }
+
+    public static int wage(long mins, int hourlyRate) {
+        return (int) Math.floor(mins * (hourlyRate / 60.0));
+    }
+
+    // 월 급여 마감 집계용: 유급 휴가 일수 (연차/병가/휴가 1일, 반차 0.5일)
+    public static double paidLeaveDays(String status) {
+        if (status == null) return 0;
+        return switch (status) {
+            case "연차", "병가", "휴가" -> 1.0;
+            case "반차" -> 0.5;
+            default -> 0;
+        };
+    }
+
+    // 무급 처리된 날 (결근, 잔여 부족으로 무급이 된 휴가)
+    public static boolean isUnpaidDay(String status) {
+        return "결근".equals(status) || "미퇴근(결근)".equals(status)
+                || "연차부족".equals(status) || "병가(무급)".equals(status);
+    }
+
+    public static boolean isLate(String status) {
+        return status != null && status.startsWith("지각");
+    }
+}
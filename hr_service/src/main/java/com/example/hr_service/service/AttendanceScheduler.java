@@ -1,17 +1,20 @@
 package com.example.hr_service.service;
 
-import com.example.hr_service.entity.AttendanceLog;
-import com.example.hr_service.repository.AttendanceLogRepository;
-import com.example.hr_service.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,37 +23,223 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AttendanceScheduler {
 
-    private final EmployeeRepository employeeRepository;
-    private final AttendanceLogRepository attendanceRepository;
+    private static final String ABSENTEE_SQL = "SELECT e.id FROM employee e "
+            + "WHERE NOT EXISTS (SELECT 1 FROM attendance a WHERE a.employee_id = e.id AND a.work_date = ?) ORDER BY e.id";
+    private static final String ABSENT_INSERT_SQL = "INSERT INTO attendance (employee_id, work_date, status, working_minutes, daily_wage) "
+            + "VALUES (?, ?, '결근', 0, 0)";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final PunchIngestionService punchIngestionService;
+    private final SalaryLedgerService salaryLedgerService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final PayrollService payrollService;
+    private final AttendanceArchiveService archiveService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final AttendanceMetrics metrics;
+
+    @Value("${attendance.scheduler.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${attendance.archive.retention-months:12}")
+    private int archiveRetentionMonths;
 
     @Scheduled(cron = "1 0 0 * * *")
-    @Transactional
     public void processMissingCheckOut() {
-        LocalDate yesterday = LocalDate.now().minusDays(1);
-        List<AttendanceLog> missingLogs = attendanceRepository.findByWorkDateAndCheckOutIsNull(yesterday);
-        for (AttendanceLog attLog : missingLogs) {
-            if ("출근".equals(attLog.getStatus())) attLog.setStatus("미퇴근(결근)");
-            else if ("지각".equals(attLog.getStatus())) attLog.setStatus("지각(미퇴근)");
-            attLog.setDailyWage(0); attLog.setWorkingMinutes(0);
-            attendanceRepository.save(attLog);
+        closeMissingCheckOuts(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * 퇴근 기록이 없는 근태를 id 구간(chunkSize)별 bulk UPDATE 로 마감
+     * 1. 출근 -> 미퇴근(결근), 지각 -> 지각(미퇴근), 그 외 상태는 유지
+     * 2. 일당/근무시간은 모두 0 (급여 원장은 구간별 GROUP BY 합계만큼 차감)
+     * 구간마다 별도 트랜잭션이라 잠금/undo 가 구간 크기로 제한됨
+     */
+    public MissingCheckOutResult closeMissingCheckOuts(LocalDate date) {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> rows = null;
+        try {
+            MissingCheckOutResult result = doCloseMissingCheckOuts(date);
+            rows = result.counts();
+            return result;
+        } finally {
+            metrics.schedulerRun("close-missing-checkout", sample, rows);
+        }
+    }
+
+    private MissingCheckOutResult doCloseMissingCheckOuts(LocalDate date) {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("미퇴근(결근)", 0);
+        counts.put("지각(미퇴근)", 0);
+        counts.put("기타", 0);
+
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM attendance WHERE work_date = ? AND check_out IS NULL", date);
+        if (range.get("min_id") != null) {
+            long minId = ((Number) range.get("min_id")).longValue();
+            long maxId = ((Number) range.get("max_id")).longValue();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(from + chunkSize - 1, maxId);
+                transactionTemplate.executeWithoutResult(tx -> closeChunk(date, chunkFrom, chunkTo, counts));
+            }
         }
+
+        MissingCheckOutResult result = new MissingCheckOutResult(date, counts, System.currentTimeMillis() - start);
+        log.info("퇴근 미처리 마감 - {}, {}, {}ms", date, counts, result.elapsedMillis());
+        return result;
+    }
+
+    private void closeChunk(LocalDate date, long from, long to, Map<String, Integer> counts) {
+        archiveService.guardWrite(date, date);
+        SalaryLedgerService.Deltas deltas = new SalaryLedgerService.Deltas();
+        jdbcTemplate.query("SELECT employee_id, SUM(daily_wage), SUM(working_minutes) FROM attendance "
+                + "WHERE work_date = ? AND check_out IS NULL AND id BETWEEN ? AND ? AND employee_id IS NOT NULL "
+                + "GROUP BY employee_id", (RowCallbackHandler) rs -> deltas.add(rs.getLong(1), date, -rs.getLong(2), -rs.getLong(3)),
+                date, from, to);
+
+        String where = " WHERE work_date = ? AND check_out IS NULL AND id BETWEEN ? AND ?";
+        counts.merge("미퇴근(결근)", jdbcTemplate.update("UPDATE attendance SET status = '미퇴근(결근)', daily_wage = 0, "
+                + "working_minutes = 0" + where + " AND status = '출근'", date, from, to), Integer::sum);
+        counts.merge("지각(미퇴근)", jdbcTemplate.update("UPDATE attendance SET status = '지각(미퇴근)', daily_wage = 0, "
+                + "working_minutes = 0" + where + " AND status = '지각'", date, from, to), Integer::sum);
+        counts.merge("기타", jdbcTemplate.update("UPDATE attendance SET daily_wage = 0, working_minutes = 0" + where
+                + " AND (daily_wage IS NULL OR daily_wage <> 0 OR working_minutes IS NULL OR working_minutes <> 0)",
+                date, from, to), Integer::sum);
+
+        salaryLedgerService.apply(deltas);
     }
 
-    @Scheduled(cron = "0 1 18 * * MON-FRI")
-    @Transactional
+    // 매일 18:01 실행, 주말/공휴일은 근무일 달력 기준으로 건너뜀
+    @Scheduled(cron = "0 1 18 * * *")
     public void processAbsenteeism() {
         LocalDate today = LocalDate.now();
-        employeeRepository.findAll().forEach(employee -> {
-            if (attendanceRepository.findByEmployeeAndWorkDate(employee, today).isEmpty()) {
-                AttendanceLog absentLog = AttendanceLog.builder()
-                        .employee(employee).workDate(today).status("결근").dailyWage(0).workingMinutes(0).build();
-                attendanceRepository.save(absentLog);
-
-                Map<String, Object> msg = new HashMap<>();
-                msg.put("type", "ABSENT"); msg.put("status", "결근"); msg.put("date", today.toString());
-                messagingTemplate.convertAndSend("/topic/attendance/" + employee.getId(), (Object) msg);
+        if (!workingDayCalendar.isWorkingDay(today)) {
+            log.info("결근 처리 건너뜀 - {} (휴일)", today);
+            return;
+        }
+        markAbsentees(today);
+    }
+
+    /**
+     * 해당 날짜에 기록이 없는 사원을 anti-join (NOT EXISTS) 으로 한 번에 골라 그 사원들만 JDBC batch INSERT 로 결근 처리
+     * 알림은 커밋 후 사원별 ABSENT + 관리자 채널 ABSENT_BATCH 1건으로 전송 (INSERT 한 사원 목록 그대로)
+     */
+    public AbsenteeismResult markAbsentees(LocalDate date) {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> rows = null;
+        try {
+            AbsenteeismResult result = doMarkAbsentees(date);
+            rows = Map.of("결근", result.inserted());
+            return result;
+        } finally {
+            metrics.schedulerRun("mark-absentees", sample, rows);
+        }
+    }
+
+    private AbsenteeismResult doMarkAbsentees(LocalDate date) {
+        long start = System.currentTimeMillis();
+        List<Long> absentees = insertAbsentees(date);
+
+        if (!absentees.isEmpty()) {
+            Map<String, Object> msg = AttendanceNotifications.absent(date);
+            for (Long employeeId : absentees) {
+                messagingTemplate.convertAndSend("/topic/attendance/" + employeeId, (Object) msg);
+            }
+            messagingTemplate.convertAndSend("/topic/attendance/admin", (Object) AttendanceNotifications.absentBatch(date, absentees));
+        }
+        punchIngestionService.refreshAfterCommit(date, date);
+
+        AbsenteeismResult result = new AbsenteeismResult(date, absentees.size(), System.currentTimeMillis() - start);
+        log.info("결근 처리 - {}, 결근: {}명, {}ms", date, result.inserted(), result.elapsedMillis());
+        return result;
+    }
+
+    // 고른 뒤 INSERT 전에 출근 기록이 먼저 들어와 유니크 인덱스에 걸리면 전체 롤백 후 다시 고름
+    private List<Long> insertAbsentees(LocalDate date) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> {
+                    archiveService.guardWrite(date, date);
+                    List<Long> absentees = jdbcTemplate.queryForList(ABSENTEE_SQL, Long.class, date);
+                    if (absentees.isEmpty()) return absentees;
+                    jdbcTemplate.batchUpdate(ABSENT_INSERT_SQL, absentees, chunkSize, (ps, employeeId) -> {
+                        ps.setLong(1, employeeId);
+                        ps.setObject(2, date);
+                    });
+                    return absentees;
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= 3) throw e;
+                log.warn("결근 처리 중 출근 기록과 충돌 - 재시도 {}", attempt);
             }
-        });
+        }
+    }
+
+    // 연차/병가 이력을 스냅샷에 합치고 사원 테이블 잔여 값을 맞춤 (기본 10분마다)
+    @Scheduled(cron = "${attendance.leave.compaction.cron:0 */10 * * * *}")
+    public void processLeaveCompaction() {
+        compactLeaveLedger();
+    }
+
+    public Map<String, Integer> compactLeaveLedger() {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> rows = null;
+        try {
+            rows = leaveLedgerService.compact();
+            return rows;
+        } finally {
+            metrics.schedulerRun("leave-compaction", sample, rows);
+        }
+    }
+
+    // 매월 1일 00:30 지난달 급여 마감 (전날 퇴근 미처리 마감 이후)
+    @Scheduled(cron = "${attendance.payroll.close.cron:0 30 0 1 * *}")
+    public void processPayrollClose() {
+        YearMonth previous = YearMonth.now().minusMonths(1);
+        closePayroll(previous.getYear(), previous.getMonthValue());
+    }
+
+    public Map<String, Object> closePayroll(int year, int month) {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> rows = null;
+        try {
+            Map<String, Object> result = payrollService.close(year, month);
+            rows = Map.of("snapshot", Boolean.TRUE.equals(result.get("closedNow")) ? (Integer) result.get("employees") : 0);
+            return result;
+        } finally {
+            metrics.schedulerRun("payroll-close", sample, rows);
+        }
+    }
+
+    // 매월 1일 01:00 보관 기간(retention-months)이 지난 달을 보관 파일로 이동 (급여 마감 전이면 건너뜀)
+    @Scheduled(cron = "${attendance.archive.cron:0 0 1 1 * *}")
+    public void processArchive() {
+        YearMonth expired = YearMonth.now().minusMonths(archiveRetentionMonths);
+        if (!payrollService.isClosed(expired.getYear(), expired.getMonthValue())) {
+            log.warn("근태 보관 건너뜀 - {} (급여 마감 전)", expired);
+            return;
+        }
+        archiveMonth(expired.getYear(), expired.getMonthValue());
+    }
+
+    public Map<String, Object> archiveMonth(int year, int month) {
+        Timer.Sample sample = metrics.start();
+        Map<String, Integer> rows = null;
+        try {
+            Map<String, Object> result = archiveService.archive(year, month);
+            rows = Map.of("archived", (Integer) result.get("deleted"));
+            return result;
+        } finally {
+            metrics.schedulerRun("archive", sample, rows);
+        }
+    }
+
+    public record MissingCheckOutResult(LocalDate date, Map<String, Integer> counts, long elapsedMillis) {
+    }
+
+    public record AbsenteeismResult(LocalDate date, int inserted, long elapsedMillis) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.dto.EmployeeAttendanceRow;
+import com.example.hr_service.dto.EmployeeMonthlySummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 월 단위 근태 보관 파일 1개 (attendance-yyyy-MM.seg, 읽기 전용 memory-mapped)
+ *
+ * 1. 헤더 48바이트: [magic 4][version 2][year 2][month 1][상태 수 1][예비 2][기록 수 4][사원 수 4]
+ *    [기록 영역 CRC32 8][사원 색인 위치 8][상태 표 위치 8][예비 4]
+ * 2. 기록 (사원 ID, 날짜 순) 24바이트 고정: [사원 ID 8][일 1][상태 코드 1][근무분 2][출근 초 4][퇴근 초 4][일당 4]
+ *    출근/퇴근은 0시부터 초, NULL 은 -1 (상태는 0xFF)
+ * 3. 사원 색인 (사원 ID 순) 16바이트: [사원 ID 8][첫 기록 번호 4][기록 수 4] -> 사원 조회는 이진 탐색
+ * 4. 상태 표: [길이 1][UTF-8] x 상태 수 (기록의 상태 코드 = 표 순서)
+ *
+ * 조회는 mapped buffer 의 절대 위치 읽기만 사용 (복사/position 변경 없음 -> 여러 스레드가 동시에 읽어도 안전)
+ */
+final class AttendanceSegment {
+
+    static final int MAGIC = 0x48524154; // "HRAT"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 48;
+    static final int RECORD_BYTES = 24;
+    static final int INDEX_BYTES = 16;
+    private static final int NULL_STATUS = 0xFF;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final YearMonth month;
+    private final int records;
+    private final int employees;
+    private final long crc;
+    private final int indexOffset;
+    private final String[] statuses;
+    private final Map<String, Integer> statusCodes = new HashMap<>();
+
+    private AttendanceSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new RuntimeException("보관 파일 형식이 아닙니다: " + path);
+        }
+        this.month = YearMonth.of(buffer.getShort(6), buffer.get(8));
+        this.records = buffer.getInt(12);
+        this.employees = buffer.getInt(16);
+        this.crc = buffer.getLong(20);
+        this.indexOffset = (int) buffer.getLong(28);
+        int statusOffset = (int) buffer.getLong(36);
+
+        this.statuses = new String[Byte.toUnsignedInt(buffer.get(9))];
+        for (int i = 0, at = statusOffset; i < statuses.length; i++) {
+            int length = Byte.toUnsignedInt(buffer.get(at));
+            byte[] bytes = new byte[length];
+            buffer.get(at + 1, bytes);
+            statuses[i] = new String(bytes, StandardCharsets.UTF_8);
+            statusCodes.put(statuses[i], i);
+            at += 1 + length;
+        }
+        if (recordsCrc() != crc) throw new RuntimeException("보관 파일 CRC 불일치: " + path);
+    }
+
+    /**
+     * 파일을 읽기 전용으로 매핑 (형식/CRC 확인)
+     */
+    static AttendanceSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지됨
+            return new AttendanceSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static Path fileName(Path dir, YearMonth month) {
+        return dir.resolve("attendance-" + month + ".seg");
+    }
+
+    Path path() {
+        return path;
+    }
+
+    YearMonth month() {
+        return month;
+    }
+
+    int records() {
+        return records;
+    }
+
+    int employees() {
+        return employees;
+    }
+
+    long crc() {
+        return crc;
+    }
+
+    long bytes() {
+        return buffer.capacity();
+    }
+
+    // 없는 상태면 -1 (보관 후 DB 값과 대조할 때 사용)
+    int statusCode(String status) {
+        if (status == null) return NULL_STATUS;
+        return statusCodes.getOrDefault(status, -1);
+    }
+
+    /**
+     * 사원 1명의 월간 기록 (날짜 순, 없으면 빈 목록)
+     */
+    List<AttendanceLogResponse> employee(long employeeId) {
+        int low = 0;
+        int high = employees - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int at = indexOffset + mid * INDEX_BYTES;
+            long id = buffer.getLong(at);
+            if (id < employeeId) {
+                low = mid + 1;
+            } else if (id > employeeId) {
+                high = mid - 1;
+            } else {
+                int first = buffer.getInt(at + 8);
+                int count = buffer.getInt(at + 12);
+                List<AttendanceLogResponse> logs = new ArrayList<>(count);
+                for (int i = first; i < first + count; i++) logs.add(log(i));
+                return logs;
+            }
+        }
+        return List.of();
+    }
+
+    // 사원 ID, 날짜 순 전체 기록 (필요한 만큼만 읽음)
+    Stream<EmployeeAttendanceRow> rows() {
+        return IntStream.range(0, records)
+                .mapToObj(i -> new EmployeeAttendanceRow(buffer.getLong(HEADER_BYTES + i * RECORD_BYTES), log(i)));
+    }
+
+    /**
+     * 사원별 일당/근무분 합계, 기록 일수 (사원 ID 순)
+     */
+    List<EmployeeMonthlySummary> summaries() {
+        List<EmployeeMonthlySummary> summaries = new ArrayList<>(employees);
+        for (int e = 0; e < employees; e++) {
+            int at = indexOffset + e * INDEX_BYTES;
+            int first = buffer.getInt(at + 8);
+            int count = buffer.getInt(at + 12);
+            long wage = 0;
+            long minutes = 0;
+            for (int i = first; i < first + count; i++) {
+                int base = HEADER_BYTES + i * RECORD_BYTES;
+                minutes += Math.max(0, buffer.getShort(base + 10));
+                wage += Math.max(0, buffer.getInt(base + 20));
+            }
+            summaries.add(new EmployeeMonthlySummary(buffer.getLong(at), wage, minutes, (long) count));
+        }
+        return summaries;
+    }
+
+    // 기록 i 의 필드를 객체 생성 없이 읽음 (CSV 내보내기용, NULL 은 -1 / 상태 null)
+    long employeeIdAt(int i) {
+        return buffer.getLong(HEADER_BYTES + i * RECORD_BYTES);
+    }
+
+    int dayAt(int i) {
+        return buffer.get(HEADER_BYTES + i * RECORD_BYTES + 8);
+    }
+
+    String statusAt(int i) {
+        int status = Byte.toUnsignedInt(buffer.get(HEADER_BYTES + i * RECORD_BYTES + 9));
+        return status == NULL_STATUS ? null : statuses[status];
+    }
+
+    int minutesAt(int i) {
+        return buffer.getShort(HEADER_BYTES + i * RECORD_BYTES + 10);
+    }
+
+    int checkInAt(int i) {
+        return buffer.getInt(HEADER_BYTES + i * RECORD_BYTES + 12);
+    }
+
+    int checkOutAt(int i) {
+        return buffer.getInt(HEADER_BYTES + i * RECORD_BYTES + 16);
+    }
+
+    int wageAt(int i) {
+        return buffer.getInt(HEADER_BYTES + i * RECORD_BYTES + 20);
+    }
+
+    private AttendanceLogResponse log(int i) {
+        int base = HEADER_BYTES + i * RECORD_BYTES;
+        int status = Byte.toUnsignedInt(buffer.get(base + 9));
+        short minutes = buffer.getShort(base + 10);
+        int wage = buffer.getInt(base + 20);
+        return new AttendanceLogResponse(month.atDay(buffer.get(base + 8)), time(buffer.getInt(base + 12)),
+                time(buffer.getInt(base + 16)), status == NULL_STATUS ? null : statuses[status],
+                minutes < 0 ? null : (int) minutes, wage < 0 ? null : wage);
+    }
+
+    private long recordsCrc() {
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(HEADER_BYTES, records * RECORD_BYTES));
+        return checksum.getValue();
+    }
+
+    private static LocalTime time(int seconds) {
+        return seconds < 0 ? null : LocalTime.ofSecondOfDay(seconds);
+    }
+
+    /**
+     * 기록 1건을 24바이트로 씀 (보관 파일 작성과 DB 대조에 같이 사용)
+     */
+    static void encode(ByteBuffer out, long employeeId, LocalDate workDate, LocalTime checkIn, LocalTime checkOut,
+                       int statusCode, Integer workingMinutes, Integer dailyWage) {
+        if (workingMinutes != null && (workingMinutes < 0 || workingMinutes > Short.MAX_VALUE)) {
+            throw new RuntimeException("보관할 수 없는 근무분: " + workingMinutes);
+        }
+        if (dailyWage != null && dailyWage < 0) throw new RuntimeException("보관할 수 없는 일당: " + dailyWage);
+        out.putLong(employeeId)
+                .put((byte) workDate.getDayOfMonth())
+                .put((byte) statusCode)
+                .putShort(workingMinutes != null ? workingMinutes.shortValue() : -1)
+                .putInt(checkIn != null ? checkIn.toSecondOfDay() : -1)
+                .putInt(checkOut != null ? checkOut.toSecondOfDay() : -1)
+                .putInt(dailyWage != null ? dailyWage : -1);
+    }
+
+    /**
+     * 보관 파일 작성기: 기록을 사원 ID, 날짜 순으로 받아 버퍼 단위로 바로 씀 (메모리는 버퍼 + 사원 색인만 사용)
+     */
+    static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final YearMonth month;
+        private final ByteBuffer chunk = ByteBuffer.allocateDirect(RECORD_BYTES * 4096);
+        private final CRC32 checksum = new CRC32();
+        private final Map<String, Integer> statusCodes = new LinkedHashMap<>();
+        private final List<long[]> index = new ArrayList<>();
+        private int records;
+        private long lastEmployeeId = Long.MIN_VALUE;
+        private LocalDate lastDate;
+
+        Writer(Path path, YearMonth month) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.month = month;
+            channel.position(HEADER_BYTES);
+        }
+
+        void add(long employeeId, LocalDate workDate, LocalTime checkIn, LocalTime checkOut, String status,
+                 Integer workingMinutes, Integer dailyWage) throws IOException {
+            if (!YearMonth.from(workDate).equals(month)) throw new RuntimeException("보관 대상 월이 아닌 기록: " + workDate);
+            if (employeeId < lastEmployeeId || (employeeId == lastEmployeeId && !workDate.isAfter(lastDate))) {
+                throw new RuntimeException("보관 기록은 사원 ID, 날짜 순이어야 합니다.");
+            }
+            if (employeeId != lastEmployeeId) index.add(new long[]{employeeId, records, 0});
+            index.get(index.size() - 1)[2]++;
+            lastEmployeeId = employeeId;
+            lastDate = workDate;
+
+            int code = NULL_STATUS;
+            if (status != null) {
+                code = statusCodes.computeIfAbsent(status, s -> statusCodes.size());
+                if (code >= NULL_STATUS) throw new RuntimeException("보관 파일 상태 종류 초과 (최대 255)");
+            }
+            if (chunk.remaining() < RECORD_BYTES) flushChunk();
+            encode(chunk, employeeId, workDate, checkIn, checkOut, code, workingMinutes, dailyWage);
+            records++;
+        }
+
+        /**
+         * 색인/상태 표/헤더를 쓰고 디스크에 기록
+         */
+        void finish() throws IOException {
+            flushChunk();
+            long indexOffset = channel.position();
+            for (long[] entry : index) {
+                if (chunk.remaining() < INDEX_BYTES) flushRaw();
+                chunk.putLong(entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+            }
+            flushRaw();
+
+            long statusOffset = channel.position();
+            for (String status : statusCodes.keySet()) {
+                byte[] bytes = status.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 255) throw new RuntimeException("보관할 수 없는 상태 값: " + status);
+                chunk.put((byte) bytes.length).put(bytes);
+            }
+            flushRaw();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putShort(VERSION).putShort((short) month.getYear())
+                    .put((byte) month.getMonthValue()).put((byte) statusCodes.size()).putShort((short) 0)
+                    .putInt(records).putInt(index.size()).putLong(checksum.getValue())
+                    .putLong(indexOffset).putLong(statusOffset).putInt(0)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+
+        int records() {
+            return records;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        // 기록 영역만 CRC 에 포함
+        private void flushChunk() throws IOException {
+            chunk.flip();
+            checksum.update(chunk.duplicate());
+            write();
+        }
+
+        private void flushRaw() throws IOException {
+            chunk.flip();
+            write();
+        }
+
+        private void write() throws IOException {
+            while (chunk.hasRemaining()) channel.write(chunk);
+            chunk.clear();
+        }
+    }
+}
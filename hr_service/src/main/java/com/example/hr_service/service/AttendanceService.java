@@ -1,20 +1,22 @@
 package com.example.hr_service.service;
 
+import com.example.hr_service.dto.EmployeeSnapshot;
+import com.example.hr_service.dto.PunchReceipt;
 import com.example.hr_service.entity.AttendanceLog;
-import com.example.hr_service.entity.Employee;
 import com.example.hr_service.repository.AttendanceLogRepository;
 import com.example.hr_service.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @Slf4j // 이 어노테이션이 있어야 log.info 사용 가능
 @Service
@@ -24,77 +26,132 @@ public class AttendanceService {
     private final AttendanceLogRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final SalaryLedgerService salaryLedgerService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final AttendanceArchiveService archiveService;
+    private final AttendanceMetrics metrics;
+    // PunchIngestionService 가 이 서비스를 주입받으므로 순환 의존을 피해 호출 시점에 조회
+    private final ObjectProvider<PunchIngestionService> punchIngestionService;
 
     @Transactional
-    public AttendanceLog checkIn(Long id) {
-        Employee employee = employeeRepository.findById(id).orElseThrow(() -> new RuntimeException("사원 없음"));
-        if (attendanceRepository.findByEmployeeAndWorkDate(employee, LocalDate.now()).isPresent()) {
+    public PunchReceipt checkIn(Long id) {
+        Timer.Sample sample = metrics.start();
+        String outcome = AttendanceMetrics.ERROR;
+        try {
+            PunchReceipt receipt = doCheckIn(id);
+            outcome = receipt.status();
+            return receipt;
+        } finally {
+            metrics.punch("check_in", "direct", sample, outcome);
+        }
+    }
+
+    private PunchReceipt doCheckIn(Long id) {
+        EmployeeSnapshot employee = employeeRepository.findSnapshotById(id).orElseThrow(() -> new RuntimeException("사원 없음"));
+        if (attendanceRepository.existsByEmployeeIdAndWorkDate(id, LocalDate.now())) {
             throw new RuntimeException("이미 오늘 기록이 존재합니다.");
         }
+        archiveService.guardWrite(LocalDate.now(), LocalDate.now());
 
         LocalTime now = LocalTime.now();
-        String status = now.isAfter(LocalTime.of(9, 0)) ? "지각" : "출근";
+        String status = AttendancePolicy.checkInStatus(now);
 
         AttendanceLog attendance = AttendanceLog.builder()
-                .employee(employee).workDate(LocalDate.now()).checkIn(now).status(status).build();
+                .employee(employeeRepository.getReferenceById(id)).workDate(LocalDate.now()).checkIn(now).status(status).build();
 
-        AttendanceLog saved = attendanceRepository.save(attendance);
+        AttendanceLog saved;
+        try {
+            saved = attendanceRepository.saveAndFlush(attendance);
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 들어온 출근 요청 (사원+날짜 유니크 인덱스)
+            throw new RuntimeException("이미 오늘 기록이 존재합니다.");
+        }
         sendWebSocketUpdate(id, "CHECK_IN", saved.getStatus(), now.toString(), 0, 0);
-        return saved;
+        return new PunchReceipt(employee.name(), saved.getStatus(), now, true);
     }
 
     @Transactional
-    public AttendanceLog checkOut(Long id) {
-        Employee employee = employeeRepository.findById(id).orElseThrow(() -> new RuntimeException("사원 없음"));
-        AttendanceLog attendance = attendanceRepository.findByEmployeeAndWorkDate(employee, LocalDate.now())
+    public PunchReceipt checkOut(Long id) {
+        Timer.Sample sample = metrics.start();
+        String outcome = AttendanceMetrics.ERROR;
+        try {
+            PunchReceipt receipt = doCheckOut(id);
+            outcome = receipt.status();
+            return receipt;
+        } finally {
+            metrics.punch("check_out", "direct", sample, outcome);
+        }
+    }
+
+    private PunchReceipt doCheckOut(Long id) {
+        EmployeeSnapshot employee = employeeRepository.findSnapshotById(id).orElseThrow(() -> new RuntimeException("사원 없음"));
+        AttendanceLog attendance = attendanceRepository.findByEmployeeIdAndWorkDate(id, LocalDate.now())
                 .orElseThrow(() -> new RuntimeException("출근 기록 없음"));
 
         if (attendance.getCheckOut() != null) throw new RuntimeException("이미 퇴근 처리됨");
+        archiveService.guardWrite(attendance.getWorkDate(), attendance.getWorkDate());
 
         LocalTime now = LocalTime.now();
+        Integer oldWage = attendance.getDailyWage();
+        Integer oldMins = attendance.getWorkingMinutes();
         attendance.setCheckOut(now);
 
-        long totalMins = Duration.between(attendance.getCheckIn(), now).toMinutes();
-        long workingMins = Math.max(0, totalMins - 60);
-        int wageToday = (int) Math.floor(workingMins * (employee.getHourlyRate() / 60.0));
+        long workingMins = AttendancePolicy.workingMinutes(attendance.getCheckIn(), now);
+        int wageToday = AttendancePolicy.wage(workingMins, employee.hourlyRate());
 
         attendance.setWorkingMinutes((int) workingMins);
         attendance.setDailyWage(wageToday);
-        
-        if ("지각".equals(attendance.getStatus())) {
-            attendance.setStatus("지각/퇴근");
-        } else if ("출근".equals(attendance.getStatus()) && !now.isBefore(LocalTime.of(18, 0))) {
-            attendance.setStatus("퇴근");
-        }
+        attendance.setStatus(AttendancePolicy.checkOutStatus(attendance.getStatus(), now));
 
         attendanceRepository.save(attendance);
+        salaryLedgerService.applyChange(id, attendance.getWorkDate(), oldWage, wageToday, oldMins, (int) workingMins);
         sendWebSocketUpdate(id, "CHECK_OUT", attendance.getStatus(), now.toString(), wageToday, workingMins);
-        return attendance;
+        return new PunchReceipt(employee.name(), attendance.getStatus(), now, true);
     }
 
     @Transactional
     public void updateAttendanceStatus(Long logId, String newStatus) {
+        Timer.Sample sample = metrics.start();
+        // 관리자가 넘긴 상태 값은 태그로 쓰지 않음 (태그 값 개수 고정)
+        String outcome = AttendanceMetrics.ERROR;
+        try {
+            doUpdateAttendanceStatus(logId, newStatus);
+            outcome = AttendanceMetrics.OK;
+        } catch (RuntimeException e) {
+            // 로그/사원 없음, 보관된 달 등 검사에서 거부한 경우 (DB 오류 등은 error)
+            if (e.getClass() == RuntimeException.class) outcome = AttendanceMetrics.REJECTED;
+            throw e;
+        } finally {
+            metrics.punch("status_update", "direct", sample, outcome);
+        }
+    }
+
+    private void doUpdateAttendanceStatus(Long logId, String newStatus) {
         // 변수명을 log -> attLog로 변경하여 @Slf4j의 log와 충돌 방지
         AttendanceLog attLog = attendanceRepository.findById(logId).orElseThrow(() -> new RuntimeException("로그 없음"));
-        Employee employee = attLog.getEmployee();
+        Long employeeId = attLog.getEmployee().getId();
         String oldStatus = attLog.getStatus();
+        Integer oldWage = attLog.getDailyWage();
+        LocalDate workDate = attLog.getWorkDate();
+        archiveService.guardWrite(workDate, workDate);
+
+        // 사원 행 대신 연차/병가 스냅샷만 잠그고 증감은 원장 이력으로 추가
+        LeaveLedgerService.Account leave = leaveLedgerService.lock(employeeId).get(employeeId);
+        if (leave == null) throw new RuntimeException("사원 없음");
 
         // 1. [복구]
-        if ("연차".equals(oldStatus)) employee.setAnnualLeave(employee.getAnnualLeave() + 1.0);
-        else if ("반차".equals(oldStatus)) employee.setAnnualLeave(employee.getAnnualLeave() + 0.5);
-        else if ("병가".equals(oldStatus)) employee.setSickLeave(employee.getSickLeave() + 1);
+        leave.restore(oldStatus, workDate);
 
-        // 2. [차감]
+        // 2. [차감] 단건 상태 변경은 기존과 같이 연차/반차 잔여를 검사하지 않음
         if ("연차".equals(newStatus)) {
-            employee.setAnnualLeave(employee.getAnnualLeave() - 1.0);
+            leave.add(LeaveLedgerService.ANNUAL, -1.0, "연차", workDate);
             attLog.setDailyWage(0);
             attLog.setStatus("연차");
         } else if ("반차".equals(newStatus)) {
-            employee.setAnnualLeave(employee.getAnnualLeave() - 0.5);
+            leave.add(LeaveLedgerService.ANNUAL, -0.5, "반차", workDate);
             attLog.setStatus("반차");
         } else if ("병가".equals(newStatus)) {
-            if (employee.getSickLeave() > 0) {
-                employee.setSickLeave(employee.getSickLeave() - 1);
+            if (leave.useSick(workDate)) {
                 attLog.setStatus("병가");
             } else {
                 attLog.setStatus("병가(무급)");
@@ -106,32 +163,23 @@ public class AttendanceService {
             attLog.setStatus(newStatus);
         }
 
-        // 3. [강제 반영]
-        employeeRepository.saveAndFlush(employee);
+        // 3. [강제 반영] (오늘 기록이면 커밋 후 write-behind 상태와 중복 출퇴근 기록도 맞춤)
         attendanceRepository.saveAndFlush(attLog);
+        punchIngestionService.getObject().refreshAfterCommit(workDate, workDate);
+        leaveLedgerService.append(List.of(leave), "status-update");
+        salaryLedgerService.applyChange(employeeId, workDate, oldWage, attLog.getDailyWage(), 0, 0);
 
         // 로거 사용 (빨간줄 해결)
-        log.info("사원 {} 상태 변경: {} -> {}, 남은 병가: {}", 
-                employee.getName(), oldStatus, newStatus, employee.getSickLeave());
+        log.info("사원 {} 상태 변경: {} -> {}, 남은 병가: {}",
+                employeeId, oldStatus, newStatus, leave.sickLeave());
 
         // 4. 웹소켓 전송
-        Map<String, Object> data = new HashMap<>();
-        data.put("type", "LEAVE_UPDATE");
-        data.put("status", attLog.getStatus());
-        data.put("remainingLeave", employee.getAnnualLeave());
-        data.put("remainingSickLeave", employee.getSickLeave());
-        messagingTemplate.convertAndSend("/topic/attendance/" + employee.getId(), (Object) data);
+        messagingTemplate.convertAndSend("/topic/attendance/" + employeeId,
+                (Object) AttendanceNotifications.leaveUpdate(attLog.getStatus(), leave.annualLeave(), leave.sickLeave()));
     }
 
-    private void sendWebSocketUpdate(Long id, String type, String status, String time, int wage, long mins) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("type", type);
-        data.put("status", status);
-        data.put("time", time);
-        if ("CHECK_OUT".equals(type)) {
-            data.put("dailyWage", wage);
-            data.put("workingMinutes", mins);
-        }
-        messagingTemplate.convertAndSend("/topic/attendance/" + id, (Object) data);
+    void sendWebSocketUpdate(Long id, String type, String status, String time, int wage, long mins) {
+        messagingTemplate.convertAndSend("/topic/attendance/" + id,
+                (Object) AttendanceNotifications.punch(type, status, time, wage, mins));
     }
 }
\ No newline at end of file
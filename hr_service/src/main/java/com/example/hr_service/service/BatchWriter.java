@@ -0,0 +1,131 @@
+package com.example.hr_service.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * write-behind 공통 writer (출퇴근/채팅 보관)
+ *
+ * 1. offer 는 bounded 큐에 넣기만 함 (대기 없음, 큐가 차면 false)
+ * 2. 전용 스레드가 첫 건을 기다렸다가 batch-size 까지 모아 handler.write 호출
+ * 3. batch 전체가 실패하면 건별로 다시 기록해서 문제 건만 onFailure 로 넘김
+ * 4. stop 은 남은 큐를 비울 때까지 기록한 뒤 종료
+ */
+@Slf4j
+public final class BatchWriter<T> {
+
+    /**
+     * batch 기록 방법과 건별 결과 처리
+     */
+    public interface Handler<T> {
+        // 전부 기록하거나 예외 (일부만 반영된 채로 끝나지 않게 트랜잭션 등은 구현 쪽에서)
+        void write(List<T> batch);
+
+        default void onSuccess(T item) {
+        }
+
+        void onFailure(T item, RuntimeException e);
+    }
+
+    private final String label;
+    private final int batchSize;
+    private final Handler<T> handler;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final BlockingQueue<T> queue;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param batchSizeSummary batch 크기 기록용 (없으면 null)
+     */
+    public BatchWriter(String threadName, String label, int queueCapacity, int batchSize, Handler<T> handler,
+                       Timer flushTimer, DistributionSummary batchSizeSummary) {
+        this.label = label;
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.flushTimer = flushTimer;
+        this.batchSizeSummary = batchSizeSummary;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean offer(T item) {
+        pending.incrementAndGet();
+        if (queue.offer(item)) return true;
+        pending.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * 아직 기록이 끝나지 않은 건수 (큐 대기 + 기록 중인 batch)
+     */
+    public int size() {
+        return pending.get();
+    }
+
+    public void stop(long timeout, TimeUnit unit) throws InterruptedException {
+        running = false; // 남은 큐는 비울 때까지 기록
+        thread.join(unit.toMillis(timeout));
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("{} 기록 중 오류", label, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<T> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            try {
+                handler.write(batch);
+            } catch (RuntimeException e) {
+                // 한 건 때문에 batch 전체가 실패한 경우 -> 건별로 다시 기록해서 문제 건만 실패 처리
+                log.warn("{} batch 기록 실패, 건별 재시도 ({}건): {}", label, batch.size(), e.getMessage());
+                batch.forEach(this::writeOne);
+                return;
+            }
+            batch.forEach(handler::onSuccess);
+        } finally {
+            sample.stop(flushTimer);
+            if (batchSizeSummary != null) batchSizeSummary.record(batch.size());
+            pending.addAndGet(-batch.size());
+        }
+    }
+
+    private void writeOne(T item) {
+        try {
+            handler.write(List.of(item));
+        } catch (RuntimeException e) {
+            handler.onFailure(item, e);
+            return;
+        }
+        handler.onSuccess(item);
+    }
+}
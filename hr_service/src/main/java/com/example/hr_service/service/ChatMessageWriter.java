@@ -0,0 +1,142 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.ChatMessage;
+import com.example.hr_service.dto.ChatMessageResponse;
+import com.example.hr_service.repository.ChatMessageLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 write-behind 보관
+ *
+ * 1. STOMP 처리 스레드는 bounded 큐에 넣기만 함 (큐가 차면 보관만 건너뛰고 전송은 그대로 -> 방송을 막지 않음)
+ * 2. chat-writer 스레드(BatchWriter)가 batch-size 단위로 모아 JDBC batch INSERT, 실패하면 건별 재시도
+ * 3. 과거 메시지는 (room_id, id) 기준 keyset 페이지로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_message (room_id, sender, content, type, sent_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_SENDER_LENGTH = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMessageLogRepository chatMessageLogRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${attendance.chat.persist.enabled:true}")
+    private boolean enabled;
+
+    @Value("${attendance.chat.persist.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${attendance.chat.persist.batch-size:200}")
+    private int batchSize;
+
+    @Value("${attendance.chat.persist.max-page-size:100}")
+    private int maxPageSize;
+
+    private BatchWriter<PendingMessage> writer;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+
+        Timer flushTimer = Timer.builder("chat.persist.flush")
+                .description("채팅 메시지 batch INSERT 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("chat.persist.dropped")
+                .description("큐 포화/저장 실패로 보관하지 못한 채팅 메시지 수")
+                .register(meterRegistry);
+        writer = new BatchWriter<>("chat-writer", "채팅 메시지", queueCapacity, batchSize, new BatchWriter.Handler<>() {
+            @Override
+            public void write(List<PendingMessage> batch) {
+                ChatMessageWriter.this.write(batch);
+            }
+
+            @Override
+            public void onFailure(PendingMessage message, RuntimeException e) {
+                droppedCounter.increment();
+                log.error("채팅 메시지 저장 실패 - 방: {}, 사유: {}", message.roomId(), e.getMessage());
+            }
+        }, flushTimer, null);
+        Gauge.builder("chat.persist.queue.depth", writer, BatchWriter::size)
+                .description("DB 보관 대기 중인 채팅 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer != null) writer.stop(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 보관 요청 (대기 없음, 큐가 차면 false)
+     */
+    public boolean enqueue(String roomId, ChatMessage message) {
+        if (!enabled) return false;
+        if (writer.offer(new PendingMessage(roomId, message.getSender(), message.getContent(), message.getType(),
+                message.getSentAt() != null ? message.getSentAt() : LocalDateTime.now()))) {
+            return true;
+        }
+        droppedCounter.increment();
+        log.warn("채팅 보관 큐 포화 - 방: {}, 메시지 보관 건너뜀", roomId);
+        return false;
+    }
+
+    /**
+     * 방별 과거 메시지 (beforeId 가 없으면 최신부터, 페이지 안은 오래된 순)
+     * - nextCursor: 다음(더 이전) 페이지 조회용 beforeId, 더 없으면 null
+     */
+    public Map<String, Object> history(String roomId, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        Limit limit = Limit.of(pageSize + 1);
+        List<ChatMessageResponse> page = new ArrayList<>((beforeId != null
+                ? chatMessageLogRepository.findByRoomIdAndIdLessThanOrderByIdDesc(roomId, beforeId, limit)
+                : chatMessageLogRepository.findByRoomIdOrderByIdDesc(roomId, limit))
+                .stream().map(ChatMessageResponse::new).toList());
+
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) page.remove(pageSize);
+        Collections.reverse(page);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("roomId", roomId);
+        result.put("messages", page);
+        result.put("nextCursor", hasMore ? page.get(0).id() : null);
+        return result;
+    }
+
+    private void write(List<PendingMessage> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, m) -> {
+            ps.setString(1, m.roomId());
+            ps.setString(2, m.sender() != null && m.sender().length() > MAX_SENDER_LENGTH
+                    ? m.sender().substring(0, MAX_SENDER_LENGTH) : m.sender());
+            ps.setString(3, m.content());
+            ps.setString(4, m.type() != null ? m.type().name() : null);
+            ps.setObject(5, m.sentAt());
+        });
+    }
+
+    private record PendingMessage(String roomId, String sender, String content, ChatMessage.MessageType type,
+                                  LocalDateTime sentAt) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.ChatMessage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅방별 최근 메시지 보관 (고정 크기 ring buffer)
+ *
+ * 1. 방마다 historySize x slotBytes 바이트 배열 1개를 처음에 잡고 슬롯을 돌려 씀 -> 트래픽과 상관없이 방당 메모리 고정
+ * 2. 슬롯 형식: [sentAt 8][type 1][sender 길이 1][content 길이 2][sender UTF-8][content UTF-8]
+ *    슬롯보다 긴 메시지는 보관본만 잘라 저장 (방송되는 메시지는 그대로)
+ * 3. 방은 max-rooms 개까지만 보관, 넘으면 오래 안 쓰인 방부터 제거
+ * 4. content 길이 0xFFFF 는 null 표시라 slot-bytes 는 65535 이하만 허용 (실제 content 길이는 항상 0xFFFF 미만)
+ */
+@Component
+public class ChatRoomHistory {
+
+    private static final Pattern ROOM_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final int HEADER_BYTES = 12;
+    private static final long NULL_SENT_AT = Long.MIN_VALUE;
+    private static final int NULL_SENDER = 0xFF;
+    private static final int NULL_CONTENT = 0xFFFF;
+    private static final int NULL_TYPE = 0xFF;
+    private static final int MAX_SLOT_BYTES = 0xFFFF;
+    private static final ChatMessage.MessageType[] TYPES = ChatMessage.MessageType.values();
+
+    private final int historySize;
+    private final int slotBytes;
+    private final Cache<String, Room> rooms;
+
+    public ChatRoomHistory(@Value("${attendance.chat.history-size:50}") int historySize,
+                           @Value("${attendance.chat.slot-bytes:512}") int slotBytes,
+                           @Value("${attendance.chat.max-rooms:1000}") long maxRooms) {
+        if (slotBytes > MAX_SLOT_BYTES) {
+            throw new IllegalArgumentException("attendance.chat.slot-bytes 는 " + MAX_SLOT_BYTES + " 이하여야 합니다: " + slotBytes);
+        }
+        this.historySize = historySize;
+        this.slotBytes = Math.max(HEADER_BYTES + 16, slotBytes);
+        this.rooms = Caffeine.newBuilder().maximumSize(maxRooms).build();
+    }
+
+    // 방 ID: 영문/숫자/_/- 64자 이내 (chat_message.room_id 길이와 같음)
+    public static void validateRoomId(String roomId) {
+        if (roomId == null || !ROOM_ID.matcher(roomId).matches()) throw new RuntimeException("잘못된 채팅방 ID: " + roomId);
+    }
+
+    public void append(String roomId, ChatMessage message) {
+        if (historySize <= 0) return;
+        rooms.get(roomId, id -> new Room(historySize, slotBytes)).append(message);
+    }
+
+    /**
+     * 오래된 순서로 최근 메시지 (최대 historySize 건)
+     */
+    public List<ChatMessage> recent(String roomId) {
+        Room room = rooms.getIfPresent(roomId);
+        return room != null ? room.recent() : List.of();
+    }
+
+    private static final class Room {
+        final byte[] arena;
+        final int slots;
+        final int slotBytes;
+        long written;
+
+        Room(int slots, int slotBytes) {
+            this.arena = new byte[slots * slotBytes];
+            this.slots = slots;
+            this.slotBytes = slotBytes;
+        }
+
+        synchronized void append(ChatMessage message) {
+            int base = (int) (written++ % slots) * slotBytes;
+            byte[] sender = message.getSender() != null ? message.getSender().getBytes(StandardCharsets.UTF_8) : null;
+            byte[] content = message.getContent() != null ? message.getContent().getBytes(StandardCharsets.UTF_8) : null;
+
+            int senderLength = sender != null ? fit(sender, Math.min(NULL_SENDER - 1, (slotBytes - HEADER_BYTES) / 4)) : 0;
+            int contentLength = content != null ? fit(content, slotBytes - HEADER_BYTES - senderLength) : 0;
+
+            long sentAt = message.getSentAt() != null ? message.getSentAt().toInstant(ZoneOffset.UTC).toEpochMilli() : NULL_SENT_AT;
+            for (int i = 0; i < 8; i++) arena[base + i] = (byte) (sentAt >>> (56 - 8 * i));
+            arena[base + 8] = (byte) (message.getType() != null ? message.getType().ordinal() : NULL_TYPE);
+            arena[base + 9] = (byte) (sender != null ? senderLength : NULL_SENDER);
+            int storedContent = content != null ? contentLength : NULL_CONTENT;
+            arena[base + 10] = (byte) (storedContent >>> 8);
+            arena[base + 11] = (byte) storedContent;
+            if (sender != null) System.arraycopy(sender, 0, arena, base + HEADER_BYTES, senderLength);
+            if (content != null) System.arraycopy(content, 0, arena, base + HEADER_BYTES + senderLength, contentLength);
+        }
+
+        synchronized List<ChatMessage> recent() {
+            int count = (int) Math.min(written, slots);
+            List<ChatMessage> messages = new ArrayList<>(count);
+            for (long i = written - count; i < written; i++) {
+                messages.add(read((int) (i % slots) * slotBytes));
+            }
+            return messages;
+        }
+
+        private ChatMessage read(int base) {
+            long sentAt = 0;
+            for (int i = 0; i < 8; i++) sentAt = (sentAt << 8) | (arena[base + i] & 0xFF);
+            int type = arena[base + 8] & 0xFF;
+            int senderLength = arena[base + 9] & 0xFF;
+            int contentLength = ((arena[base + 10] & 0xFF) << 8) | (arena[base + 11] & 0xFF);
+
+            int offset = base + HEADER_BYTES;
+            String sender = null;
+            if (senderLength != NULL_SENDER) {
+                sender = new String(arena, offset, senderLength, StandardCharsets.UTF_8);
+                offset += senderLength;
+            }
+            String content = contentLength != NULL_CONTENT
+                    ? new String(arena, offset, contentLength, StandardCharsets.UTF_8) : null;
+            return new ChatMessage(sender, content, type != NULL_TYPE ? TYPES[type] : null, sentAt != NULL_SENT_AT
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(sentAt), ZoneOffset.UTC) : null);
+        }
+
+        // max 바이트 안에서 UTF-8 글자가 깨지지 않는 길이
+        private static int fit(byte[] bytes, int max) {
+            if (bytes.length <= max) return bytes.length;
+            int length = Math.max(0, max);
+            while (length > 0 && (bytes[length] & 0xC0) == 0x80) length--;
+            return length;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.config.CacheConfig;
+import com.example.hr_service.entity.LeaveLedgerEntry;
+import com.example.hr_service.repository.LeaveLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 연차/병가 원장 (leave_ledger 이력 추가 + leave_snapshot 주기 압축)
+ *
+ * 1. 변경 경로는 lock 으로 대상 사원의 스냅샷 행만 잠그고 (사원 행은 잠그지 않음) 잔여 = 스냅샷 + 이후 이력으로 계산
+ * 2. 차감/복구는 Account 에 기록해 두었다가 append 로 이력만 batch INSERT (잔여 값을 덮어쓰지 않아 갱신 손실 없음)
+ * 3. compact 가 이력을 스냅샷에 합치고 employee.annual_leave/sick_leave 를 같은 값으로 맞춤 (바뀐 사원은 사원 캐시 무효화)
+ *    - 그 사이 사원 테이블 값이 밖에서(인사 관리 화면 등) 바뀌었으면 차이를 "외부 조정" 이력으로 남기고 반영
+ *
+ * 스냅샷이 없는 사원은 사원 테이블 값이 시작 잔여 (첫 변경 때 스냅샷 생성)
+ * 잔여가 NULL 이면 기존 조건부 UPDATE 와 같이 차감 불가, 복구해도 NULL 유지 (이력은 남김)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaveLedgerService {
+
+    public static final String ANNUAL = "ANNUAL";
+    public static final String SICK = "SICK";
+
+    private static final String ADJUSTMENT = "외부 조정";
+    private static final int ENSURE_ATTEMPTS = 3;
+
+    private static final String ENSURE_SQL = "INSERT INTO leave_snapshot (employee_id, annual_leave, sick_leave, last_entry_id, updated_at) "
+            + "SELECT e.id, e.annual_leave, e.sick_leave, (SELECT COALESCE(MAX(l.id), 0) FROM leave_ledger l), CURRENT_TIMESTAMP "
+            + "FROM employee e WHERE NOT EXISTS (SELECT 1 FROM leave_snapshot s WHERE s.employee_id = e.id)";
+
+    private static final String APPEND_SQL = "INSERT INTO leave_ledger "
+            + "(employee_id, leave_type, amount, reason, source, work_date, created_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String BALANCE_SQL = "SELECT "
+            + "CASE WHEN s.employee_id IS NULL THEN e.annual_leave ELSE s.annual_leave END, "
+            + "CASE WHEN s.employee_id IS NULL THEN e.sick_leave ELSE s.sick_leave END, "
+            + "COALESCE(s.last_entry_id, 0) FROM employee e LEFT JOIN leave_snapshot s ON s.employee_id = e.id WHERE e.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaveLedgerRepository ledgerRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${attendance.leave.compaction.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${attendance.leave.history.max-page-size:100}")
+    private int maxPageSize;
+
+    public record Balance(Double annualLeave, Integer sickLeave) {
+    }
+
+    /**
+     * 트랜잭션 안에서 대상 사원(null 이면 전 사원)의 스냅샷 행을 id 순서로 잠그고 현재 잔여를 계산
+     * 같은 사원을 바꾸는 다른 요청은 커밋까지 대기, 다른 사원끼리는 서로 막지 않음
+     */
+    public Map<Long, Account> lock(Long employeeId) {
+        Map<Long, Account> accounts;
+        if (employeeId != null) {
+            accounts = lockSnapshots(employeeId);
+            if (accounts.isEmpty()) {
+                ensureSnapshots(employeeId);
+                accounts = lockSnapshots(employeeId);
+            }
+        } else {
+            ensureSnapshots(null);
+            accounts = lockSnapshots(null);
+        }
+        if (!accounts.isEmpty()) applyTail(accounts, employeeId);
+        return accounts;
+    }
+
+    /**
+     * Account 에 쌓인 증감을 이력으로 추가 (lock 과 같은 트랜잭션)
+     * source: admin-batch / status-update
+     */
+    public void append(Collection<Account> accounts, String source) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Account account : accounts) {
+            for (Movement m : account.movements) {
+                rows.add(new Object[]{account.employeeId, m.type(), m.amount(), m.reason(), source, m.workDate()});
+            }
+            account.movements.clear();
+        }
+        if (!rows.isEmpty()) jdbcTemplate.batchUpdate(APPEND_SQL, rows);
+    }
+
+    /**
+     * 현재 잔여 조회 (잠금 없음, 스냅샷 1행 + 스냅샷 이후 이력)
+     */
+    public Balance balance(Long employeeId) {
+        List<Object[]> base = jdbcTemplate.query(BALANCE_SQL, (rs, n) -> new Object[]{
+                rs.getObject(1, Double.class), rs.getObject(2, Integer.class), rs.getLong(3)}, employeeId);
+        if (base.isEmpty()) throw new RuntimeException("사원 없음");
+
+        Account account = new Account(employeeId, (Double) base.get(0)[0], (Integer) base.get(0)[1], (Long) base.get(0)[2]);
+        jdbcTemplate.query("SELECT leave_type, amount FROM leave_ledger WHERE employee_id = ? AND id > ?",
+                (RowCallbackHandler) rs -> account.fold(rs.getString(1), rs.getDouble(2)), employeeId, account.lastEntryId);
+        return new Balance(account.annualLeave, account.sickLeave);
+    }
+
+    /**
+     * 사원별 이력 (최신 -> 과거 방향 페이지, nextCursor 를 beforeId 로 넘겨 이전 페이지 조회)
+     */
+    public Map<String, Object> history(Long employeeId, Long beforeId, int size) {
+        Balance balance = balance(employeeId);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        Limit limit = Limit.of(pageSize + 1);
+        List<LeaveLedgerEntry> page = new ArrayList<>(beforeId != null
+                ? ledgerRepository.findByEmployeeIdAndIdLessThanOrderByIdDesc(employeeId, beforeId, limit)
+                : ledgerRepository.findByEmployeeIdOrderByIdDesc(employeeId, limit));
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) page = page.subList(0, pageSize);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("employeeId", employeeId);
+        result.put("annualLeave", balance.annualLeave());
+        result.put("sickLeave", balance.sickLeave());
+        result.put("entries", page);
+        result.put("nextCursor", hasMore ? page.get(page.size() - 1).getId() : null);
+        return result;
+    }
+
+    /**
+     * 스냅샷 압축 (사원 id 구간(chunkSize)별 트랜잭션)
+     * 1. 구간의 스냅샷/사원 행을 잠그고 사원 테이블 값이 스냅샷과 다르면 외부 조정 이력 추가
+     * 2. 스냅샷 이후 이력을 합쳐 스냅샷을 갱신하고, last_entry_id 를 현재 마지막 이력 id 로 올림
+     * 3. 사원 테이블 잔여 값을 스냅샷과 같게 맞춤
+     * 결과: 합친 이력 수(folded), 외부 조정 수(adjusted), 사원 테이블 갱신 수(synced)
+     */
+    public Map<String, Integer> compact() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("folded", 0);
+        counts.put("adjusted", 0);
+        counts.put("synced", 0);
+
+        long after = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT employee_id FROM leave_snapshot WHERE employee_id > ? "
+                    + "ORDER BY employee_id LIMIT ?", Long.class, after, chunkSize);
+            if (ids.isEmpty()) break;
+            long from = ids.get(0);
+            long to = ids.get(ids.size() - 1);
+            transactionTemplate.executeWithoutResult(tx -> compactChunk(from, to, counts));
+            after = to;
+        }
+        log.info("연차/병가 스냅샷 압축 - {}", counts);
+        return counts;
+    }
+
+    private void compactChunk(long from, long to, Map<String, Integer> counts) {
+        Map<Long, Account> accounts = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT employee_id, annual_leave, sick_leave, last_entry_id FROM leave_snapshot "
+                + "WHERE employee_id BETWEEN ? AND ? ORDER BY employee_id FOR UPDATE", (RowCallbackHandler) rs -> {
+            Account account = new Account(rs.getLong(1), rs.getObject(2, Double.class), rs.getObject(3, Integer.class), rs.getLong(4));
+            accounts.put(account.employeeId, account);
+        }, from, to);
+
+        // 스냅샷 값 = 마지막으로 사원 테이블에 맞춘 값 -> 다르면 밖에서 바뀐 것
+        Map<Long, Balance> employees = new HashMap<>();
+        jdbcTemplate.query("SELECT id, annual_leave, sick_leave FROM employee WHERE id BETWEEN ? AND ? ORDER BY id FOR UPDATE",
+                (RowCallbackHandler) rs -> employees.put(rs.getLong(1),
+                        new Balance(rs.getObject(2, Double.class), rs.getObject(3, Integer.class))), from, to);
+
+        List<Object[]> adjustments = new ArrayList<>();
+        Map<Long, Balance> synced = new HashMap<>();
+        for (Account account : accounts.values()) {
+            Balance current = employees.get(account.employeeId);
+            if (current == null) continue; // 삭제된 사원
+            synced.put(account.employeeId, current);
+            if (current.annualLeave() != null && !current.annualLeave().equals(account.annualLeave)) {
+                double base = account.annualLeave != null ? account.annualLeave : 0;
+                adjustments.add(new Object[]{account.employeeId, ANNUAL, current.annualLeave() - base, ADJUSTMENT, "adjustment", null});
+                account.annualLeave = current.annualLeave();
+            }
+            if (current.sickLeave() != null && !current.sickLeave().equals(account.sickLeave)) {
+                int base = account.sickLeave != null ? account.sickLeave : 0;
+                adjustments.add(new Object[]{account.employeeId, SICK, (double) (current.sickLeave() - base), ADJUSTMENT, "adjustment", null});
+                account.sickLeave = current.sickLeave();
+            }
+        }
+
+        counts.merge("folded", applyTail(accounts, from, to), Integer::sum);
+        if (!adjustments.isEmpty()) jdbcTemplate.batchUpdate(APPEND_SQL, adjustments);
+        counts.merge("adjusted", adjustments.size(), Integer::sum);
+
+        // 잠근 사원의 이력은 모두 합쳤으므로 현재 마지막 id 까지를 스냅샷으로 봄 (이후 이력은 더 큰 id)
+        long lastEntryId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM leave_ledger", Long.class);
+        List<Object[]> snapshots = new ArrayList<>();
+        List<Object[]> employeeUpdates = new ArrayList<>();
+        for (Account account : accounts.values()) {
+            snapshots.add(new Object[]{account.annualLeave, account.sickLeave, lastEntryId, account.employeeId});
+            Balance current = synced.get(account.employeeId);
+            if (current != null && (!Objects.equals(current.annualLeave(), account.annualLeave)
+                    || !Objects.equals(current.sickLeave(), account.sickLeave))) {
+                employeeUpdates.add(new Object[]{account.annualLeave, account.sickLeave, account.employeeId});
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE leave_snapshot SET annual_leave = ?, sick_leave = ?, last_entry_id = ?, "
+                + "updated_at = CURRENT_TIMESTAMP WHERE employee_id = ?", snapshots);
+        if (!employeeUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE employee SET annual_leave = ?, sick_leave = ? WHERE id = ?", employeeUpdates);
+        }
+        counts.merge("synced", employeeUpdates.size(), Integer::sum);
+
+        // 밖에서 바뀐 사원(외부 조정)과 잔여를 맞춘 사원은 사원 캐시 무효화 (커밋 후 반영)
+        Set<Long> changed = new HashSet<>();
+        adjustments.forEach(row -> changed.add((Long) row[0]));
+        employeeUpdates.forEach(row -> changed.add((Long) row[2]));
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache != null) changed.forEach(cache::evict);
+    }
+
+    // 없는 스냅샷만 생성
+    // 다른 요청이 일부 사원 스냅샷을 먼저 만들면 중복 키로 문장 전체가 실패 -> 다시 실행 (NOT EXISTS 가 이미 생긴 행을 제외)
+    private void ensureSnapshots(Long employeeId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.update(employeeId != null ? ENSURE_SQL + " AND e.id = ?" : ENSURE_SQL,
+                        employeeId != null ? new Object[]{employeeId} : new Object[0]);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= ENSURE_ATTEMPTS) throw new RuntimeException("연차/병가 스냅샷 생성 실패 (동시 생성 충돌 반복)", e);
+                log.debug("연차/병가 스냅샷 동시 생성, 다시 시도 - {}", employeeId);
+            }
+        }
+    }
+
+    private Map<Long, Account> lockSnapshots(Long employeeId) {
+        String sql = "SELECT employee_id, annual_leave, sick_leave, last_entry_id FROM leave_snapshot"
+                + (employeeId != null ? " WHERE employee_id = ?" : "") + " ORDER BY employee_id FOR UPDATE";
+        Map<Long, Account> accounts = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            Account account = new Account(rs.getLong(1), rs.getObject(2, Double.class), rs.getObject(3, Integer.class), rs.getLong(4));
+            accounts.put(account.employeeId, account);
+        }, employeeId != null ? new Object[]{employeeId} : new Object[0]);
+        return accounts;
+    }
+
+    // 스냅샷 이후 이력 반영 (잠금 조회라 앞서 읽은 트랜잭션 시점과 무관하게 최신 커밋까지 읽음)
+    private void applyTail(Map<Long, Account> accounts, Long employeeId) {
+        long since = accounts.values().stream().mapToLong(a -> a.lastEntryId).min().orElse(0);
+        String sql = "SELECT employee_id, leave_type, amount, id FROM leave_ledger WHERE id > ?"
+                + (employeeId != null ? " AND employee_id = ?" : "") + " ORDER BY id FOR UPDATE";
+        foldRows(accounts, sql, employeeId != null ? new Object[]{since, employeeId} : new Object[]{since});
+    }
+
+    private int applyTail(Map<Long, Account> accounts, long from, long to) {
+        long since = accounts.values().stream().mapToLong(a -> a.lastEntryId).min().orElse(0);
+        return foldRows(accounts, "SELECT employee_id, leave_type, amount, id FROM leave_ledger "
+                + "WHERE employee_id BETWEEN ? AND ? AND id > ? ORDER BY id FOR UPDATE", new Object[]{from, to, since});
+    }
+
+    private int foldRows(Map<Long, Account> accounts, String sql, Object[] args) {
+        int[] folded = {0};
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            Account account = accounts.get(rs.getLong(1));
+            if (account == null || rs.getLong(4) <= account.lastEntryId) return;
+            account.fold(rs.getString(2), rs.getDouble(3));
+            folded[0]++;
+        }, args);
+        return folded[0];
+    }
+
+    private record Movement(String type, double amount, String reason, LocalDate workDate) {
+    }
+
+    /**
+     * 사원 1명의 잠금 중 잔여와 이번 트랜잭션의 증감 (NULL 잔여는 차감 불가)
+     */
+    public static final class Account {
+        private final long employeeId;
+        private final long lastEntryId;
+        private final List<Movement> movements = new ArrayList<>();
+        private Double annualLeave;
+        private Integer sickLeave;
+
+        Account(long employeeId, Double annualLeave, Integer sickLeave, long lastEntryId) {
+            this.employeeId = employeeId;
+            this.annualLeave = annualLeave;
+            this.sickLeave = sickLeave;
+            this.lastEntryId = lastEntryId;
+        }
+
+        public Double annualLeave() {
+            return annualLeave;
+        }
+
+        public Integer sickLeave() {
+            return sickLeave;
+        }
+
+        // 잔여가 충분할 때만 차감 (연차 1.0, 반차 0.5)
+        public boolean useAnnual(double amount, String reason, LocalDate workDate) {
+            if (annualLeave == null || annualLeave < amount) return false;
+            add(ANNUAL, -amount, reason, workDate);
+            return true;
+        }
+
+        public boolean useSick(LocalDate workDate) {
+            if (sickLeave == null || sickLeave <= 0) return false;
+            add(SICK, -1, "병가", workDate);
+            return true;
+        }
+
+        // 기존 상태가 차감했던 만큼 복구
+        public void restore(String status, LocalDate workDate) {
+            if ("연차".equals(status)) add(ANNUAL, 1.0, status, workDate);
+            else if ("반차".equals(status)) add(ANNUAL, 0.5, status, workDate);
+            else if ("병가".equals(status)) add(SICK, 1, status, workDate);
+        }
+
+        // 잔여와 관계없이 증감 기록
+        public void add(String type, double amount, String reason, LocalDate workDate) {
+            fold(type, amount);
+            movements.add(new Movement(type, amount, reason, workDate));
+        }
+
+        private void fold(String type, double amount) {
+            if (ANNUAL.equals(type)) {
+                if (annualLeave != null) annualLeave += amount;
+            } else if (sickLeave != null) {
+                sickLeave += (int) amount;
+            }
+        }
+    }
+}
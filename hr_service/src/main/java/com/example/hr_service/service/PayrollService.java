@@ -0,0 +1,242 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.entity.PayrollClose;
+import com.example.hr_service.entity.PayrollSnapshot;
+import com.example.hr_service.repository.PayrollCloseRepository;
+import com.example.hr_service.repository.PayrollSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 월 급여 마감 (사원 x 연 x 월 payroll_snapshot 을 한 번만 만들고 이후 급여 요약은 스냅샷에서 조회)
+ *
+ * 1. 사원을 id 구간(partition-size)으로 나눠 parallelism 개 스레드에서 구간별 별도 트랜잭션으로 집계
+ * 2. 구간마다 아직 스냅샷이 없는 사원만 읽어 INSERT ... ON DUPLICATE KEY UPDATE (기존 행은 절대 바꾸지 않음)
+ * 3. 모든 구간이 끝나면 payroll_close 표시 행 생성 -> 이때부터 마감된 달
+ *
+ * 이미 마감된 달을 다시 마감하면 아무것도 쓰지 않고 기존 결과를 돌려줌
+ * 중간에 실패해도 다시 실행하면 남은 사원만 채우므로 같은 결과 (마감 후 근태를 고쳐도 스냅샷은 그대로)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollService {
+
+    private static final String SNAPSHOT_INSERT_SQL = "INSERT INTO payroll_snapshot (employee_id, pay_year, pay_month, "
+            + "department, hourly_rate, monthly_salary, work_days, total_minutes, paid_leave_days, unpaid_days, late_count, "
+            + "gross_wage, closed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE employee_id = employee_id";
+
+    private static final String CLOSE_INSERT_SQL = "INSERT INTO payroll_close (pay_year, pay_month, employees, gross_total, "
+            + "elapsed_ms, closed_at) VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE pay_year = pay_year";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollSnapshotRepository snapshotRepository;
+    private final PayrollCloseRepository closeRepository;
+    private final SalaryLedgerService salaryLedgerService;
+
+    // 마감이 확인된 달 (마감은 되돌리지 않으므로 확인된 달만 보관)
+    private final Set<YearMonth> closedMonths = ConcurrentHashMap.newKeySet();
+
+    // 동시에 집계할 구간 수 (0 이면 CPU 수와 DB 커넥션 풀 - 예비 커넥션 중 작은 값)
+    @Value("${attendance.payroll.close.parallelism:0}")
+    private int parallelism;
+
+    // 마감 중에도 요청/스케줄러가 쓸 수 있게 남겨 둘 커넥션 수
+    @Value("${attendance.payroll.close.reserved-connections:2}")
+    private int reservedConnections;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maxPoolSize;
+
+    @Value("${attendance.payroll.close.partition-size:250}")
+    private int partitionSize;
+
+    /**
+     * 해당 월 급여 마감 (끝나지 않은 달은 거부)
+     */
+    public Map<String, Object> close(int year, int month) {
+        YearMonth target = YearMonth.of(year, month);
+        if (!target.isBefore(YearMonth.now())) throw new RuntimeException("아직 끝나지 않은 달은 마감할 수 없습니다.");
+
+        Optional<PayrollClose> existing = closeRepository.findByYearAndMonth(year, month);
+        if (existing.isPresent()) {
+            closedMonths.add(target);
+            return result(existing.get(), false);
+        }
+
+        long start = System.currentTimeMillis();
+        List<long[]> partitions = partitions();
+        int threads = Math.max(1, Math.min(threads(), partitions.size()));
+        int written = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads, namedThreads());
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (long[] range : partitions) {
+                futures.add(pool.submit(() -> transactionTemplate.execute(tx -> closePartition(target, range[0], range[1]))));
+            }
+            for (Future<Integer> future : futures) written += future.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("급여 마감 실패 (" + target + "): " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("급여 마감이 중단되었습니다.");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 표시 행은 모든 구간이 끝난 뒤 스냅샷 전체 합계로 생성 (동시 마감이 겹쳐도 먼저 쓴 행 유지)
+        Map<String, Object> totals = jdbcTemplate.queryForMap("SELECT COUNT(*) AS employees, COALESCE(SUM(gross_wage), 0) AS gross "
+                + "FROM payroll_snapshot WHERE pay_year = ? AND pay_month = ?", year, month);
+        long elapsed = System.currentTimeMillis() - start;
+        jdbcTemplate.update(CLOSE_INSERT_SQL, year, month, ((Number) totals.get("employees")).intValue(),
+                ((Number) totals.get("gross")).longValue(), elapsed, Timestamp.valueOf(LocalDateTime.now()));
+        closedMonths.add(target);
+
+        PayrollClose close = closeRepository.findByYearAndMonth(year, month).orElseThrow();
+        log.info("급여 마감 - {}, 사원: {}명 (이번 실행 {}명), 구간: {}개, 스레드: {}, {}ms",
+                target, close.getEmployees(), written, partitions.size(), threads, elapsed);
+        return result(close, true);
+    }
+
+    public boolean isClosed(int year, int month) {
+        YearMonth target = YearMonth.of(year, month);
+        if (closedMonths.contains(target)) return true;
+        if (closeRepository.findByYearAndMonth(year, month).isEmpty()) return false;
+        closedMonths.add(target);
+        return true;
+    }
+
+    /**
+     * 사원별 월 급여 ({사원ID: 급여}) - 마감된 달은 스냅샷, 아니면 급여 원장
+     */
+    public Map<Long, Long> monthlyWages(int year, int month) {
+        if (!isClosed(year, month)) return salaryLedgerService.monthlyWages(year, month);
+        Map<Long, Long> wages = new HashMap<>();
+        snapshotRepository.findByYearAndMonthOrderByEmployeeId(year, month)
+                .forEach(s -> wages.put(s.getEmployeeId(), s.getGrossWage()));
+        return wages;
+    }
+
+    public long monthlyWage(Long employeeId, int year, int month) {
+        if (!isClosed(year, month)) return salaryLedgerService.monthlyWage(employeeId, year, month);
+        return snapshotRepository.findByEmployeeIdAndYearAndMonth(employeeId, year, month)
+                .map(PayrollSnapshot::getGrossWage).orElse(0L);
+    }
+
+    // 마감된 달의 스냅샷 목록 (department 가 null 이면 전체)
+    public List<PayrollSnapshot> snapshots(int year, int month, String department) {
+        return department == null
+                ? snapshotRepository.findByYearAndMonthOrderByEmployeeId(year, month)
+                : snapshotRepository.findByYearAndMonthAndDepartmentOrderByEmployeeId(year, month, department);
+    }
+
+    // 사원 id 를 partitionSize 명씩 [시작 id, 끝 id] 구간으로 나눔
+    private List<long[]> partitions() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM employee ORDER BY id", Long.class);
+        List<long[]> partitions = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += partitionSize) {
+            partitions.add(new long[]{ids.get(i), ids.get(Math.min(i + partitionSize, ids.size()) - 1)});
+        }
+        return partitions;
+    }
+
+    /**
+     * 한 구간 집계: 스냅샷이 없는 사원 조회 1회 + 근태 조회 1회 + batch INSERT 1회
+     */
+    private int closePartition(YearMonth target, long fromId, long toId) {
+        int year = target.getYear();
+        int month = target.getMonthValue();
+        Map<Long, Payroll> payrolls = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT e.id, e.department, e.hourly_rate, e.monthly_salary FROM employee e "
+                + "WHERE e.id BETWEEN ? AND ? AND NOT EXISTS (SELECT 1 FROM payroll_snapshot s "
+                + "WHERE s.employee_id = e.id AND s.pay_year = ? AND s.pay_month = ?) ORDER BY e.id",
+                (RowCallbackHandler) rs -> payrolls.put(rs.getLong(1),
+                        new Payroll(rs.getString(2), rs.getInt(3), rs.getInt(4))),
+                fromId, toId, year, month);
+        if (payrolls.isEmpty()) return 0;
+
+        LocalDate start = target.atDay(1);
+        LocalDate end = target.atEndOfMonth();
+        jdbcTemplate.query("SELECT employee_id, status, working_minutes, daily_wage FROM attendance "
+                + "WHERE employee_id BETWEEN ? AND ? AND work_date BETWEEN ? AND ?", (RowCallbackHandler) rs -> {
+            Payroll payroll = payrolls.get(rs.getLong(1));
+            if (payroll != null) payroll.add(rs.getString(2), rs.getLong(3), rs.getLong(4));
+        }, fromId, toId, start, end);
+
+        Timestamp closedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payrolls.size());
+        payrolls.forEach((employeeId, p) -> rows.add(new Object[]{employeeId, year, month, p.department, p.hourlyRate,
+                p.monthlySalary, p.workDays, p.totalMinutes, p.paidLeaveDays, p.unpaidDays, p.lateCount, p.grossWage, closedAt}));
+        jdbcTemplate.batchUpdate(SNAPSHOT_INSERT_SQL, rows);
+        return rows.size();
+    }
+
+    private int threads() {
+        if (parallelism > 0) return parallelism;
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), maxPoolSize - reservedConnections));
+    }
+
+    private ThreadFactory namedThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "payroll-close-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private Map<String, Object> result(PayrollClose close, boolean closedNow) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("year", close.getYear());
+        result.put("month", close.getMonth());
+        result.put("closedNow", closedNow);
+        result.put("employees", close.getEmployees());
+        result.put("grossTotal", close.getGrossTotal());
+        result.put("elapsedMillis", close.getElapsedMs());
+        result.put("closedAt", close.getClosedAt().toString());
+        return result;
+    }
+
+    // 사원 1명의 월 집계 (상태 분류는 AttendancePolicy)
+    private static final class Payroll {
+        final String department;
+        final int hourlyRate;
+        final int monthlySalary;
+        int workDays;
+        long totalMinutes;
+        double paidLeaveDays;
+        int unpaidDays;
+        int lateCount;
+        long grossWage;
+
+        Payroll(String department, int hourlyRate, int monthlySalary) {
+            this.department = department;
+            this.hourlyRate = hourlyRate;
+            this.monthlySalary = monthlySalary;
+        }
+
+        void add(String status, long minutes, long wage) {
+            workDays++;
+            totalMinutes += minutes;
+            grossWage += wage;
+            paidLeaveDays += AttendancePolicy.paidLeaveDays(status);
+            if (AttendancePolicy.isUnpaidDay(status)) unpaidDays++;
+            if (AttendancePolicy.isLate(status)) lateCount++;
+        }
+    }
+}
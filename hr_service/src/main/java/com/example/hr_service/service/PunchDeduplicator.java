@@ -0,0 +1,133 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.PunchReceipt;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 키오스크 재시도/중복 출퇴근 처리 (사원 x 날짜 x 출근/퇴근 1칸, 오늘 날짜만 메모리에 보관)
+ *
+ * 1. 처음 들어온 요청만 칸을 차지(putIfAbsent)하고 실제 처리, 같은 칸의 나머지 요청은 그 결과를 기다림
+ * 2. 같은 Idempotency-Key 로 다시 오면 원래 결과를 그대로 돌려줌 (replayed)
+ * 3. 키가 없거나 다르면 기존과 같은 중복 오류 ("이미 오늘 기록이 존재합니다." 등) - 어느 쪽이든 DB 를 거치지 않음
+ * 4. 처리에 실패하면 (Error 포함) 칸을 비워 다음 요청이 다시 시도 (실패 결과는 보관하지 않음)
+ *
+ * 관리자 수정/결근 처리 등 다른 경로가 오늘 기록을 바꾸면 reset 으로 비움 (PunchIngestionService.refreshAfterCommit)
+ * 서버 인스턴스별 메모리라 재기동/다중 인스턴스에서는 DB 유니크 인덱스 검사로 돌아감
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PunchDeduplicator {
+
+    public enum Action {
+        CHECK_IN("이미 오늘 기록이 존재합니다."),
+        CHECK_OUT("이미 퇴근 처리됨");
+
+        private final String duplicateMessage;
+
+        Action(String duplicateMessage) {
+            this.duplicateMessage = duplicateMessage;
+        }
+    }
+
+    public record Result(PunchReceipt receipt, boolean replayed) {
+    }
+
+    private final AttendanceMetrics metrics;
+    private final AtomicReference<Day> day = new AtomicReference<>();
+
+    // 먼저 들어온 요청의 처리 결과를 기다리는 최대 시간
+    @Value("${attendance.punch.dedupe.wait-ms:5000}")
+    private long waitMs;
+
+    public Result submit(Long employeeId, Action action, String idempotencyKey, Supplier<PunchReceipt> punch) {
+        Day current = currentDay();
+        long slot = employeeId * 2 + action.ordinal();
+        String key = idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : null;
+        Attempt mine = new Attempt(key, new CompletableFuture<>());
+
+        while (true) {
+            Attempt existing = current.attempts.putIfAbsent(slot, mine);
+            if (existing == null) return new Result(run(current, slot, mine, punch), false);
+
+            PunchReceipt original = await(existing);
+            if (original == null) {
+                // 먼저 온 요청이 실패 -> 칸을 비우고 이 요청이 다시 시도
+                current.attempts.remove(slot, existing);
+                continue;
+            }
+            if (key != null && key.equals(existing.key)) {
+                metrics.deduplicated(action.name().toLowerCase(), "replayed");
+                return new Result(original, true);
+            }
+            metrics.deduplicated(action.name().toLowerCase(), "rejected");
+            throw new RuntimeException(action.duplicateMessage);
+        }
+    }
+
+    /**
+     * date 의 메모리 기록을 비움 (다른 경로에서 그날 근태가 바뀐 경우)
+     */
+    public void reset(LocalDate date) {
+        Day current = day.get();
+        if (current != null && current.date.equals(date)) day.compareAndSet(current, new Day(date));
+    }
+
+    private PunchReceipt run(Day current, long slot, Attempt mine, Supplier<PunchReceipt> punch) {
+        PunchReceipt receipt = null;
+        try {
+            receipt = punch.get();
+            return receipt;
+        } finally {
+            // 예외/Error 로 끝나도 기다리는 요청이 남지 않도록 항상 결과를 채움 (실패면 칸을 비우고 null)
+            if (receipt == null) current.attempts.remove(slot, mine);
+            mine.result.complete(receipt);
+        }
+    }
+
+    // 먼저 온 요청의 결과 (실패면 null)
+    private PunchReceipt await(Attempt existing) {
+        try {
+            return existing.result.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("출퇴근 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("출퇴근 처리가 중단되었습니다.");
+        }
+    }
+
+    private Day currentDay() {
+        LocalDate today = LocalDate.now();
+        while (true) {
+            Day current = day.get();
+            if (current != null && current.date.equals(today)) return current;
+            if (day.compareAndSet(current, new Day(today))) {
+                log.debug("중복 출퇴근 기록 초기화 - {}", today);
+            }
+        }
+    }
+
+    private record Attempt(String key, CompletableFuture<PunchReceipt> result) {
+    }
+
+    private static final class Day {
+        final LocalDate date;
+        // 칸 번호: 사원 ID x 2 + 출근(0)/퇴근(1)
+        final ConcurrentHashMap<Long, Attempt> attempts = new ConcurrentHashMap<>();
+
+        Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.PunchReceipt;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 출퇴근 write-behind 처리 (attendance.ingest.write-behind.enabled=true 일 때만 동작)
+ *
+ * 1. 오늘 날짜의 출퇴근 상태를 메모리에 올려두고 중복/미출근 검사를 DB 없이 처리
+ * 2. 접수된 기록은 bounded 큐에 넣고, punch-writer 스레드(BatchWriter)가 batch-size 단위로 모아 한 트랜잭션에 커밋
+ * 3. ack=durable 이면 커밋 완료 후 응답, ack=accepted(또는 대기 시간 초과)이면 접수 상태로 응답
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PunchIngestionService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO attendance (employee_id, work_date, check_in, status) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE attendance SET check_out = ?, working_minutes = ?, daily_wage = ?, status = ? "
+                    + "WHERE employee_id = ? AND work_date = ? AND check_out IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceService attendanceService;
+    private final SalaryLedgerService salaryLedgerService;
+    private final MeterRegistry meterRegistry;
+    private final AttendanceMetrics metrics;
+    private final PunchDeduplicator punchDeduplicator;
+    private final AttendanceArchiveService archiveService;
+
+    @Value("${attendance.ingest.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${attendance.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${attendance.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${attendance.ingest.ack:durable}")
+    private String ackMode;
+
+    @Value("${attendance.ingest.ack-timeout-ms:3000}")
+    private long ackTimeoutMs;
+
+    private final AtomicReference<DayState> dayState = new AtomicReference<>();
+    private final ReentrantLock dayLoadLock = new ReentrantLock();
+
+    private BatchWriter<PendingPunch> writer;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+
+        Timer flushTimer = Timer.builder("attendance.ingest.flush")
+                .description("출퇴근 그룹 커밋 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        DistributionSummary batchSizeSummary = DistributionSummary.builder("attendance.ingest.batch.size")
+                .description("그룹 커밋 1회당 출퇴근 건수")
+                .register(meterRegistry);
+        // batch 는 한 트랜잭션에 커밋
+        writer = new BatchWriter<>("punch-writer", "출퇴근", queueCapacity, batchSize, new BatchWriter.Handler<>() {
+            @Override
+            public void write(List<PendingPunch> batch) {
+                transactionTemplate.executeWithoutResult(tx -> PunchIngestionService.this.write(batch));
+            }
+
+            @Override
+            public void onSuccess(PendingPunch punch) {
+                complete(punch);
+            }
+
+            @Override
+            public void onFailure(PendingPunch punch, RuntimeException e) {
+                fail(punch, e);
+            }
+        }, flushTimer, batchSizeSummary);
+        Gauge.builder("attendance.ingest.queue.depth", writer, BatchWriter::size)
+                .description("DB 반영 대기 중인 출퇴근 건수")
+                .register(meterRegistry);
+        log.info("출퇴근 write-behind 모드 시작 - 큐 용량: {}, 배치 크기: {}, ack: {}", queueCapacity, batchSize, ackMode);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer != null) writer.stop(30, TimeUnit.SECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public PunchReceipt checkIn(Long employeeId) {
+        Timer.Sample sample = metrics.start();
+        String outcome = AttendanceMetrics.ERROR;
+        try {
+            PunchReceipt receipt = submitCheckIn(employeeId);
+            outcome = receipt.status();
+            return receipt;
+        } finally {
+            metrics.punch("check_in", "write-behind", sample, outcome);
+        }
+    }
+
+    public PunchReceipt checkOut(Long employeeId) {
+        Timer.Sample sample = metrics.start();
+        String outcome = AttendanceMetrics.ERROR;
+        try {
+            PunchReceipt receipt = submitCheckOut(employeeId);
+            outcome = receipt.status();
+            return receipt;
+        } finally {
+            metrics.punch("check_out", "write-behind", sample, outcome);
+        }
+    }
+
+    private PunchReceipt submitCheckIn(Long employeeId) {
+        LocalTime now = LocalTime.now();
+        DayState day = currentDay();
+        EmployeeInfo employee = day.employee(employeeId);
+
+        PunchState state = new PunchState(now, null, AttendancePolicy.checkInStatus(now), true);
+        if (day.punches.putIfAbsent(employeeId, state) != null) {
+            throw new RuntimeException("이미 오늘 기록이 존재합니다.");
+        }
+
+        PendingPunch punch = new PendingPunch(day, employeeId, PunchType.CHECK_IN, state, 0, 0);
+        if (!writer.offer(punch)) {
+            day.punches.remove(employeeId, state);
+            throw new RuntimeException("출퇴근 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return await(punch, employee.name(), state.status(), now);
+    }
+
+    private PunchReceipt submitCheckOut(Long employeeId) {
+        LocalTime now = LocalTime.now();
+        DayState day = currentDay();
+        EmployeeInfo employee = day.employee(employeeId);
+
+        PunchState before = day.punches.get(employeeId);
+        if (before == null || before.checkIn() == null) throw new RuntimeException("출근 기록 없음");
+        if (before.checkOut() != null) throw new RuntimeException("이미 퇴근 처리됨");
+
+        long workingMins = AttendancePolicy.workingMinutes(before.checkIn(), now);
+        int wageToday = AttendancePolicy.wage(workingMins, employee.hourlyRate());
+        PunchState after = new PunchState(before.checkIn(), now,
+                AttendancePolicy.checkOutStatus(before.status(), now), true);
+        if (!day.punches.replace(employeeId, before, after)) {
+            throw new RuntimeException("이미 퇴근 처리됨");
+        }
+
+        PendingPunch punch = new PendingPunch(day, employeeId, PunchType.CHECK_OUT, after, (int) workingMins, wageToday);
+        if (!writer.offer(punch)) {
+            day.punches.replace(employeeId, after, before);
+            throw new RuntimeException("출퇴근 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return await(punch, employee.name(), after.status(), now);
+    }
+
+    /**
+     * 관리자 일괄 수정/스케줄러 등 다른 경로에서 오늘 기록이 바뀐 경우, 커밋 후 메모리 상태를 DB와 맞춤
+     * (중복 출퇴근 기록은 항상 비우고, write-behind 상태는 켜져 있을 때만 다시 읽음)
+     */
+    public void refreshAfterCommit(LocalDate start, LocalDate end) {
+        LocalDate today = LocalDate.now();
+        if (today.isBefore(start) || today.isAfter(end)) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(today);
+                }
+            });
+        } else {
+            refresh(today);
+        }
+    }
+
+    private void refresh(LocalDate today) {
+        punchDeduplicator.reset(today);
+        if (enabled) reconcile(today);
+    }
+
+    private PunchReceipt await(PendingPunch punch, String name, String status, LocalTime time) {
+        if ("accepted".equals(ackMode)) return new PunchReceipt(name, status, time, false);
+        try {
+            punch.result.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            return new PunchReceipt(name, status, time, true);
+        } catch (TimeoutException e) {
+            return new PunchReceipt(name, status, time, false); // 큐에는 접수되어 있으므로 접수 상태로 응답
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("출퇴근 처리가 중단되었습니다.");
+        }
+    }
+
+    private DayState currentDay() {
+        LocalDate today = LocalDate.now();
+        DayState day = dayState.get();
+        if (day != null && day.date.equals(today)) return day;
+
+        dayLoadLock.lock();
+        try {
+            day = dayState.get();
+            if (day == null || !day.date.equals(today)) {
+                day = loadDay(today);
+                dayState.set(day);
+            }
+            return day;
+        } finally {
+            dayLoadLock.unlock();
+        }
+    }
+
+    private DayState loadDay(LocalDate date) {
+        DayState day = new DayState(date);
+        jdbcTemplate.query("SELECT id, name, hourly_rate FROM employee", (RowCallbackHandler) rs ->
+                day.employees.put(rs.getLong(1), new EmployeeInfo(rs.getString(2), rs.getInt(3))));
+        day.punches.putAll(loadPunches(date));
+        log.info("출퇴근 상태 적재 - 날짜: {}, 사원: {}, 기록: {}", date, day.employees.size(), day.punches.size());
+        return day;
+    }
+
+    private Map<Long, PunchState> loadPunches(LocalDate date) {
+        Map<Long, PunchState> punches = new HashMap<>();
+        jdbcTemplate.query("SELECT employee_id, check_in, check_out, status FROM attendance WHERE work_date = ?",
+                (RowCallbackHandler) rs -> punches.put(rs.getLong(1), new PunchState(
+                        rs.getObject(2, LocalTime.class), rs.getObject(3, LocalTime.class), rs.getString(4), false)),
+                date);
+        return punches;
+    }
+
+    // 아직 커밋되지 않은 메모리 기록은 유지하고, 나머지는 DB 기준으로 덮어씀
+    private void reconcile(LocalDate date) {
+        DayState day = dayState.get();
+        if (day == null || !day.date.equals(date)) return;
+
+        Map<Long, PunchState> fromDb = loadPunches(date);
+        fromDb.forEach((id, db) -> day.punches.merge(id, db, (mem, ignored) -> mem.pending() ? mem : db));
+        day.punches.forEach((id, mem) -> {
+            if (!mem.pending() && !fromDb.containsKey(id)) day.punches.remove(id, mem);
+        });
+    }
+
+    // 같은 배치 안에서는 출근(INSERT)을 퇴근(UPDATE)보다 먼저 반영
+    private void write(List<PendingPunch> batch) {
+        List<PendingPunch> checkIns = new ArrayList<>();
+        List<PendingPunch> checkOuts = new ArrayList<>();
+        LocalDate first = batch.get(0).day.date;
+        LocalDate last = first;
+        for (PendingPunch punch : batch) {
+            (punch.type == PunchType.CHECK_IN ? checkIns : checkOuts).add(punch);
+            if (punch.day.date.isBefore(first)) first = punch.day.date;
+            if (punch.day.date.isAfter(last)) last = punch.day.date;
+        }
+        archiveService.guardWrite(first, last);
+
+        if (!checkIns.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, checkIns, checkIns.size(), (ps, p) -> {
+                ps.setLong(1, p.employeeId);
+                ps.setObject(2, p.day.date);
+                ps.setObject(3, p.state.checkIn());
+                ps.setString(4, p.state.status());
+            });
+        }
+        if (!checkOuts.isEmpty()) {
+            SalaryLedgerService.Deltas ledger = ledgerDeltas(checkOuts);
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, checkOuts, checkOuts.size(), (ps, p) -> {
+                ps.setObject(1, p.state.checkOut());
+                ps.setInt(2, p.workingMinutes);
+                ps.setInt(3, p.dailyWage);
+                ps.setString(4, p.state.status());
+                ps.setLong(5, p.employeeId);
+                ps.setObject(6, p.day.date);
+            });
+            for (int count : counts[0]) {
+                if (count == 0) throw new RuntimeException("출근 기록 없음");
+                if (count != Statement.SUCCESS_NO_INFO && count < 0) throw new RuntimeException("퇴근 기록 반영 실패");
+            }
+            salaryLedgerService.apply(ledger);
+        }
+    }
+
+    // 퇴근으로 덮어쓸 기존 일당/근무시간을 날짜별 1회 조회해 급여 원장 증감분 계산
+    private SalaryLedgerService.Deltas ledgerDeltas(List<PendingPunch> checkOuts) {
+        Map<LocalDate, Map<Long, int[]>> previous = new HashMap<>();
+        Map<LocalDate, List<Long>> idsByDate = new HashMap<>();
+        checkOuts.forEach(p -> idsByDate.computeIfAbsent(p.day.date, d -> new ArrayList<>()).add(p.employeeId));
+
+        idsByDate.forEach((date, ids) -> {
+            Map<Long, int[]> values = new HashMap<>();
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            List<Object> args = new ArrayList<>(ids);
+            args.add(0, date);
+            jdbcTemplate.query("SELECT employee_id, daily_wage, working_minutes FROM attendance "
+                            + "WHERE work_date = ? AND check_out IS NULL AND employee_id IN (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> values.put(rs.getLong(1), new int[]{rs.getInt(2), rs.getInt(3)}),
+                    args.toArray());
+            previous.put(date, values);
+        });
+
+        SalaryLedgerService.Deltas deltas = new SalaryLedgerService.Deltas();
+        for (PendingPunch p : checkOuts) {
+            int[] old = previous.get(p.day.date).getOrDefault(p.employeeId, new int[2]);
+            deltas.add(p.employeeId, p.day.date, p.dailyWage - old[0], p.workingMinutes - old[1]);
+        }
+        return deltas;
+    }
+
+    private void complete(PendingPunch punch) {
+        punch.day.punches.computeIfPresent(punch.employeeId, (id, s) -> s == punch.state ? s.flushed() : s);
+        punch.result.complete(null);
+
+        String time = (punch.type == PunchType.CHECK_IN ? punch.state.checkIn() : punch.state.checkOut()).toString();
+        attendanceService.sendWebSocketUpdate(punch.employeeId, punch.type.name(), punch.state.status(), time,
+                punch.dailyWage, punch.workingMinutes);
+    }
+
+    private void fail(PendingPunch punch, RuntimeException e) {
+        log.warn("출퇴근 기록 반영 실패 - 사원: {}, 구분: {}, 사유: {}", punch.employeeId, punch.type, e.getMessage());
+        resync(punch.day, punch.employeeId);
+        punch.result.completeExceptionally(e);
+    }
+
+    // 실패한 사원만 DB 기준으로 다시 읽음
+    private void resync(DayState day, Long employeeId) {
+        try {
+            List<PunchState> rows = jdbcTemplate.query(
+                    "SELECT check_in, check_out, status FROM attendance WHERE employee_id = ? AND work_date = ?",
+                    (rs, rowNum) -> new PunchState(rs.getObject(1, LocalTime.class), rs.getObject(2, LocalTime.class),
+                            rs.getString(3), false),
+                    employeeId, day.date);
+            if (rows.isEmpty()) day.punches.remove(employeeId);
+            else day.punches.put(employeeId, rows.get(0));
+        } catch (RuntimeException e) {
+            log.error("출퇴근 상태 재동기화 실패 - 사원: {}", employeeId, e);
+            day.punches.remove(employeeId);
+        }
+    }
+
+    private enum PunchType { CHECK_IN, CHECK_OUT }
+
+    private record EmployeeInfo(String name, int hourlyRate) {
+    }
+
+    private record PunchState(LocalTime checkIn, LocalTime checkOut, String status, boolean pending) {
+        PunchState flushed() {
+            return new PunchState(checkIn, checkOut, status, false);
+        }
+    }
+
+    private static final class PendingPunch {
+        final DayState day;
+        final Long employeeId;
+        final PunchType type;
+        final PunchState state;
+        final int workingMinutes;
+        final int dailyWage;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        PendingPunch(DayState day, Long employeeId, PunchType type, PunchState state, int workingMinutes, int dailyWage) {
+            this.day = day;
+            this.employeeId = employeeId;
+            this.type = type;
+            this.state = state;
+            this.workingMinutes = workingMinutes;
+            this.dailyWage = dailyWage;
+        }
+    }
+
+    private final class DayState {
+        final LocalDate date;
+        final Map<Long, EmployeeInfo> employees = new ConcurrentHashMap<>();
+        final Map<Long, PunchState> punches = new ConcurrentHashMap<>();
+
+        DayState(LocalDate date) {
+            this.date = date;
+        }
+
+        // 당일 중 새로 등록된 사원은 한 번만 DB에서 읽어 추가
+        EmployeeInfo employee(Long id) {
+            EmployeeInfo info = employees.get(id);
+            if (info != null) return info;
+            List<EmployeeInfo> found = jdbcTemplate.query("SELECT name, hourly_rate FROM employee WHERE id = ?",
+                    (rs, rowNum) -> new EmployeeInfo(rs.getString(1), rs.getInt(2)), id);
+            if (found.isEmpty()) throw new RuntimeException("사원 없음");
+            employees.putIfAbsent(id, found.get(0));
+            return found.get(0);
+        }
+    }
+}
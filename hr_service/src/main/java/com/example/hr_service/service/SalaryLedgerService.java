@@ -0,0 +1,180 @@
+package com.example.hr_service.service;
+
+import com.example.hr_service.dto.EmployeeMonthlySummary;
+import com.example.hr_service.entity.SalaryLedger;
+import com.example.hr_service.repository.AttendanceLogRepository;
+import com.example.hr_service.repository.SalaryLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 월간 급여 원장 (사원 x 연 x 월 단위 일당/근무시간 누계)
+ *
+ * 근태 기록의 dailyWage/workingMinutes 를 바꾸는 모든 경로는 같은 트랜잭션 안에서 증감분을 반영해야 함
+ * - 출퇴근(AttendanceService, PunchIngestionService), 상태 변경, 관리자 일괄 처리, 스케줄러
+ * 월 급여 조회는 원장 1건 조회로 끝나고, rebuild 로 원본 근태 기록과 다시 맞출 수 있음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryLedgerService {
+
+    private static final String ADD_SQL = "INSERT INTO salary_ledger "
+            + "(employee_id, work_year, work_month, total_wage, total_minutes, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE "
+            + "total_wage = total_wage + VALUES(total_wage), total_minutes = total_minutes + VALUES(total_minutes), "
+            + "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String SET_SQL = "INSERT INTO salary_ledger "
+            + "(employee_id, work_year, work_month, total_wage, total_minutes, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE "
+            + "total_wage = VALUES(total_wage), total_minutes = VALUES(total_minutes), updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SalaryLedgerRepository ledgerRepository;
+    private final AttendanceLogRepository attendanceRepository;
+    private final AttendanceArchiveService archiveService;
+
+    /**
+     * 근태 기록 1건 변경분 반영 (변경 전/후 값, null 은 0 취급)
+     */
+    public void applyChange(Long employeeId, LocalDate workDate,
+                            Integer oldWage, Integer newWage, Integer oldMinutes, Integer newMinutes) {
+        apply(new Deltas().add(employeeId, workDate, diff(oldWage, newWage), diff(oldMinutes, newMinutes)));
+    }
+
+    /**
+     * 여러 건의 변경분을 사원/월 단위로 합쳐 batch 반영
+     */
+    public void apply(Deltas deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.values.forEach((key, value) -> {
+            if (value[0] != 0 || value[1] != 0) rows.add(new Object[]{key.employeeId(), key.year(), key.month(), value[0], value[1]});
+        });
+        if (!rows.isEmpty()) jdbcTemplate.batchUpdate(ADD_SQL, rows);
+    }
+
+    public long monthlyWage(Long employeeId, int year, int month) {
+        return ledgerRepository.findByEmployeeIdAndYearAndMonth(employeeId, year, month)
+                .map(SalaryLedger::getTotalWage).orElse(0L);
+    }
+
+    public Map<Long, Long> monthlyWages(int year, int month) {
+        Map<Long, Long> wages = new HashMap<>();
+        ledgerRepository.findByYearAndMonth(year, month).forEach(l -> wages.put(l.getEmployeeId(), l.getTotalWage()));
+        return wages;
+    }
+
+    /**
+     * 원본 근태 기록(보관된 달은 보관 파일)으로 해당 월 원장을 다시 계산해 어긋난 행만 보정
+     *
+     * 해당 월 원장 행을 먼저 잠근(SELECT ... FOR UPDATE) 뒤 근태를 합산
+     * -> 합산 이후 커밋되려는 퇴근/상태 변경의 증감은 잠금 대기 후 보정값 위에 더해져 사라지지 않음
+     *    (MySQL 기본 REPEATABLE READ 에서는 범위 잠금이라 그 달 원장 행이 새로 생기는 것도 대기)
+     */
+    @Transactional
+    public Map<String, Object> rebuild(int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+
+        // 사원 ID -> {일당 합계, 근무분 합계}
+        Map<Long, long[]> ledger = new HashMap<>();
+        jdbcTemplate.query("SELECT employee_id, total_wage, total_minutes FROM salary_ledger "
+                        + "WHERE work_year = ? AND work_month = ? FOR UPDATE",
+                (RowCallbackHandler) rs -> ledger.put(rs.getLong(1), new long[]{rs.getLong(2), rs.getLong(3)}), year, month);
+
+        Map<Long, long[]> actual = new HashMap<>();
+        List<EmployeeMonthlySummary> summaries = archiveService.isArchived(year, month)
+                ? archiveService.summarize(year, month)
+                : attendanceRepository.summarizeByEmployee(start, end, null);
+        summaries.forEach(s ->
+                actual.put(s.employeeId(), new long[]{s.totalWage(), s.totalMinutes()}));
+
+        Set<Long> employeeIds = new TreeSet<>(actual.keySet());
+        employeeIds.addAll(ledger.keySet());
+
+        List<Object[]> corrections = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            long[] expected = actual.getOrDefault(employeeId, new long[]{0, 0});
+            long[] current = ledger.getOrDefault(employeeId, new long[]{0, 0});
+            boolean matches = current[0] == expected[0] && current[1] == expected[1];
+            if (!matches) corrections.add(new Object[]{employeeId, year, month, expected[0], expected[1]});
+        }
+        if (!corrections.isEmpty()) jdbcTemplate.batchUpdate(SET_SQL, corrections);
+
+        log.info("급여 원장 재계산 - {}-{}, 사원: {}, 보정: {}", year, month, employeeIds.size(), corrections.size());
+        return Map.of("year", year, "month", month, "employees", employeeIds.size(), "corrected", corrections.size());
+    }
+
+    /**
+     * 원장이 비어 있으면 (최초 배포) 기존 근태 기록이 있는 모든 월을 재계산
+     * 기동을 막지 않도록 별도 스레드에서 월마다 별도 트랜잭션으로 실행 (끝나기 전 월 급여 조회는 일부만 반영)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (ledgerRepository.count() > 0) return;
+        Thread thread = new Thread(this::backfill, "salary-ledger-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void backfill() {
+        long start = System.currentTimeMillis();
+        try {
+            List<int[]> months = jdbcTemplate.query(
+                    "SELECT DISTINCT YEAR(work_date), MONTH(work_date) FROM attendance WHERE work_date IS NOT NULL",
+                    (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)});
+            archiveService.archivedMonths().forEach(m -> months.add(new int[]{m.getYear(), m.getMonthValue()}));
+            // this.rebuild 는 프록시를 거치지 않아 @Transactional 이 적용되지 않으므로 직접 트랜잭션을 엶
+            months.forEach(m -> transactionTemplate.execute(tx -> rebuild(m[0], m[1])));
+            log.info("급여 원장 초기 계산 완료 - {}개월, {}ms", months.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("급여 원장 초기 계산 실패 (POST /salary/ledger/rebuild 로 월별 재실행)", e);
+        }
+    }
+
+    public static long diff(Integer before, Integer after) {
+        return (after != null ? after : 0) - (before != null ? before : 0);
+    }
+
+    /**
+     * 사원/월 단위 증감 누적기 (키 순서대로 반영해 동시 갱신 시 잠금 순서를 맞춤)
+     */
+    public static final class Deltas {
+        private final Map<Key, long[]> values = new TreeMap<>();
+
+        public Deltas add(Long employeeId, LocalDate workDate, long wageDelta, long minutesDelta) {
+            if (wageDelta == 0 && minutesDelta == 0) return this;
+            long[] value = values.computeIfAbsent(
+                    new Key(employeeId, workDate.getYear(), workDate.getMonthValue()), k -> new long[2]);
+            value[0] += wageDelta;
+            value[1] += minutesDelta;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+    }
+
+    private record Key(long employeeId, int year, int month) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            int c = Long.compare(employeeId, o.employeeId);
+            if (c != 0) return c;
+            c = Integer.compare(year, o.year);
+            return c != 0 ? c : Integer.compare(month, o.month);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.hr_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * 근무일 달력 (주말 + 공휴일 파일 기준)
+ *
+ * 기동 시 공휴일 파일을 읽어 연도별 비트셋(long[6], 1년 최대 366일)으로 미리 계산
+ * - bit(dayOfYear - 1) = 1 이면 근무일
+ * - 근무일 여부/기간 내 근무일 수는 비트 연산만으로 계산 (날짜 객체 생성 없음)
+ * - 파일에 없는 연도는 주말만 휴일로 취급
+ */
+@Slf4j
+@Component
+public class WorkingDayCalendar {
+
+    private static final int WORDS_PER_YEAR = 6;
+
+    private final int firstYear;
+    private final long[][] workingDays;
+
+    public WorkingDayCalendar(@Value("${attendance.calendar.holidays:classpath:holidays-kr.txt}") Resource holidays) {
+        TreeSet<LocalDate> dates = load(holidays);
+        if (dates.isEmpty()) {
+            this.firstYear = 0;
+            this.workingDays = new long[0][];
+            log.warn("공휴일 파일이 비어 있음 - 주말만 휴일로 처리");
+            return;
+        }
+
+        this.firstYear = dates.first().getYear();
+        int lastYear = dates.last().getYear();
+        this.workingDays = new long[lastYear - firstYear + 1][];
+        for (int year = firstYear; year <= lastYear; year++) {
+            long[] bits = weekdayBits(year);
+            for (LocalDate holiday : dates.subSet(LocalDate.of(year, 1, 1), true, LocalDate.of(year, 12, 31), true)) {
+                int index = holiday.getDayOfYear() - 1;
+                bits[index >> 6] &= ~(1L << index);
+            }
+            workingDays[year - firstYear] = bits;
+        }
+        log.info("근무일 달력 로딩 - {} ~ {}년, 공휴일 {}일", firstYear, lastYear, dates.size());
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        long[] bits = bitsOf(date.getYear());
+        if (bits == null) return !isWeekend(date.getDayOfWeek());
+        int index = date.getDayOfYear() - 1;
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * start ~ end (양 끝 포함) 근무일 수
+     */
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        int count = 0;
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            long[] bits = yearBits(year);
+            int from = year == start.getYear() ? start.getDayOfYear() - 1 : 0;
+            int to = year == end.getYear() ? end.getDayOfYear() - 1 : LocalDate.of(year, 12, 31).getDayOfYear() - 1;
+            for (int word = from >> 6; word <= to >> 6; word++) {
+                count += Long.bitCount(bits[word] & mask(word, from, to));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * start ~ end (양 끝 포함) 근무일만 순서대로 전달
+     */
+    public void forEachWorkingDay(LocalDate start, LocalDate end, Consumer<LocalDate> action) {
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            long[] bits = yearBits(year);
+            int from = year == start.getYear() ? start.getDayOfYear() - 1 : 0;
+            int to = year == end.getYear() ? end.getDayOfYear() - 1 : LocalDate.of(year, 12, 31).getDayOfYear() - 1;
+            for (int word = from >> 6; word <= to >> 6; word++) {
+                long remaining = bits[word] & mask(word, from, to);
+                while (remaining != 0) {
+                    int index = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                    action.accept(LocalDate.ofYearDay(year, index + 1));
+                    remaining &= remaining - 1;
+                }
+            }
+        }
+    }
+
+    public List<LocalDate> workingDays(LocalDate start, LocalDate end) {
+        List<LocalDate> days = new ArrayList<>(Math.max(0, countWorkingDays(start, end)));
+        forEachWorkingDay(start, end, days::add);
+        return days;
+    }
+
+    // word 안에서 from ~ to (연중 일자 index) 범위만 남기는 마스크
+    private static long mask(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >> 6) mask &= -1L << (from & 63);
+        if (word == to >> 6) mask &= -1L >>> (63 - (to & 63));
+        return mask;
+    }
+
+    private long[] bitsOf(int year) {
+        int index = year - firstYear;
+        return index >= 0 && index < workingDays.length ? workingDays[index] : null;
+    }
+
+    private long[] yearBits(int year) {
+        long[] bits = bitsOf(year);
+        return bits != null ? bits : weekdayBits(year);
+    }
+
+    private static long[] weekdayBits(int year) {
+        long[] bits = new long[WORDS_PER_YEAR];
+        LocalDate day = LocalDate.of(year, 1, 1);
+        int length = day.lengthOfYear();
+        int dow = day.getDayOfWeek().getValue() - 1; // 월=0 ... 일=6
+        for (int index = 0; index < length; index++, dow = (dow + 1) % 7) {
+            if (dow < 5) bits[index >> 6] |= 1L << index;
+        }
+        return bits;
+    }
+
+    private static boolean isWeekend(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private static TreeSet<LocalDate> load(Resource resource) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int space = line.indexOf(' ');
+                dates.add(LocalDate.parse(space > 0 ? line.substring(0, space) : line));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("공휴일 파일을 읽을 수 없음: " + resource, e);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.hr_service;
+
+import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.support.TestEmployees;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 관리자 일괄 처리 지표: 모르는 상태는 other 태그로 묶고, 삭제는 "삭제" 태그
+ */
+@SpringBootTest
+class AdminBatchMetricsTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 3);
+
+    @Autowired
+    private AttendanceAdminService adminService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void seed() {
+        employeeId = TestEmployees.insertOne(jdbcTemplate, String.format("M%06d", SEQUENCE.incrementAndGet()), "지표검사", "생산");
+    }
+
+    @Test
+    void unknownStatusIsTaggedOther() {
+        double updatedBefore = outcome("update", "other");
+        double deletedBefore = outcome("delete", "삭제");
+
+        String unknown = "임의상태-" + employeeId;
+        adminService.updateAttendanceStatusBatch(employeeId.toString(), unknown, DAY, DAY);
+        assertEquals(unknown, jdbcTemplate.queryForObject(
+                "SELECT status FROM attendance WHERE employee_id = ? AND work_date = ?", String.class, employeeId, DAY));
+        assertEquals(updatedBefore + 1, outcome("update", "other"));
+        assertNull(meterRegistry.find("attendance.admin.batch.outcome").tag("outcome", unknown).counter(),
+                "보낸 상태 문자열은 태그로 쓰지 않음");
+
+        adminService.deleteAttendanceBatch(employeeId.toString(), DAY, DAY);
+        assertEquals(deletedBefore + 1, outcome("delete", "삭제"));
+    }
+
+    @Test
+    void knownStatusKeepsItsTag() {
+        double before = outcome("update", "정상근무");
+        adminService.updateAttendanceStatusBatch(employeeId.toString(), "정상근무", DAY, DAY);
+        assertEquals(before + 1, outcome("update", "정상근무"));
+    }
+
+    private double outcome(String operation, String outcome) {
+        Counter counter = meterRegistry.find("attendance.admin.batch.outcome")
+                .tags("operation", operation, "outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.hr_service;
+
+import com.example.hr_service.dto.AdminUpdateDelta;
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.service.AdminUpdatePublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 관리자 변경분 알림: 관리자 채널 묶음의 합치기, version 순서(동시 전송 포함), since 재조회/resync 판단, 커밋 후 전송
+ */
+class AdminUpdatePublisherTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 7);
+    private static final String ADMIN_TOPIC = "/topic/attendance/admin";
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private AdminUpdatePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new AdminUpdatePublisher(messagingTemplate);
+        ReflectionTestUtils.setField(publisher, "coalesceWindowMs", 100L);
+        ReflectionTestUtils.setField(publisher, "historySize", 3);
+    }
+
+    @Test
+    void coalescesSameEmployeeMonthInAdminBatch() {
+        publisher.publish(1L, MONTH, List.of(day(1, "지각"), day(2, "정상근무")), List.of(), 15.0, 5, 1000);
+        publisher.publish(2L, MONTH, List.of(day(1, "연차")), List.of(), 14.0, 5, 2000);
+        // 2일 삭제 후 3일 수정, 1일은 다시 수정
+        publisher.publish(1L, MONTH, List.of(), List.of(date(2)), 15.0, 5, 900);
+        publisher.publish(1L, MONTH, List.of(day(1, "정상근무"), day(3, "병가")), List.of(), 15.0, 4, 1100);
+
+        Map<String, Object> batch = adminBatch();
+        assertEquals("ADMIN_DELTA_BATCH", batch.get("type"));
+        assertEquals(1L, batch.get("fromVersion"));
+        assertEquals(4L, batch.get("toVersion"));
+
+        List<AdminUpdateDelta> updates = updates(batch);
+        assertEquals(2, updates.size());
+        AdminUpdateDelta first = updates.get(0);
+        assertEquals(1L, first.employeeId());
+        assertEquals(4L, first.version(), "합친 변경분은 마지막 version");
+        assertEquals(List.of(day(1, "정상근무"), day(3, "병가")), first.changedDays());
+        assertEquals(List.of(date(2)), first.deletedDates());
+        assertEquals(4, first.remainingSickLeave());
+        assertEquals(1100L, first.newTotalSalary());
+        assertEquals(2L, updates.get(1).employeeId());
+        assertEquals(2L, updates.get(1).version());
+    }
+
+    @Test
+    void changedDayCancelsEarlierDelete() {
+        publisher.publish(1L, MONTH, List.of(), List.of(date(1), date(2)), 15.0, 5, 0);
+        publisher.publish(1L, MONTH, List.of(day(2, "정상근무")), List.of(), 15.0, 5, 96_000);
+
+        AdminUpdateDelta merged = updates(adminBatch()).get(0);
+        assertEquals(List.of(day(2, "정상근무")), merged.changedDays());
+        assertEquals(List.of(date(1)), merged.deletedDates());
+    }
+
+    @Test
+    void employeeChannelGetsEveryDeltaInVersionOrder() {
+        publisher.publish(1L, MONTH, List.of(day(1, "지각")), List.of(), 15.0, 5, 0);
+        publisher.publish(1L, MONTH.plusMonths(1), List.of(), List.of(LocalDate.of(2025, 8, 1)), 15.0, 5, 0);
+        publisher.publish(1L, MONTH, List.of(day(2, "결근")), List.of(), 15.0, 5, 0);
+        // 바뀐 날짜가 없으면 version 을 쓰지 않음
+        publisher.publish(1L, MONTH, List.of(), List.of(), 15.0, 5, 0);
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/attendance/1"), sent.capture());
+        assertEquals(List.of(1L, 2L, 3L), sent.getAllValues().stream().map(d -> ((AdminUpdateDelta) d).version()).toList());
+        assertEquals(List.of("2025-07", "2025-08", "2025-07"),
+                sent.getAllValues().stream().map(d -> ((AdminUpdateDelta) d).month()).toList());
+    }
+
+    @Test
+    void sinceReturnsMissedUpdatesOrAsksForResync() {
+        long epoch = (long) publisher.since(0, null).get("epoch");
+        assertEquals(Map.of("epoch", epoch, "version", 0L, "resync", false, "updates", List.of()), publisher.since(0, epoch));
+
+        for (int i = 1; i <= 4; i++) {
+            publisher.publish((long) i, MONTH, List.of(day(i, "지각")), List.of(), 15.0, 5, 0);
+        }
+        // 보관 3건 (version 2~4)
+        Map<String, Object> missed = publisher.since(2, epoch);
+        assertEquals(false, missed.get("resync"));
+        assertEquals(4L, missed.get("version"));
+        assertEquals(List.of(3L, 4L), versions(missed));
+        assertEquals(List.of(2L, 3L, 4L), versions(publisher.since(1, epoch)));
+        assertEquals(List.of(), versions(publisher.since(4, epoch)));
+
+        assertResync(publisher.since(0, epoch), "보관 범위보다 오래된 version");
+        assertResync(publisher.since(5, epoch), "서버보다 앞선 version (재기동)");
+        assertResync(publisher.since(2, epoch - 1), "다른 epoch");
+    }
+
+    @Test
+    void sendsAfterCommitOnly() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publisher.publish(1L, MONTH, List.of(day(1, "지각")), List.of(), 15.0, 5, 0);
+            publisher.publishLegacy(1L, date(1), 15.0, 5, List.of(day(1, "지각")), 0);
+            verifyNoInteractions(messagingTemplate);
+            assertEquals(0L, publisher.since(0, null).get("version"), "커밋 전에는 version 을 쓰지 않음");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/attendance/1"), sent.capture());
+        assertInstanceOf(AdminUpdateDelta.class, sent.getAllValues().get(0));
+        assertEquals("ADMIN_UPDATE", ((Map<?, ?>) sent.getAllValues().get(1)).get("type"));
+        assertEquals(1L, publisher.since(0, null).get("version"));
+    }
+
+    @Test
+    void legacyUpdateGoesToEmployeeChannelOnly() {
+        publisher.publishLegacy(7L, date(3), 14.5, 4, List.of(day(1, "정상근무"), day(3, "반차")), 144_000);
+
+        Map<String, Object> expected = Map.of("type", "ADMIN_UPDATE", "employeeId", 7L, "date", "2025-07-03",
+                "remainingLeave", 14.5, "remainingSickLeave", 4,
+                "monthlyLogs", List.of(day(1, "정상근무"), day(3, "반차")), "newTotalSalary", 144_000L);
+        verify(messagingTemplate).convertAndSend("/topic/attendance/7", (Object) expected);
+        verify(messagingTemplate, never()).convertAndSend(eq(ADMIN_TOPIC), any(Object.class));
+        assertEquals(0L, publisher.since(0, null).get("version"), "구 형식은 version 없음");
+    }
+
+    @Test
+    void employeeChannelReceivesVersionsInOrder() throws Exception {
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        publisher.publish(1L, MONTH, List.of(day(1, "정상근무")), List.of(), 15.0, 5, 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(threads * perThread)).convertAndSend(eq("/topic/attendance/1"), sent.capture());
+        List<Long> versions = sent.getAllValues().stream().map(d -> ((AdminUpdateDelta) d).version()).toList();
+        assertEquals(LongStream.rangeClosed(1, threads * perThread).boxed().toList(), versions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> adminBatch() {
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, timeout(2000)).convertAndSend(eq(ADMIN_TOPIC), sent.capture());
+        return (Map<String, Object>) sent.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AdminUpdateDelta> updates(Map<String, Object> payload) {
+        return (List<AdminUpdateDelta>) payload.get("updates");
+    }
+
+    private List<Long> versions(Map<String, Object> since) {
+        return updates(since).stream().map(AdminUpdateDelta::version).toList();
+    }
+
+    private void assertResync(Map<String, Object> since, String reason) {
+        assertEquals(true, since.get("resync"), reason);
+        assertEquals(List.of(), since.get("updates"), reason);
+    }
+
+    private static LocalDate date(int day) {
+        return MONTH.atDay(day);
+    }
+
+    private static AttendanceLogResponse day(int day, String status) {
+        return new AttendanceLogResponse(date(day), LocalTime.of(9, 0), null, status, 0, 0);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.hr_service;
+
+import com.example.hr_service.controller.AdminAttendanceController;
+import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.service.AttendanceArchiveService;
+import com.example.hr_service.service.AttendanceExportService;
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.service.SalaryLedgerService;
+import com.example.hr_service.support.SqlStatementCounter;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 근태 기록 월 보관: 보관 전후 월간 조회/내보내기/원장 재계산 결과가 같고, 보관된 달은 수정 불가
+ *
+ * 보관 폴더는 실행마다 새로 만듦 (이전 실행 파일이 남지 않도록)
+ */
+@SpringBootTest(properties = "attendance.archive.dir=target/test-archive/${random.uuid}")
+@Import(SqlStatementCounter.class)
+class AttendanceArchiveTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final LocalDate START = LocalDate.of(2025, 8, 1);
+    private static final LocalDate END = LocalDate.of(2025, 8, 31);
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private AdminAttendanceController controller;
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private AttendanceAdminService adminService;
+
+    @Autowired
+    private SalaryLedgerService salaryLedgerService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void archivedMonthReadsSameAsHotTable() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String[] statuses = {"정상퇴근", "지각/퇴근", "연차", "반차", "결근", "미퇴근(결근)"};
+        for (int i = 0; i < 5; i++) {
+            String number = String.format("A%06d", SEQUENCE.incrementAndGet());
+            Long id = TestEmployees.insertOne(jdbcTemplate, number, "보관검사", "생산");
+            ids.add(id);
+            int n = 0;
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1), n++) {
+                if (d.getDayOfWeek().getValue() >= 6) continue;
+                String status = statuses[(i + n) % statuses.length];
+                boolean absent = status.contains("결근");
+                // 출퇴근 시각 NULL 도 그대로 보관되는지 확인
+                jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                        + "working_minutes, daily_wage) VALUES (?, ?, ?, ?, ?, ?, ?)", id, d,
+                        absent ? null : "08:5" + (n % 10) + ":1" + (i % 6), absent || n % 7 == 0 ? null : "18:00:00",
+                        status, absent ? 0 : 480 - n, absent ? 0 : 96_000 - n * 10);
+            }
+        }
+        salaryLedgerService.rebuild(2025, 8);
+
+        Object employeeMonth = controller.getMonthlyAttendance(ids.get(2), 2025, 8).getBody();
+        Object allMonth = controller.getAll(2025, 8).getBody();
+        String export = export();
+        long hotRows = monthRows();
+
+        RuntimeException open = assertThrows(RuntimeException.class, () -> archiveService.archive(2025, 8));
+        assertEquals("급여 마감 전인 달은 보관할 수 없습니다.", open.getMessage());
+
+        payrollService.close(2025, 8);
+        Map<String, Object> archived = archiveService.archive(2025, 8);
+        assertEquals((int) hotRows, archived.get("records"));
+        assertEquals((int) hotRows, archived.get("deleted"));
+        assertEquals(0L, monthRows(), "보관 후 attendance 에서 삭제");
+
+        // 보관 파일에서 읽은 결과가 보관 전과 같음 (사원 조회는 SQL 없이)
+        SqlStatementCounter.Statements statements = sqlStatementCounter.count(
+                () -> assertEquals(employeeMonth, controller.getMonthlyAttendance(ids.get(2), 2025, 8).getBody()));
+        assertEquals(0, statements.total(), statements.toString());
+        assertEquals(allMonth, controller.getAll(2025, 8).getBody());
+        assertEquals(export, export());
+        assertEquals(List.of(), archiveService.employeeMonth(-1L, 2025, 8));
+
+        // 원장 재계산은 보관 파일 기준 -> 보정 없음
+        assertEquals(0, salaryLedgerService.rebuild(2025, 8).get("corrected"));
+
+        RuntimeException locked = assertThrows(RuntimeException.class, () -> adminService.updateAttendanceStatusBatch(
+                ids.get(0).toString(), "연차", LocalDate.of(2025, 8, 29), LocalDate.of(2025, 9, 1)));
+        assertEquals("보관된 달(2025-08)의 근태는 수정할 수 없습니다.", locked.getMessage());
+
+        // 다시 보관해도 그대로, 재기동(파일 다시 매핑) 후에도 같은 결과
+        assertEquals(0, archiveService.archive(2025, 8).get("deleted"));
+        archiveService.load();
+        assertEquals(employeeMonth, controller.getMonthlyAttendance(ids.get(2), 2025, 8).getBody());
+    }
+
+    @Test
+    void archiveWaitsForInFlightWriteAndRejectsNewOnes() throws Exception {
+        LocalDate day = LocalDate.of(2025, 4, 1);
+        String number = String.format("A%06d", SEQUENCE.incrementAndGet());
+        Long id = TestEmployees.insertOne(jdbcTemplate, number, "보관검사", "생산");
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, working_minutes, "
+                + "daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", id, day);
+        payrollService.close(2025, 4);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch guarded = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            // 보관 시작 전에 쓰기 잠금을 잡은 트랜잭션이 보관 대조 이후에 커밋하는 상황
+            Future<?> writer = pool.submit(() -> transactionTemplate.executeWithoutResult(tx -> {
+                archiveService.guardWrite(day, day);
+                guarded.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                jdbcTemplate.update("UPDATE attendance SET status = '지각/퇴근' WHERE employee_id = ? AND work_date = ?", id, day);
+            }));
+            assertTrue(guarded.await(10, TimeUnit.SECONDS));
+            Future<Map<String, Object>> archive = pool.submit(() -> archiveService.archive(2025, 4));
+
+            // 보관이 대기 중인 동안 새 쓰기는 거부
+            long deadline = System.currentTimeMillis() + 10_000;
+            RuntimeException rejected = null;
+            while (rejected == null && System.currentTimeMillis() < deadline) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> archiveService.guardWrite(day, day));
+                    Thread.sleep(10);
+                } catch (RuntimeException e) {
+                    rejected = e;
+                }
+            }
+            assertNotNull(rejected, "보관 중 새 쓰기 거부");
+            assertEquals("보관된 달(2025-04)의 근태는 수정할 수 없습니다.", rejected.getMessage());
+            assertFalse(archive.isDone(), "진행 중인 쓰기가 끝날 때까지 보관 대기");
+
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+            assertEquals(1, archive.get(10, TimeUnit.SECONDS).get("deleted"));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 대기 중 커밋된 변경까지 보관됨
+        assertEquals("지각/퇴근", archiveService.employeeMonth(id, 2025, 4).get(0).status());
+        assertThrows(RuntimeException.class,
+                () -> transactionTemplate.executeWithoutResult(tx -> archiveService.guardWrite(day, day)));
+    }
+
+    private String export() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeMonthly(START, END, AttendanceExportService.Format.NDJSON, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private long monthRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE work_date BETWEEN ? AND ?",
+                Long.class, START, END);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.hr_service;
+
+import com.example.hr_service.service.AttendanceArchiveService;
+import com.example.hr_service.service.AttendanceExportService;
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.support.SqlStatementCounter;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 기간 근태 CSV 내보내기: 값 이스케이프, 보관된 달과 테이블 달이 같은 형식, gzip 결과가 같은 내용
+ *
+ * AttendanceArchiveTest 와 같은 설정 (컨텍스트 공유)
+ */
+@SpringBootTest(properties = "attendance.archive.dir=target/test-archive/${random.uuid}")
+@Import(SqlStatementCounter.class)
+class AttendanceCsvExportTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final LocalDate START = LocalDate.of(2025, 5, 30);
+    private static final LocalDate END = LocalDate.of(2025, 6, 2);
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportsCsvFromTableAndArchive() throws Exception {
+        String first = insertEmployee("김\"철수\"", "생산,1팀");
+        String second = insertEmployee("=SUM(A1)", "품질");
+        long firstId = employeeId(first);
+        long secondId = employeeId(second);
+        insertLog(firstId, LocalDate.of(2025, 5, 30), "08:50:10", "18:00:00", "정상퇴근", 480, 96_000);
+        insertLog(secondId, LocalDate.of(2025, 5, 30), null, null, "결근", 0, 0);
+        insertLog(firstId, LocalDate.of(2025, 6, 2), "09:10:00", null, "지각", null, null);
+        insertLog(secondId, LocalDate.of(2025, 6, 2), "08:30:00", "17:30:05", "정상퇴근", 480, 96_000);
+
+        String hot = csv(false);
+        assertTrue(hot.startsWith("\uFEFF사번,이름,부서,근무일,출근,퇴근,상태,근무분,일당\r\n"), hot);
+        assertEquals(List.of(
+                first + ",\"김\"\"철수\"\"\",\"생산,1팀\",2025-05-30,08:50:10,18:00:00,정상퇴근,480,96000",
+                second + ",'=SUM(A1),품질,2025-05-30,,,결근,0,0",
+                first + ",\"김\"\"철수\"\"\",\"생산,1팀\",2025-06-02,09:10:00,,지각,,",
+                second + ",'=SUM(A1),품질,2025-06-02,08:30:00,17:30:05,정상퇴근,480,96000"
+        ), lines(hot, first, second));
+
+        // 5월을 보관 파일로 옮겨도 같은 내용
+        payrollService.close(2025, 5);
+        archiveService.archive(2025, 5);
+        assertTrue(archiveService.isArchived(2025, 5));
+        assertEquals(lines(hot, first, second), lines(csv(false), first, second));
+
+        // gzip 은 압축만 다름
+        byte[] compressed = bytes(true);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(bytes(false), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void rejectsInvalidRange() {
+        RuntimeException reversed = assertThrows(RuntimeException.class,
+                () -> exportService.checkCsvRange(END, START));
+        assertEquals("종료일이 시작일보다 앞입니다.", reversed.getMessage());
+
+        RuntimeException tooLong = assertThrows(RuntimeException.class,
+                () -> exportService.checkCsvRange(START, START.plusDays(366)));
+        assertEquals("내보내기 기간은 최대 366일입니다.", tooLong.getMessage());
+        exportService.checkCsvRange(START, START.plusDays(365));
+    }
+
+    private String csv(boolean gzip) throws Exception {
+        return new String(bytes(gzip), StandardCharsets.UTF_8);
+    }
+
+    private byte[] bytes(boolean gzip) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeCsv(START, END, gzip, out);
+        return out.toByteArray();
+    }
+
+    // 다른 테스트 데이터를 제외한 이 테스트 사원 행만
+    private List<String> lines(String csv, String... numbers) {
+        return Arrays.stream(csv.split("\r\n"))
+                .filter(line -> Arrays.stream(numbers).anyMatch(number -> line.startsWith(number + ",")))
+                .toList();
+    }
+
+    private String insertEmployee(String name, String department) {
+        String number = String.format("C%06d", SEQUENCE.incrementAndGet());
+        TestEmployees.insertOne(jdbcTemplate, number, name, department);
+        return number;
+    }
+
+    private long employeeId(String number) {
+        return jdbcTemplate.queryForObject("SELECT id FROM employee WHERE employee_number = ?", Long.class, number);
+    }
+
+    private void insertLog(long employeeId, LocalDate date, String checkIn, String checkOut, String status,
+                           Integer minutes, Integer wage) {
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                employeeId, date, checkIn, checkOut, status, minutes, wage);
+    }
+}
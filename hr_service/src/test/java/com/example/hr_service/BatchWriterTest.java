@@ -0,0 +1,141 @@
+package com.example.hr_service;
+
+import com.example.hr_service.service.BatchWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * write-behind 공통 writer: batch-size 단위 묶음, batch 실패 시 건별 재시도, 큐 포화, 종료 시 남은 큐 기록
+ */
+class BatchWriterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer flushTimer = registry.timer("test.flush");
+    private final DistributionSummary batchSizes = registry.summary("test.batch.size");
+    private final List<List<Integer>> writes = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> succeeded = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+    private BatchWriter<Integer> writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) writer.stop(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void groupsQueuedItemsUpToBatchSize() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = start(10, 3, batch -> {
+            if (batch.contains(0)) {
+                started.countDown();
+                await(release);
+            }
+        });
+
+        // 첫 batch 기록 중에 7건이 쌓임 -> 3/3/1 로 나눠 기록
+        assertTrue(writer.offer(0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 7; i++) assertTrue(writer.offer(i));
+        assertEquals(8, writer.size(), "기록 중 1 + 대기 7");
+        release.countDown();
+
+        writer.stop(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(0), List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), writes);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), succeeded);
+        assertEquals(List.of(), failed);
+        assertEquals(4, flushTimer.count());
+        assertEquals(8, batchSizes.totalAmount());
+    }
+
+    @Test
+    void retriesEachItemWhenBatchFails() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = start(10, 10, batch -> {
+            if (batch.contains(0)) {
+                started.countDown();
+                await(release);
+            }
+            if (batch.contains(3)) throw new IllegalStateException("bad row");
+        });
+        writer.offer(0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) writer.offer(i);
+        release.countDown();
+
+        writer.stop(5, TimeUnit.SECONDS);
+        // batch 1회 실패 후 건별 5회
+        assertEquals(List.of(List.of(0), List.of(1, 2, 3, 4, 5),
+                List.of(1), List.of(2), List.of(3), List.of(4), List.of(5)), writes);
+        assertEquals(List.of(0, 1, 2, 4, 5), succeeded);
+        assertEquals(List.of(3), failed);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFullAndDrainsOnStop() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = start(2, 10, batch -> {
+            if (batch.contains(0)) {
+                started.countDown();
+                await(release);
+            }
+        });
+        writer.offer(0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.offer(1));
+        assertTrue(writer.offer(2));
+        assertFalse(writer.offer(3), "큐 용량 2");
+
+        release.countDown();
+        writer.stop(5, TimeUnit.SECONDS);
+        assertEquals(List.of(0, 1, 2), succeeded);
+        assertEquals(0, writer.size());
+    }
+
+    private BatchWriter<Integer> start(int capacity, int batchSize, Behavior behavior) {
+        return new BatchWriter<>("test-writer", "테스트", capacity, batchSize, new BatchWriter.Handler<>() {
+            @Override
+            public void write(List<Integer> batch) {
+                writes.add(List.copyOf(batch));
+                behavior.write(batch);
+            }
+
+            @Override
+            public void onSuccess(Integer item) {
+                succeeded.add(item);
+            }
+
+            @Override
+            public void onFailure(Integer item, RuntimeException e) {
+                assertEquals("bad row", e.getMessage());
+                failed.add(item);
+            }
+        }, flushTimer, batchSizes);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 기록 시 동작 (대기/실패 흉내)
+    private interface Behavior {
+        void write(List<Integer> batch);
+    }
+}
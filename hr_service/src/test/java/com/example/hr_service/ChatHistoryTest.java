@@ -0,0 +1,105 @@
+package com.example.hr_service;
+
+import com.example.hr_service.controller.ChatHistoryController;
+import com.example.hr_service.dto.ChatMessage;
+import com.example.hr_service.dto.ChatMessageResponse;
+import com.example.hr_service.service.ChatMessageWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅 메시지 보관/과거 메시지 조회: write-behind 보관, (room_id, id) keyset 페이지, 잘못된 요청
+ */
+@SpringBootTest
+class ChatHistoryTest {
+
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2025, 7, 1, 10, 0);
+
+    @Autowired
+    private ChatHistoryController chatHistoryController;
+
+    @Autowired
+    private ChatMessageWriter chatMessageWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesBackwardsByIdWithinRoom() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            ids.add(insert("page-room", "message " + i));
+            insert("other-room", "other " + i);
+        }
+
+        Map<String, Object> latest = page("page-room", null, 2);
+        assertEquals(List.of("message 4", "message 5"), contents(latest), "페이지 안은 오래된 순");
+        assertEquals(ids.get(3), latest.get("nextCursor"));
+
+        Map<String, Object> previous = page("page-room", (Long) latest.get("nextCursor"), 2);
+        assertEquals(List.of("message 2", "message 3"), contents(previous));
+        assertEquals(ids.get(1), previous.get("nextCursor"));
+
+        Map<String, Object> last = page("page-room", (Long) previous.get("nextCursor"), 2);
+        assertEquals(List.of("message 1"), contents(last));
+        assertNull(last.get("nextCursor"), "더 이전 메시지 없음");
+
+        // 정확히 페이지 크기만큼 남은 경우도 다음 페이지 없음
+        assertNull(page("page-room", ids.get(2), 2).get("nextCursor"));
+        assertEquals(List.of(), contents(page("empty-room", null, 10)));
+    }
+
+    @Test
+    void clampsPageSizeAndRejectsInvalidRoom() {
+        for (int i = 0; i < 3; i++) insert("clamp-room", "m" + i);
+        assertEquals(1, contents(page("clamp-room", null, 0)).size(), "최소 1건");
+
+        ResponseEntity<?> invalid = chatHistoryController.getMessages("bad room!", null, 10);
+        assertEquals(400, invalid.getStatusCode().value());
+        assertEquals(Map.of("error", "잘못된 채팅방 ID: bad room!"), invalid.getBody());
+    }
+
+    @Test
+    void enqueuedMessagesBecomeVisibleInHistory() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(chatMessageWriter.enqueue("queued-room",
+                    new ChatMessage("sender" + i, "queued " + i, ChatMessage.MessageType.CHAT, SENT_AT.plusSeconds(i))));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<String> contents = List.of();
+        while (contents.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            contents = contents(page("queued-room", null, 10));
+        }
+        assertEquals(List.of("queued 1", "queued 2", "queued 3"), contents);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> page(String roomId, Long beforeId, int size) {
+        ResponseEntity<?> response = chatHistoryController.getMessages(roomId, beforeId, size);
+        assertEquals(200, response.getStatusCode().value());
+        return (Map<String, Object>) response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> contents(Map<String, Object> page) {
+        return ((List<ChatMessageResponse>) page.get("messages")).stream().map(ChatMessageResponse::content).toList();
+    }
+
+    private long insert(String roomId, String content) {
+        jdbcTemplate.update("INSERT INTO chat_message (room_id, sender, content, type, sent_at) VALUES (?, 'tester', ?, 'CHAT', ?)",
+                roomId, content, SENT_AT);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM chat_message WHERE room_id = ?", Long.class, roomId);
+    }
+}
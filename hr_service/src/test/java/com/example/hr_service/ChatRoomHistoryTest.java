@@ -0,0 +1,94 @@
+package com.example.hr_service;
+
+import com.example.hr_service.dto.ChatMessage;
+import com.example.hr_service.service.ChatRoomHistory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅방 최근 메시지 ring buffer: 슬롯 인코딩/디코딩, 긴 메시지 자르기, 슬롯 재사용 순서, slot-bytes 제한
+ */
+class ChatRoomHistoryTest {
+
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2025, 7, 1, 9, 30, 15, 123_000_000);
+
+    @Test
+    void encodesAndDecodesEveryField() {
+        ChatRoomHistory history = new ChatRoomHistory(4, 512, 10);
+        history.append("room-1", new ChatMessage("김철수", "안녕하세요 👋", ChatMessage.MessageType.CHAT, SENT_AT));
+        history.append("room-1", new ChatMessage(null, null, null, null));
+        history.append("room-1", new ChatMessage("", "", ChatMessage.MessageType.LEAVE, SENT_AT.plusSeconds(1)));
+
+        List<ChatMessage> recent = history.recent("room-1");
+        assertEquals(3, recent.size());
+        assertMessage(recent.get(0), "김철수", "안녕하세요 👋", ChatMessage.MessageType.CHAT, SENT_AT);
+        assertMessage(recent.get(1), null, null, null, null);
+        assertMessage(recent.get(2), "", "", ChatMessage.MessageType.LEAVE, SENT_AT.plusSeconds(1));
+        assertEquals(List.of(), history.recent("room-2"));
+    }
+
+    @Test
+    void truncatesStoredCopyWithoutSplittingCharacters() {
+        // 슬롯 64바이트: 헤더 12 + sender 최대 (64 - 12) / 4 = 13바이트 + content 나머지
+        ChatRoomHistory history = new ChatRoomHistory(2, 64, 10);
+        String sender = "가나다라마바사";
+        String content = "a" + "한".repeat(30);
+        ChatMessage original = new ChatMessage(sender, content, ChatMessage.MessageType.CHAT, SENT_AT);
+        history.append("room", original);
+
+        ChatMessage stored = history.recent("room").get(0);
+        assertEquals("가나다라", stored.getSender(), "13바이트 안에서 3바이트 글자 단위로 자름");
+        assertEquals("a" + "한".repeat(13), stored.getContent(), "64 - 12 - 12 = 40바이트 안에서 자름");
+        assertEquals(content, original.getContent(), "방송되는 메시지는 그대로");
+    }
+
+    @Test
+    void wrapsAroundKeepingLatestInOrder() {
+        ChatRoomHistory history = new ChatRoomHistory(3, 128, 10);
+        for (int i = 1; i <= 7; i++) {
+            history.append("room", new ChatMessage("user" + i, "message " + i, ChatMessage.MessageType.CHAT, SENT_AT.plusMinutes(i)));
+            int expected = Math.min(i, 3);
+            assertEquals(expected, history.recent("room").size());
+        }
+        List<ChatMessage> recent = history.recent("room");
+        assertEquals(List.of("message 5", "message 6", "message 7"), recent.stream().map(ChatMessage::getContent).toList());
+        assertEquals(SENT_AT.plusMinutes(7), recent.get(2).getSentAt());
+
+        // 긴 메시지가 짧은 메시지 슬롯을 덮어써도 앞 기록이 섞이지 않음
+        history.append("room", new ChatMessage("user8", "x".repeat(500), ChatMessage.MessageType.CHAT, SENT_AT));
+        history.append("room", new ChatMessage("user9", "y", ChatMessage.MessageType.CHAT, SENT_AT));
+        assertEquals(List.of("message 7", "x".repeat(128 - 12 - 5), "y"),
+                history.recent("room").stream().map(ChatMessage::getContent).toList());
+    }
+
+    @Test
+    void largestSlotKeepsFullContentDistinctFromNull() {
+        ChatRoomHistory history = new ChatRoomHistory(1, 0xFFFF, 10);
+        String content = "z".repeat(0xFFFF);
+        history.append("room", new ChatMessage(null, content, ChatMessage.MessageType.CHAT, SENT_AT));
+
+        String stored = history.recent("room").get(0).getContent();
+        assertNotNull(stored);
+        assertEquals(0xFFFF - 12, stored.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void rejectsSlotLargerThanContentLengthField() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new ChatRoomHistory(10, 0x10000, 10));
+        assertEquals("attendance.chat.slot-bytes 는 65535 이하여야 합니다: 65536", error.getMessage());
+    }
+
+    private static void assertMessage(ChatMessage message, String sender, String content, ChatMessage.MessageType type,
+                                      LocalDateTime sentAt) {
+        assertEquals(sender, message.getSender());
+        assertEquals(content, message.getContent());
+        assertEquals(type, message.getType());
+        assertEquals(sentAt, message.getSentAt());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.hr_service;
+
+import com.example.hr_service.config.CacheConfig;
+import com.example.hr_service.dto.EmployeeSnapshot;
+import com.example.hr_service.entity.Employee;
+import com.example.hr_service.repository.EmployeeRepository;
+import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.service.LeaveLedgerService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 사원 캐시 무효화: 저장한 사원, 연차/병가 압축이 잔여를 맞추거나 외부 변경을 찾은 사원은 다시 읽음
+ */
+@SpringBootTest
+class EmployeeCacheTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceAdminService adminService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void seed() {
+        employeeId = TestEmployees.insertOne(jdbcTemplate, String.format("K%06d", SEQUENCE.incrementAndGet()), "캐시검사", "생산");
+        assertEquals(new EmployeeSnapshot(employeeId, "캐시검사", TestEmployees.HOURLY_RATE), snapshot());
+        assertNotNull(cacheManager.getCache(CacheConfig.EMPLOYEES).get(employeeId), "첫 조회 후 캐시");
+    }
+
+    @Test
+    void savedEmployeeIsReadAgain() {
+        Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+        employee.setName("이름변경");
+        employee.setHourlyRate(15_000);
+        employeeRepository.save(employee);
+
+        assertEquals(new EmployeeSnapshot(employeeId, "이름변경", 15_000), snapshot());
+    }
+
+    @Test
+    void leaveCompactionEvictsChangedEmployees() {
+        LocalDate day = LocalDate.of(2026, 3, 3);
+        adminService.updateAttendanceStatusBatch(employeeId.toString(), "반차", day, day);
+        snapshot();
+
+        // 압축이 사원 잔여 컬럼을 맞춤 -> 무효화
+        leaveLedgerService.compact();
+        assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES).get(employeeId));
+
+        // 밖에서 잔여와 이름을 함께 바꾼 경우 -> 압축이 외부 조정을 찾으면 무효화, 바뀐 이름을 다시 읽음
+        snapshot();
+        jdbcTemplate.update("UPDATE employee SET name = '외부변경', annual_leave = 30 WHERE id = ?", employeeId);
+        leaveLedgerService.compact();
+        assertEquals("외부변경", snapshot().name());
+    }
+
+    private EmployeeSnapshot snapshot() {
+        return employeeRepository.findSnapshotById(employeeId).orElseThrow();
+    }
+}
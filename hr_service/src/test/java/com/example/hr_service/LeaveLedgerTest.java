@@ -0,0 +1,119 @@
+package com.example.hr_service;
+
+import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.service.AttendanceService;
+import com.example.hr_service.service.LeaveLedgerService;
+import com.example.hr_service.service.LeaveLedgerService.Balance;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 연차/병가 원장: 동시 변경 시 갱신 손실 없음, 압축 후 스냅샷/사원 테이블 일치, 외부 조정 이력
+ */
+@SpringBootTest
+class LeaveLedgerTest {
+
+    private static final int THREADS = 16;
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceAdminService adminService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void seed() {
+        String number = String.format("L%06d", SEQUENCE.incrementAndGet());
+        employeeId = TestEmployees.insertOne(jdbcTemplate, number, "원장검사", "생산", TestEmployees.HOURLY_RATE, 20, 3);
+    }
+
+    @Test
+    void concurrentStatusUpdatesDoNotLoseLeave() throws Exception {
+        // 같은 사원의 서로 다른 날짜 기록을 동시에 연차로 변경
+        List<Long> logIds = new ArrayList<>();
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        for (int i = 0; i < THREADS; i++) {
+            jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, working_minutes, "
+                    + "daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", employeeId, day.plusDays(i));
+            logIds.add(jdbcTemplate.queryForObject("SELECT id FROM attendance WHERE employee_id = ? AND work_date = ?",
+                    Long.class, employeeId, day.plusDays(i)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long logId : logIds) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    attendanceService.updateAttendanceStatus(logId, "연차");
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(new Balance(20.0 - THREADS, 3), leaveLedgerService.balance(employeeId));
+        assertEquals((long) THREADS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_ledger WHERE employee_id = ? AND amount = -1.0", Long.class, employeeId));
+    }
+
+    @Test
+    void compactionFoldsTailAndSyncsEmployeeColumns() {
+        adminService.updateAttendanceStatusBatch(employeeId.toString(), "반차", LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 13));
+        adminService.updateAttendanceStatusBatch(employeeId.toString(), "병가", LocalDate.of(2026, 3, 12), LocalDate.of(2026, 3, 13));
+        // 반차 5일(-2.5), 그중 2일은 병가로 바뀌어 반차 복구(+1.0) + 병가 2일(-2)
+        Balance expected = new Balance(18.5, 1);
+        assertEquals(expected, leaveLedgerService.balance(employeeId));
+        assertEquals(new Balance(20.0, 3), employeeColumns(), "압축 전에는 사원 테이블을 바꾸지 않음");
+
+        Map<String, Integer> compacted = leaveLedgerService.compact();
+        assertEquals(expected, employeeColumns());
+        assertEquals(expected, leaveLedgerService.balance(employeeId));
+        assertEquals(0, leaveLedgerService.compact().get("folded"), "압축 후 남은 이력 없음: " + compacted);
+
+        // 인사 화면 등에서 사원 테이블 값을 직접 바꾸면 다음 압축 때 외부 조정 이력으로 반영
+        jdbcTemplate.update("UPDATE employee SET annual_leave = 25 WHERE id = ?", employeeId);
+        leaveLedgerService.compact();
+        assertEquals(new Balance(25.0, 1), leaveLedgerService.balance(employeeId));
+        assertEquals(6.5, jdbcTemplate.queryForObject("SELECT amount FROM leave_ledger WHERE employee_id = ? "
+                + "AND reason = '외부 조정'", Double.class, employeeId));
+
+        // 감사용 이력: 추가한 모든 증감이 남아 있음 (반차 5 + 반차 복구 2 + 병가 2 + 외부 조정 1)
+        assertEquals(10L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leave_ledger WHERE employee_id = ?",
+                Long.class, employeeId));
+    }
+
+    private Balance employeeColumns() {
+        return jdbcTemplate.queryForObject("SELECT annual_leave, sick_leave FROM employee WHERE id = ?",
+                (rs, n) -> new Balance(rs.getObject(1, Double.class), rs.getObject(2, Integer.class)), employeeId);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.hr_service;
+
+import com.example.hr_service.entity.PayrollSnapshot;
+import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 월 급여 마감: 상태별 집계, 재실행/동시 실행 시 같은 결과, 마감 후 근태 변경과 무관한 급여 요약
+ *
+ * 구간 2명 x 스레드 4개로 두어 적은 사원 수로도 여러 구간이 병렬로 처리되게 함
+ */
+@SpringBootTest(properties = {"attendance.payroll.close.partition-size=2", "attendance.payroll.close.parallelism=4"})
+class PayrollCloseTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private AttendanceAdminService adminService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void closeAggregatesStatusesAndNeverChangesSnapshot() {
+        Long id = employee("생산", 10_000);
+        LocalDate day = LocalDate.of(2025, 11, 3);
+        attendance(id, day, "정상퇴근", 480, 80_000);
+        attendance(id, day.plusDays(1), "정상퇴근", 480, 80_000);
+        attendance(id, day.plusDays(2), "지각/퇴근", 400, 66_666);
+        attendance(id, day.plusDays(3), "연차", 480, 80_000);
+        attendance(id, day.plusDays(4), "반차", 240, 40_000);
+        attendance(id, day.plusDays(7), "결근", 0, 0);
+        attendance(id, day.plusDays(8), "병가(무급)", 0, 0);
+
+        Map<String, Object> first = payrollService.close(2025, 11);
+        assertEquals(true, first.get("closedNow"));
+        PayrollSnapshot snapshot = snapshot(id, 2025, 11);
+        assertEquals(7, snapshot.getWorkDays());
+        assertEquals(2080L, snapshot.getTotalMinutes());
+        assertEquals(1.5, snapshot.getPaidLeaveDays());
+        assertEquals(2, snapshot.getUnpaidDays());
+        assertEquals(1, snapshot.getLateCount());
+        assertEquals(346_666L, snapshot.getGrossWage());
+        assertEquals(10_000, snapshot.getHourlyRate());
+
+        // 마감 후 근태/시급 변경 -> 재마감은 아무것도 쓰지 않고 급여 요약은 마감 값 그대로
+        attendance(id, day.plusDays(9), "정상퇴근", 480, 80_000);
+        jdbcTemplate.update("UPDATE employee SET hourly_rate = 20000 WHERE id = ?", id);
+        Map<String, Object> again = payrollService.close(2025, 11);
+        assertEquals(false, again.get("closedNow"));
+        assertEquals(first.get("grossTotal"), again.get("grossTotal"));
+        assertEquals(first.get("closedAt"), again.get("closedAt"));
+        assertEquals(snapshot.getClosedAt(), snapshot(id, 2025, 11).getClosedAt());
+        assertEquals(346_666L, payrollService.monthlyWages(2025, 11).get(id));
+        assertEquals(346_666L, adminService.calculateMonthlySalary(id, 2025, 11));
+    }
+
+    @Test
+    void partialAndConcurrentClosesProduceOneSnapshotPerEmployee() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            Long id = employee(i % 2 == 0 ? "생산" : "품질", 12_000);
+            attendance(id, LocalDate.of(2025, 10, 1), "정상퇴근", 480, 96_000);
+            ids.add(id);
+        }
+        // 이전 실행이 중간에 실패해 일부 사원 스냅샷만 남은 상태 -> 기존 행은 유지하고 나머지만 채움
+        jdbcTemplate.update("INSERT INTO payroll_snapshot (employee_id, pay_year, pay_month, department, hourly_rate, "
+                + "monthly_salary, work_days, total_minutes, paid_leave_days, unpaid_days, late_count, gross_wage, closed_at) "
+                + "VALUES (?, 2025, 10, '생산', 12000, 0, 1, 480, 0, 0, 0, 96000, CURRENT_TIMESTAMP)", ids.get(0));
+        assertFalse(payrollService.isClosed(2025, 10), "표시 행이 없으면 마감 전");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Map<String, Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return payrollService.close(2025, 10);
+                }));
+            }
+            start.countDown();
+            for (Future<Map<String, Object>> future : futures) future.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(payrollService.isClosed(2025, 10));
+        for (Long id : ids) {
+            assertEquals(1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payroll_snapshot WHERE employee_id = ? "
+                    + "AND pay_year = 2025 AND pay_month = 10", Long.class, id));
+            assertEquals(96_000L, payrollService.monthlyWage(id, 2025, 10));
+        }
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payroll_close WHERE pay_year = 2025 "
+                + "AND pay_month = 10", Long.class));
+        assertEquals(5, payrollService.snapshots(2025, 10, "생산").stream().filter(s -> ids.contains(s.getEmployeeId())).count());
+    }
+
+    @Test
+    void openMonthCannotBeClosed() {
+        YearMonth now = YearMonth.now();
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> payrollService.close(now.getYear(), now.getMonthValue()));
+        assertEquals("아직 끝나지 않은 달은 마감할 수 없습니다.", e.getMessage());
+        assertFalse(payrollService.isClosed(now.getYear(), now.getMonthValue()));
+    }
+
+    @Test
+    void defaultParallelismLeavesConnectionsForRequests() {
+        PayrollService service = new PayrollService(null, null, null, null, null);
+        ReflectionTestUtils.setField(service, "reservedConnections", 2);
+        int cpus = Runtime.getRuntime().availableProcessors();
+
+        ReflectionTestUtils.setField(service, "maxPoolSize", 3);
+        assertEquals(1, (int) ReflectionTestUtils.invokeMethod(service, "threads"), "풀 3 - 예비 2");
+        ReflectionTestUtils.setField(service, "maxPoolSize", 2);
+        assertEquals(1, (int) ReflectionTestUtils.invokeMethod(service, "threads"), "최소 1");
+        ReflectionTestUtils.setField(service, "maxPoolSize", cpus + 10);
+        assertEquals(cpus, (int) ReflectionTestUtils.invokeMethod(service, "threads"), "풀이 넉넉하면 CPU 수");
+
+        // 직접 지정한 값은 그대로
+        ReflectionTestUtils.setField(service, "parallelism", 6);
+        assertEquals(6, (int) ReflectionTestUtils.invokeMethod(service, "threads"));
+    }
+
+    private Long employee(String department, int hourlyRate) {
+        String number = String.format("P%06d", SEQUENCE.incrementAndGet());
+        return TestEmployees.insertOne(jdbcTemplate, number, "마감검사", department, hourlyRate, 15, 5);
+    }
+
+    private void attendance(Long employeeId, LocalDate date, String status, int minutes, int wage) {
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, status, working_minutes, daily_wage) "
+                + "VALUES (?, ?, ?, ?, ?)", employeeId, date, status, minutes, wage);
+    }
+
+    private PayrollSnapshot snapshot(Long employeeId, int year, int month) {
+        return jdbcTemplate.queryForObject("SELECT * FROM payroll_snapshot WHERE employee_id = ? AND pay_year = ? "
+                + "AND pay_month = ?", (rs, n) -> PayrollSnapshot.builder()
+                .employeeId(rs.getLong("employee_id"))
+                .hourlyRate(rs.getInt("hourly_rate"))
+                .workDays(rs.getInt("work_days"))
+                .totalMinutes(rs.getLong("total_minutes"))
+                .paidLeaveDays(rs.getDouble("paid_leave_days"))
+                .unpaidDays(rs.getInt("unpaid_days"))
+                .lateCount(rs.getInt("late_count"))
+                .grossWage(rs.getLong("gross_wage"))
+                .closedAt(rs.getTimestamp("closed_at").toLocalDateTime())
+                .build(), employeeId, year, month);
+    }
+}
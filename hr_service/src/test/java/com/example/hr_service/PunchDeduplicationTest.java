@@ -0,0 +1,238 @@
+package com.example.hr_service;
+
+import com.example.hr_service.dto.PunchReceipt;
+import com.example.hr_service.service.AttendanceService;
+import com.example.hr_service.service.PunchDeduplicator;
+import com.example.hr_service.service.PunchDeduplicator.Action;
+import com.example.hr_service.support.SqlStatementCounter;
+import com.example.hr_service.support.SqlStatementCounter.Statements;
+import com.example.hr_service.support.TestEmployees;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 한 사원에게 동시에 출퇴근 요청을 몰아 넣어 중복 처리 검사
+ *
+ * 1. 같은 Idempotency-Key: 모두 200 + 같은 결과, 기록 1건, 첫 요청 외에는 DB 문장 없음
+ * 2. 키 없음: 1건만 성공, 나머지는 기존과 같은 중복 오류
+ * 3. 첫 요청이 실패하면 (Error 포함) 다음 요청이 다시 처리
+ * 4. 다른 경로(단건 상태 변경)가 오늘 기록을 바꾸면 메모리 결과를 버림 (상태 변경 지표 outcome 은 ok/rejected/error 만)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SqlStatementCounter.class)
+class PunchDeduplicationTest {
+
+    private static final int THREADS = 64;
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PunchDeduplicator punchDeduplicator;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private Long employeeId;
+
+    @BeforeEach
+    void seed() {
+        // 메모리 중복 기록과 겹치지 않도록 테스트마다 새 사원
+        String number = String.format("D%06d", SEQUENCE.incrementAndGet());
+        employeeId = TestEmployees.insertOne(jdbcTemplate, number, "중복검사", "생산");
+    }
+
+    @Test
+    void sameKeyIsReplayedWithoutDatabase() throws Exception {
+        List<HttpResponse<String>> checkIns = new ArrayList<>();
+        Statements statements = sqlStatementCounter.count(() -> checkIns.addAll(hammer("/api/attendance/check-in", "kiosk-1-in")));
+
+        checkIns.forEach(r -> assertEquals(200, r.statusCode(), r.body()));
+        assertEquals(1, checkIns.stream().map(HttpResponse::body).distinct().count(), "모든 응답이 첫 결과와 같아야 함");
+        assertEquals(THREADS - 1, replayed(checkIns));
+        assertEquals(1, todayRows());
+        assertTrue(statements.total() <= 3, "첫 요청만 DB 를 거쳐야 함: " + statements);
+
+        List<HttpResponse<String>> checkOuts = new ArrayList<>();
+        statements = sqlStatementCounter.count(() -> checkOuts.addAll(hammer("/api/attendance/check-out", "kiosk-1-out")));
+
+        checkOuts.forEach(r -> assertEquals(200, r.statusCode(), r.body()));
+        assertEquals(1, checkOuts.stream().map(HttpResponse::body).distinct().count());
+        assertEquals(THREADS - 1, replayed(checkOuts));
+        assertTrue(statements.total() <= 2, "첫 요청만 DB 를 거쳐야 함: " + statements);
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE employee_id = ? "
+                + "AND work_date = ? AND check_out IS NOT NULL", Long.class, employeeId, LocalDate.now()));
+    }
+
+    @Test
+    void withoutKeyOnlyFirstSucceeds() throws Exception {
+        List<HttpResponse<String>> responses = hammer("/api/attendance/check-in", null);
+
+        assertEquals(1, responses.stream().filter(r -> r.statusCode() == 200).count());
+        responses.stream().filter(r -> r.statusCode() != 200).forEach(r -> {
+            assertEquals(400, r.statusCode());
+            assertTrue(r.body().contains("이미 오늘 기록이 존재합니다."), r.body());
+        });
+        assertEquals(0, replayed(responses));
+        assertEquals(1, todayRows());
+
+        // 다른 키로 다시 와도 중복 오류
+        HttpResponse<String> other = send("/api/attendance/check-in", "kiosk-2-in");
+        assertEquals(400, other.statusCode());
+    }
+
+    @Test
+    void failedAttemptIsRetried() throws Exception {
+        // 출근 전 퇴근은 실패 -> 보관하지 않으므로 출근 후 같은 키로 다시 처리됨
+        HttpResponse<String> early = send("/api/attendance/check-out", "kiosk-3-out");
+        assertEquals(400, early.statusCode());
+        assertTrue(early.body().contains("출근 기록 없음"), early.body());
+
+        assertEquals(200, send("/api/attendance/check-in", "kiosk-3-in").statusCode());
+        HttpResponse<String> retried = send("/api/attendance/check-out", "kiosk-3-out");
+        assertEquals(200, retried.statusCode(), retried.body());
+        assertTrue(retried.headers().firstValue("Idempotent-Replayed").isEmpty());
+    }
+
+    @Test
+    void statusUpdateResetsRememberedPunch() throws Exception {
+        assertEquals(200, send("/api/attendance/check-in", "kiosk-4-in").statusCode());
+        assertEquals(200, send("/api/attendance/check-in", "kiosk-4-in").statusCode(), "변경 전에는 첫 결과 재사용");
+
+        Long logId = jdbcTemplate.queryForObject("SELECT id FROM attendance WHERE employee_id = ? AND work_date = ?",
+                Long.class, employeeId, LocalDate.now());
+        attendanceService.updateAttendanceStatus(logId, "연차");
+
+        // 바뀌기 전 결과(출근)를 재사용하지 않고 DB 기준으로 다시 검사
+        HttpResponse<String> after = send("/api/attendance/check-in", "kiosk-4-in");
+        assertEquals(400, after.statusCode(), after.body());
+        assertTrue(after.body().contains("이미 오늘 기록이 존재합니다."), after.body());
+        assertTrue(after.headers().firstValue("Idempotent-Replayed").isEmpty());
+    }
+
+    @Test
+    void errorInFirstPunchFreesSlot() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = pool.submit(() -> punchDeduplicator.submit(employeeId, Action.CHECK_IN, "kiosk-6-in", () -> {
+                running.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError("출근 처리 중 Error");
+            }));
+            running.await();
+            PunchReceipt receipt = new PunchReceipt("중복검사", "출근", LocalTime.of(8, 50), true);
+            Future<PunchDeduplicator.Result> waiting = pool.submit(
+                    () -> punchDeduplicator.submit(employeeId, Action.CHECK_IN, "kiosk-6-in", () -> receipt));
+            fail.countDown();
+
+            ExecutionException error = assertThrows(ExecutionException.class, first::get);
+            assertInstanceOf(StackOverflowError.class, error.getCause());
+            // 기다리던 요청은 시간 초과 없이 바로 다시 처리
+            assertEquals(new PunchDeduplicator.Result(receipt, false), waiting.get(2, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void statusUpdateOutcomeDoesNotUseRequestedStatus() throws Exception {
+        assertEquals(200, send("/api/attendance/check-in", "kiosk-5-in").statusCode());
+        Long logId = jdbcTemplate.queryForObject("SELECT id FROM attendance WHERE employee_id = ? AND work_date = ?",
+                Long.class, employeeId, LocalDate.now());
+        attendanceService.updateAttendanceStatus(logId, "임의상태-" + SEQUENCE.incrementAndGet());
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> attendanceService.updateAttendanceStatus(-1L, "연차"));
+        assertEquals("로그 없음", missing.getMessage());
+
+        Set<String> outcomes = new TreeSet<>();
+        for (Timer timer : meterRegistry.find("attendance.punch").tag("action", "status_update").timers()) {
+            outcomes.add(timer.getId().getTag("outcome"));
+        }
+        assertTrue(outcomes.containsAll(Set.of("ok", "rejected")), outcomes.toString());
+        assertTrue(Set.of("ok", "rejected", "error", "rollback").containsAll(outcomes), outcomes.toString());
+    }
+
+    private List<HttpResponse<String>> hammer(String path, String key) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<HttpResponse<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return send(path, key);
+                }));
+            }
+            start.countDown();
+            List<HttpResponse<String>> responses = new ArrayList<>();
+            for (Future<HttpResponse<String>> future : futures) responses.add(future.get());
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private HttpResponse<String> send(String path, String key) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"id\": " + employeeId + "}"));
+        if (key != null) request.header("Idempotency-Key", key);
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long replayed(List<HttpResponse<String>> responses) {
+        return responses.stream().filter(r -> r.headers().firstValue("Idempotent-Replayed").isPresent()).count();
+    }
+
+    private long todayRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND work_date = ?",
+                Long.class, employeeId, LocalDate.now());
+    }
+}
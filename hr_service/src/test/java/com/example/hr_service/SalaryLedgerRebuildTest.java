@@ -0,0 +1,76 @@
+package com.example.hr_service;
+
+import com.example.hr_service.service.SalaryLedgerService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 급여 원장 재계산: 재계산과 동시에 커밋되는 근태 변경의 증감이 사라지지 않음
+ */
+@SpringBootTest
+class SalaryLedgerRebuildTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private SalaryLedgerService salaryLedgerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildDoesNotLoseConcurrentDelta() throws Exception {
+        Long id = TestEmployees.insertOne(jdbcTemplate, "R000001", "원장검사", "생산");
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, working_minutes, "
+                + "daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", id, DAY);
+        salaryLedgerService.rebuild(2025, 3);
+        // 원장이 어긋나 재계산이 보정해야 하는 상태
+        jdbcTemplate.update("UPDATE salary_ledger SET total_wage = 0, total_minutes = 0 WHERE employee_id = ?", id);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch applied = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            // 근태 수정 + 원장 증감까지 마치고 커밋 직전에 멈춘 트랜잭션
+            Future<?> writer = pool.submit(() -> transactionTemplate.executeWithoutResult(tx -> {
+                jdbcTemplate.update("UPDATE attendance SET daily_wage = 50000, working_minutes = 300 "
+                        + "WHERE employee_id = ? AND work_date = ?", id, DAY);
+                salaryLedgerService.applyChange(id, DAY, 96_000, 50_000, 480, 300);
+                applied.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(applied.await(10, TimeUnit.SECONDS));
+
+            Future<Map<String, Object>> rebuild = pool.submit(() -> salaryLedgerService.rebuild(2025, 3));
+            Thread.sleep(300);
+            assertFalse(rebuild.isDone(), "원장 행 잠금을 기다린 뒤 합산");
+
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+            assertEquals(1, rebuild.get(10, TimeUnit.SECONDS).get("corrected"));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(Map.of("total_wage", 50_000L, "total_minutes", 300L), jdbcTemplate.queryForMap(
+                "SELECT total_wage, total_minutes FROM salary_ledger WHERE employee_id = ? AND work_year = 2025 "
+                        + "AND work_month = 3", id));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.hr_service;
+
+import com.example.hr_service.service.AttendanceScheduler;
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.service.SalaryLedgerService;
+import com.example.hr_service.support.SqlStatementCounter;
+import com.example.hr_service.support.SqlStatementCounter.Statements;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 요청/서비스 호출 1회당 SQL 문장 수 예산 (N+1 회귀 방지)
+ *
+ * 사원 50명 x 2026년 4월 근무일 22일을 넣어 두고, 사원 수/기록 수에 비례하지 않는 고정 예산으로 검사
+ * 예산을 넘으면 실제 문장 수(select/insert/update/delete)와 함께 실패
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SqlStatementCounter.class)
+class SqlStatementBudgetTest {
+
+    private static final int EMPLOYEES = 50;
+    private static final LocalDate START = LocalDate.of(2026, 4, 1);
+    private static final LocalDate END = LocalDate.of(2026, 4, 30);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalaryLedgerService salaryLedgerService;
+
+    @Autowired
+    private AttendanceScheduler attendanceScheduler;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    void seed() {
+        TestEmployees.clear(jdbcTemplate);
+        employeeIds = TestEmployees.insert(jdbcTemplate, "B", EMPLOYEES, i -> i % 2 == 0 ? "생산" : "품질");
+
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : employeeIds) {
+            for (LocalDate day = START; !day.isAfter(END); day = day.plusDays(1)) {
+                if (day.getDayOfWeek().getValue() >= 6) continue;
+                logs.add(new Object[]{id, day});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", logs);
+        salaryLedgerService.rebuild(START.getYear(), START.getMonthValue());
+    }
+
+    @Test
+    void monthlyReadEndpoints() throws Exception {
+        assertBudget("전 사원 월간 조회", 1, () -> get("/api/admin/attendance/monthly/all?year=2026&month=4"));
+        assertBudget("사원 월간 조회", 1, () -> get("/api/admin/attendance/monthly/" + employeeIds.get(0) + "?year=2026&month=4"));
+        // 마감 전: 마감 여부 확인 1 + 원장/GROUP BY 1
+        assertBudget("월급 요약 (원장)", 2, () -> get("/api/admin/attendance/salary/all-summary?year=2026&month=4"));
+        assertBudget("월급 요약 (부서 집계)", 2, () -> get("/api/admin/attendance/salary/all-summary?year=2026&month=4&department=생산"));
+
+        // 마감 후: 마감 여부는 메모리에서 확인, 스냅샷 조회 1
+        payrollService.close(2026, 4);
+        assertBudget("월급 요약 (마감 스냅샷)", 1, () -> get("/api/admin/attendance/salary/all-summary?year=2026&month=4"));
+        assertBudget("월급 요약 (마감 스냅샷 상세)", 1,
+                () -> get("/api/admin/attendance/salary/all-summary?year=2026&month=4&department=생산&detail=true"));
+    }
+
+    @Test
+    void adminBatchForAllEmployees() throws Exception {
+        String range = "\"date\": \"2026-04-06\", \"endDate\": \"2026-04-10\"";
+        // 알림용 월 급여 조회 전 마감 여부 확인 1, 구 ADMIN_UPDATE 용 월 기록 조회 1 포함
+        assertBudget("전 사원 일괄 수정 (5일)", 10,
+                () -> send("POST", "/api/admin/attendance/update", "{\"employeeId\": \"all\", \"status\": \"연차\", " + range + "}"));
+        assertBudget("전 사원 일괄 삭제 (5일)", 11,
+                () -> send("DELETE", "/api/admin/attendance/delete", "{\"employeeId\": \"all\", " + range + "}"));
+    }
+
+    @Test
+    void punchPerRequest() throws Exception {
+        jdbcTemplate.update("DELETE FROM attendance WHERE work_date = ?", LocalDate.now());
+        String body = "{\"id\": " + employeeIds.get(0) + "}";
+        assertBudget("출근", 3, () -> send("POST", "/api/attendance/check-in", body));
+        assertBudget("퇴근", 2, () -> send("POST", "/api/attendance/check-out", body));
+    }
+
+    @Test
+    void schedulerJobs() throws Exception {
+        LocalDate day = LocalDate.of(2026, 5, 4);
+        List<Object[]> open = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES / 2; i++) open.add(new Object[]{employeeIds.get(i), day});
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, status) "
+                + "VALUES (?, ?, '09:10:00', '지각')", open);
+
+        assertBudget("퇴근 미처리 마감", 6, () -> attendanceScheduler.closeMissingCheckOuts(day));
+        assertBudget("결근 처리", 2, () -> attendanceScheduler.markAbsentees(day));
+    }
+
+    private void assertBudget(String name, long budget, SqlStatementCounter.Action action) throws Exception {
+        Statements statements = sqlStatementCounter.count(action);
+        assertTrue(statements.total() <= budget, name + " - 예산 " + budget + "문장 초과: " + statements);
+    }
+
+    private void get(String path) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+    }
+
+    private void send(String method, String path, String body) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+    }
+}
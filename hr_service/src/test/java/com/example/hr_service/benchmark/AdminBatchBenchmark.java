@@ -0,0 +1,113 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.service.AttendanceAdminService;
+import com.example.hr_service.service.LeaveLedgerService;
+import com.example.hr_service.service.SalaryLedgerService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 관리자 일괄 수정/삭제: 기존 건별 처리 vs set 기반 처리 (1,000명 x 근무일 22일)
+ *
+ * 실행: ./mvnw test -Dtest=AdminBatchBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AdminBatchBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+    private static final LocalDate START = LocalDate.of(2026, 4, 1); // 2026년 4월 근무일 22일
+    private static final LocalDate END = LocalDate.of(2026, 4, 30);
+
+    @Autowired
+    private AttendanceAdminService adminService;
+
+    @Autowired
+    private SalaryLedgerService salaryLedgerService;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacyLoopVsBulkEngine() {
+        useBulkEngine(false);
+        seed();
+        long legacyUpdate = timed(() -> adminService.updateAttendanceStatusBatch("all", "연차", START, END));
+        List<String> legacyAfterUpdate = snapshot();
+        long legacyDelete = timed(() -> adminService.deleteAttendanceBatch("all", START, END));
+        List<String> legacyAfterDelete = snapshot();
+
+        useBulkEngine(true);
+        seed();
+        long bulkUpdate = timed(() -> adminService.updateAttendanceStatusBatch("all", "연차", START, END));
+        List<String> bulkAfterUpdate = snapshot();
+        long bulkDelete = timed(() -> adminService.deleteAttendanceBatch("all", START, END));
+        List<String> bulkAfterDelete = snapshot();
+
+        System.out.printf("[일괄 수정] 건별: %,d ms / set 기반: %,d ms%n", legacyUpdate, bulkUpdate);
+        System.out.printf("[일괄 삭제] 건별: %,d ms / set 기반: %,d ms%n", legacyDelete, bulkDelete);
+
+        // 두 방식의 결과(근태 기록, 잔여 연차/병가)가 같아야 함
+        assertSameState(legacyAfterUpdate, bulkAfterUpdate);
+        assertSameState(legacyAfterDelete, bulkAfterDelete);
+    }
+
+    private void assertSameState(List<String> expected, List<String> actual) {
+        for (int i = 0; i < Math.min(expected.size(), actual.size()); i++) {
+            assertEquals(expected.get(i), actual.get(i), "첫 번째 불일치 행: " + i);
+        }
+        assertEquals(expected.size(), actual.size());
+    }
+
+    private void useBulkEngine(boolean enabled) {
+        AttendanceAdminService target = AopTestUtils.getTargetObject(adminService);
+        ReflectionTestUtils.setField(target, "bulkEngineEnabled", enabled);
+    }
+
+    private long timed(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    // 잔여 연차를 0~24일로 분산해 연차부족이 섞이도록 하고, 3명 중 1명은 기존 병가 기록을 둠
+    private void seed() {
+        TestEmployees.clear(jdbcTemplate);
+        TestEmployees.insert(jdbcTemplate, "E", EMPLOYEES, i -> "생산", i -> i % 25, 2);
+
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, work_date, status, working_minutes, daily_wage) "
+                + "SELECT e.id, ?, '병가', 480, 96000 FROM employee e "
+                + "WHERE MOD(CAST(SUBSTRING(e.employee_number, 2) AS INT), 3) = 0", START);
+        salaryLedgerService.rebuild(START.getYear(), START.getMonthValue());
+    }
+
+    private List<String> snapshot() {
+        List<String> rows = new ArrayList<>(jdbcTemplate.query(
+                "SELECT e.employee_number, a.work_date, a.status, a.working_minutes, a.daily_wage "
+                        + "FROM attendance a JOIN employee e ON e.id = a.employee_id ORDER BY e.employee_number, a.work_date",
+                (rs, n) -> rs.getString(1) + "|" + rs.getString(2) + "|" + rs.getString(3) + "|" + rs.getInt(4) + "|" + rs.getInt(5)));
+        // 잔여 연차/병가는 원장 압축 후 사원 테이블에 반영됨
+        leaveLedgerService.compact();
+        rows.addAll(jdbcTemplate.query(
+                "SELECT employee_number, annual_leave, sick_leave FROM employee ORDER BY employee_number",
+                (rs, n) -> rs.getString(1) + "|" + rs.getDouble(2) + "|" + rs.getInt(3)));
+        // 급여 원장은 원본 기록과 일치해야 함 (보정 0건)
+        assertEquals(0, salaryLedgerService.rebuild(START.getYear(), START.getMonthValue()).get("corrected"));
+        return rows;
+    }
+}
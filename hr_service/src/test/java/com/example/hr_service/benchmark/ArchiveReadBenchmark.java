@@ -0,0 +1,118 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.controller.AdminAttendanceController;
+import com.example.hr_service.service.AttendanceArchiveService;
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 월간 조회: attendance 테이블(DTO projection) vs 보관 파일(memory-mapped) (3,000명 x 2025년 7월 근무일)
+ *
+ * 같은 달을 보관 전/후로 조회해 호출 1회당 평균 시간과 할당 바이트(테스트 스레드 기준)를 비교
+ *
+ * 실행: ./mvnw test -Dtest=ArchiveReadBenchmark -Dbenchmark=true
+ */
+@SpringBootTest(properties = "attendance.archive.dir=target/benchmark-archive/${random.uuid}")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ArchiveReadBenchmark {
+
+    private static final int EMPLOYEES = 3000;
+    private static final LocalDate START = LocalDate.of(2025, 7, 1);
+    private static final LocalDate END = LocalDate.of(2025, 7, 31);
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private AdminAttendanceController controller;
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hotTableVsSegment() {
+        List<Long> ids = seed();
+        Long employeeId = ids.get(ids.size() / 2);
+
+        Supplier<Object> employee = () -> controller.getMonthlyAttendance(employeeId, 2025, 7).getBody();
+        Supplier<Object> all = () -> controller.getAll(2025, 7).getBody();
+        Object employeeBefore = employee.get();
+        Object allBefore = all.get();
+        long[] hotEmployee = measure(employee);
+        long[] hotAll = measure(all);
+
+        payrollService.close(2025, 7);
+        Map<String, Object> archived = archiveService.archive(2025, 7);
+        assertEquals(employeeBefore, employee.get());
+        assertEquals(allBefore, all.get());
+        long[] segmentEmployee = measure(employee);
+        long[] segmentAll = measure(all);
+
+        System.out.printf("[보관] 기록 %,d건, 파일 %,d bytes, %,d ms%n",
+                archived.get("records"), archived.get("bytes"), archived.get("elapsedMillis"));
+        report("사원 월간 조회", hotEmployee, segmentEmployee);
+        report("전 사원 월간 조회", hotAll, segmentAll);
+    }
+
+    private void report(String name, long[] hot, long[] segment) {
+        System.out.printf("[%s] 테이블: %.3f ms, %,d KB/회 -> 보관 파일: %.3f ms, %,d KB/회%n",
+                name, hot[0] / 1e6, hot[1] / 1024, segment[0] / 1e6, segment[1] / 1024);
+    }
+
+    // [평균 ns, 평균 할당 바이트]
+    private long[] measure(Supplier<Object> call) {
+        for (int i = 0; i < WARMUP; i++) call.get();
+        long thread = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) call.get();
+        long elapsed = System.nanoTime() - start;
+        return new long[]{elapsed / ITERATIONS, (threads.getThreadAllocatedBytes(thread) - allocated) / ITERATIONS};
+    }
+
+    private List<Long> seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "V", EMPLOYEES, i -> "생산");
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : ids) {
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+                if (d.getDayOfWeek().getValue() >= 6) continue;
+                logs.add(new Object[]{id, d});
+            }
+            if (logs.size() >= 10_000) {
+                insertLogs(logs);
+                logs.clear();
+            }
+        }
+        insertLogs(logs);
+        return ids;
+    }
+
+    private void insertLogs(List<Object[]> logs) {
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", logs);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.config.AttendanceSchemaMigration;
+import com.example.hr_service.entity.AttendanceLog;
+import com.example.hr_service.repository.AttendanceLogRepository;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * attendance 인덱스 유무에 따른 조회 지연 (500명 x 3년 평일, 약 39만 건)
+ *
+ * 실행: ./mvnw test -Dtest=AttendanceIndexBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AttendanceIndexBenchmark {
+
+    private static final int EMPLOYEES = 500;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 31);
+    private static final int LOOKUPS = 200;
+
+    @Autowired
+    private AttendanceLogRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceSchemaMigration schemaMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lookupLatencyWithAndWithoutIndexes() {
+        List<Long> ids = seed();
+
+        jdbcTemplate.execute("ALTER TABLE attendance DROP CONSTRAINT " + AttendanceLog.UK_EMPLOYEE_WORK_DATE);
+        jdbcTemplate.execute("DROP INDEX idx_attendance_work_date_covering");
+        jdbcTemplate.execute("DROP INDEX idx_attendance_work_date_check_out");
+        Map<String, Double> before = measure(ids);
+
+        schemaMigration.migrate();
+        schemaMigration.migrate(); // 재실행해도 그대로
+        Map<String, Double> after = measure(ids);
+
+        before.forEach((name, ms) -> System.out.printf("[%s] 인덱스 없음 %.3f ms / 인덱스 %.3f ms%n", name, ms, after.get(name)));
+
+        // 같은 사원/날짜 중복 기록은 DB 에서 거부
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO attendance (employee_id, work_date, status) VALUES (?, ?, '출근')", ids.get(0), LAST_DAY));
+    }
+
+    // 조회 종류별 1회 평균 ms
+    private Map<String, Double> measure(List<Long> ids) {
+        Random random = new Random(42);
+        Map<String, Double> result = new LinkedHashMap<>();
+        result.put("사원+날짜", time(() -> attendanceRepository.findByEmployeeIdAndWorkDate(
+                ids.get(random.nextInt(ids.size())), randomDay(random))));
+        result.put("사원+월", time(() -> {
+            LocalDate start = randomDay(random).withDayOfMonth(1);
+            attendanceRepository.findByEmployeeIdAndWorkDateBetween(
+                    ids.get(random.nextInt(ids.size())), start, start.withDayOfMonth(start.lengthOfMonth()));
+        }));
+        result.put("날짜+퇴근 미처리", time(() -> attendanceRepository.findByWorkDateAndCheckOutIsNull(randomDay(random))));
+        result.put("월 급여 집계", time(() -> {
+            LocalDate start = randomDay(random).withDayOfMonth(1);
+            attendanceRepository.summarizeByEmployee(start, start.withDayOfMonth(start.lengthOfMonth()), null);
+        }));
+        return result;
+    }
+
+    private double time(Runnable lookup) {
+        for (int i = 0; i < 20; i++) lookup.run(); // 워밍업
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) lookup.run();
+        return (System.nanoTime() - start) / 1_000_000.0 / LOOKUPS;
+    }
+
+    private LocalDate randomDay(Random random) {
+        return FIRST_DAY.plusDays(random.nextInt((int) (LAST_DAY.toEpochDay() - FIRST_DAY.toEpochDay() + 1)));
+    }
+
+    private List<Long> seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "I", EMPLOYEES, i -> "생산");
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : ids) {
+            for (LocalDate d = FIRST_DAY; !d.isAfter(LAST_DAY); d = d.plusDays(1)) {
+                if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) continue;
+                logs.add(new Object[]{id, d, "09:00:00", "18:00:00", "퇴근", 480, 96_000});
+            }
+            if (logs.size() >= 20_000) {
+                insertLogs(logs);
+                logs.clear();
+            }
+        }
+        insertLogs(logs);
+        return ids;
+    }
+
+    private void insertLogs(List<Object[]> logs) {
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, ?, ?, ?, ?, ?)", logs);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.support.TestEmployees;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 출근/퇴근 폭주: 사원 3,000명이 동시 요청 600건씩 밀어 넣을 때 처리량/지연
+ *
+ * DB 왕복 지연(JDBC 문장 실행마다 storm.jdbc-latency-ms)을 흉내 내 요청 시간 대부분이 JDBC 대기가 되게 함
+ * - 기본 실행: Tomcat 스레드 풀 (platform)
+ * - virtual 실행 (JDK 21+): -Pvirtual -Dspring.profiles.active=virtual
+ *
+ * 2xx 는 성공 (write-behind 의 202 접수 포함), 검증 전에 write-behind 큐가 다 반영될 때까지 대기
+ *
+ * 실행: ./mvnw test -Dtest=CheckInStormBenchmark -Dbenchmark=true
+ *      ./mvnw test -Pvirtual -Dtest=CheckInStormBenchmark -Dbenchmark=true -Dspring.profiles.active=virtual
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CheckInStormBenchmark {
+
+    private static final int EMPLOYEES = 3000;
+    private static final int IN_FLIGHT = 600;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(10)).build();
+
+    @Test
+    void checkInStorm() throws InterruptedException {
+        seed();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM employee ORDER BY id", Long.class);
+        String mode = Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform";
+
+        Result checkIn = storm("/api/attendance/check-in", ids);
+        Result checkOut = storm("/api/attendance/check-out", ids);
+        System.out.printf("[%s 출근] %s%n", mode, checkIn);
+        System.out.printf("[%s 퇴근] %s%n", mode, checkOut);
+
+        awaitWriteBehindDrained();
+        assertEquals((long) EMPLOYEES, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attendance WHERE check_out IS NOT NULL", Long.class) + checkIn.failed + checkOut.failed);
+    }
+
+    // 동시 요청 IN_FLIGHT 건을 유지하며 사원마다 1건씩 전송
+    private Result storm(String path, List<Long> ids) {
+        URI uri = URI.create("http://localhost:" + port + path);
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+        AtomicInteger failed = new AtomicInteger();
+        long[] latencies = new long[ids.size()];
+        List<CompletableFuture<?>> futures = new ArrayList<>(ids.size());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ids.size(); i++) {
+            inFlight.acquireUninterruptibly();
+            int index = i;
+            long sentAt = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"id\": " + ids.get(i) + "}"))
+                    .build();
+            futures.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        if (error != null || response.statusCode() / 100 != 2) failed.incrementAndGet();
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        Arrays.sort(latencies);
+        return new Result(ids.size(), failed.get(), millis,
+                latencies[latencies.length / 2] / 1_000_000, latencies[latencies.length * 99 / 100] / 1_000_000,
+                Thread.activeCount());
+    }
+
+    // write-behind 모드면 접수(202)된 기록이 모두 커밋될 때까지 대기 (직접 기록 모드는 게이지 없음)
+    private void awaitWriteBehindDrained() throws InterruptedException {
+        Gauge pending = meterRegistry.find("attendance.ingest.queue.depth").gauge();
+        if (pending == null) return;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (pending.value() > 0) {
+            if (System.nanoTime() > deadline) fail("write-behind 큐가 60초 안에 비지 않음: " + pending.value());
+            Thread.sleep(10);
+        }
+    }
+
+    private void seed() {
+        TestEmployees.clear(jdbcTemplate);
+        TestEmployees.insert(jdbcTemplate, "C", EMPLOYEES, i -> "생산");
+    }
+
+    private record Result(int requests, int failed, long millis, long p50Ms, long p99Ms, int platformThreads) {
+        @Override
+        public String toString() {
+            return String.format("%,d건 %,d ms (%,.0f req/s), p50 %d ms, p99 %d ms, 실패 %d, platform 스레드 %d",
+                    requests, millis, requests * 1000.0 / Math.max(1, millis), p50Ms, p99Ms, failed, platformThreads);
+        }
+    }
+
+    // JDBC 문장 실행마다 DB 왕복 지연 추가
+    @TestConfiguration
+    static class JdbcLatencyConfig {
+
+        @Bean
+        static BeanPostProcessor jdbcLatencyPostProcessor(Environment environment) {
+            long latencyMs = environment.getProperty("storm.jdbc-latency-ms", Long.class, 3L);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) return bean;
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slow(super.getConnection(), Connection.class, latencyMs);
+                        }
+                    };
+                }
+            };
+        }
+
+        // Connection 이 만든 Statement 의 execute* 호출마다 sleep
+        @SuppressWarnings("unchecked")
+        private static <T> T slow(T target, Class<T> type, long latencyMs) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (type != Connection.class && method.getName().startsWith("execute")) Thread.sleep(latencyMs);
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return slow(statement, (Class<Statement>) method.getReturnType(), latencyMs);
+                }
+                return result;
+            });
+        }
+    }
+}
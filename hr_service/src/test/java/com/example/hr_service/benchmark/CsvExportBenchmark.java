@@ -0,0 +1,114 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.service.AttendanceExportService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 기간 CSV 내보내기: 1개월 vs 12개월 (1,000명 x 2024년 근무일), plain vs gzip
+ *
+ * 출력은 바이트 수만 세고 버림. 행당 시간/할당 바이트(테스트 스레드 기준)가 기간과 관계없이 비슷하면 메모리가 기간에 비례하지 않음
+ *
+ * 실행: ./mvnw test -Dtest=CsvExportBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CsvExportBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 3;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void monthVsYear() throws IOException {
+        int days = seed();
+        measure("1개월", START, START.withDayOfMonth(31), false, EMPLOYEES * 23L);
+        measure("12개월", START, END, false, (long) EMPLOYEES * days);
+        measure("12개월 gzip", START, END, true, (long) EMPLOYEES * days);
+    }
+
+    private void measure(String name, LocalDate start, LocalDate end, boolean gzip, long expectedRows) throws IOException {
+        for (int i = 0; i < WARMUP; i++) exportService.writeCsv(start, end, gzip, OutputStream.nullOutputStream());
+        long thread = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long begin = System.nanoTime();
+        long rows = 0;
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            CountingStream out = new CountingStream();
+            rows = exportService.writeCsv(start, end, gzip, out);
+            bytes = out.count;
+        }
+        long elapsed = (System.nanoTime() - begin) / ITERATIONS;
+        long perRow = (threads.getThreadAllocatedBytes(thread) - allocated) / ITERATIONS / rows;
+        assertEquals(expectedRows, rows);
+        System.out.printf("[CSV %s] %,d행, %,d bytes, %,d ms, %,.0f 행/초, 행당 할당 %,d bytes%n",
+                name, rows, bytes, elapsed / 1_000_000, rows * 1e9 / elapsed, perRow);
+    }
+
+    // 2024년 평일 수
+    private int seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "X", EMPLOYEES, i -> i % 2 == 0 ? "생산" : "품질");
+        List<Object[]> logs = new ArrayList<>();
+        int days = 0;
+        for (Long id : ids) {
+            days = 0;
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+                if (d.getDayOfWeek().getValue() >= 6) continue;
+                logs.add(new Object[]{id, d});
+                days++;
+            }
+            if (logs.size() >= 10_000) {
+                insertLogs(logs);
+                logs.clear();
+            }
+        }
+        insertLogs(logs);
+        return days;
+    }
+
+    private void insertLogs(List<Object[]> logs) {
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", logs);
+    }
+
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.entity.AttendanceLog;
+import com.example.hr_service.repository.AttendanceLogRepository;
+import com.example.hr_service.service.AttendanceScheduler;
+import com.example.hr_service.service.SalaryLedgerService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 퇴근 미처리 마감: 엔티티 건별 save vs id 구간별 bulk UPDATE (미퇴근 10,000건)
+ *
+ * 실행: ./mvnw test -Dtest=MissingCheckOutBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MissingCheckOutBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final String[] STATUSES = {"출근", "지각", "연차", "결근"};
+
+    @Autowired
+    private AttendanceScheduler scheduler;
+
+    @Autowired
+    private AttendanceLogRepository attendanceRepository;
+
+    @Autowired
+    private SalaryLedgerService salaryLedgerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entityLoopVsBulkUpdate() {
+        seedEmployees();
+
+        seedOpenLogs();
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(tx -> legacyProcessMissingCheckOut(DAY));
+        long legacyMs = System.currentTimeMillis() - start;
+        List<Map<String, Object>> legacyState = state();
+
+        seedOpenLogs();
+        AttendanceScheduler.MissingCheckOutResult result = scheduler.closeMissingCheckOuts(DAY);
+
+        assertEquals(legacyState, state());
+        assertEquals(EMPLOYEES / 4, result.counts().get("미퇴근(결근)"));
+        assertEquals(EMPLOYEES / 4, result.counts().get("지각(미퇴근)"));
+        assertEquals(0, salaryLedgerService.rebuild(DAY.getYear(), DAY.getMonthValue()).get("corrected"));
+
+        System.out.printf("[엔티티 건별 save] %,d ms%n", legacyMs);
+        System.out.printf("[구간별 bulk UPDATE] %,d ms / %s%n", result.elapsedMillis(), result.counts());
+    }
+
+    // 기존 AttendanceScheduler.processMissingCheckOut 본문
+    private void legacyProcessMissingCheckOut(LocalDate yesterday) {
+        List<AttendanceLog> missingLogs = attendanceRepository.findByWorkDateAndCheckOutIsNull(yesterday);
+        SalaryLedgerService.Deltas deltas = new SalaryLedgerService.Deltas();
+        for (AttendanceLog attLog : missingLogs) {
+            if ("출근".equals(attLog.getStatus())) attLog.setStatus("미퇴근(결근)");
+            else if ("지각".equals(attLog.getStatus())) attLog.setStatus("지각(미퇴근)");
+            if (attLog.getEmployee() != null) {
+                deltas.add(attLog.getEmployee().getId(), yesterday,
+                        SalaryLedgerService.diff(attLog.getDailyWage(), 0), SalaryLedgerService.diff(attLog.getWorkingMinutes(), 0));
+            }
+            attLog.setDailyWage(0); attLog.setWorkingMinutes(0);
+            attendanceRepository.save(attLog);
+        }
+        salaryLedgerService.apply(deltas);
+    }
+
+    private List<Map<String, Object>> state() {
+        return jdbcTemplate.queryForList("SELECT a.employee_id, a.status, a.daily_wage, a.working_minutes, "
+                + "l.total_wage, l.total_minutes FROM attendance a "
+                + "LEFT JOIN salary_ledger l ON l.employee_id = a.employee_id AND l.work_year = ? AND l.work_month = ? "
+                + "ORDER BY a.employee_id", DAY.getYear(), DAY.getMonthValue());
+    }
+
+    private void seedEmployees() {
+        TestEmployees.clear(jdbcTemplate);
+        TestEmployees.insert(jdbcTemplate, "M", EMPLOYEES, i -> "생산");
+    }
+
+    // 출근/지각/연차/결근 상태의 퇴근 미처리 기록 (원장은 기록과 일치시켜 둠)
+    private void seedOpenLogs() {
+        jdbcTemplate.update("DELETE FROM attendance");
+        jdbcTemplate.update("DELETE FROM salary_ledger");
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM employee ORDER BY id", Long.class);
+        List<Object[]> logs = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String status = STATUSES[i % STATUSES.length];
+            boolean paid = "연차".equals(status) || i % 3 == 0;
+            logs.add(new Object[]{ids.get(i), DAY, "결근".equals(status) ? null : "09:00:00", status,
+                    paid ? 480 : 0, paid ? 96_000 : 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, status, working_minutes, daily_wage) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", logs);
+        salaryLedgerService.rebuild(DAY.getYear(), DAY.getMonthValue());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.controller.AdminAttendanceController;
+import com.example.hr_service.repository.AttendanceLogRepository;
+import com.example.hr_service.service.AttendanceExportService;
+import com.example.hr_service.support.TestEmployees;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * /monthly/all: 전체 로딩 후 직렬화 vs 사원 단위 스트리밍 (3,000명 x 31일)
+ *
+ * 실행: ./mvnw test -Dtest=MonthlyExportBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MonthlyExportBenchmark {
+
+    private static final int EMPLOYEES = 3000;
+    private static final LocalDate START = LocalDate.of(2026, 3, 1);
+    private static final LocalDate END = LocalDate.of(2026, 3, 31);
+
+    @Autowired
+    private AdminAttendanceController controller;
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private AttendanceLogRepository attendanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void materializedVsStreaming() throws Exception {
+        seed();
+
+        // 결과 동일성 (사원/날짜 순서만 다를 수 있음)
+        JsonNode legacy = objectMapper.valueToTree(controller.getAll(2026, 3).getBody());
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        exportService.writeMonthly(START, END, AttendanceExportService.Format.ARRAY, array);
+        assertEquals(normalize(legacy), normalize(objectMapper.readTree(array.toByteArray())));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        exportService.writeMonthly(START, END, AttendanceExportService.Format.NDJSON, ndjson);
+        assertEquals(EMPLOYEES, ndjson.toString().lines().count());
+
+        // 전체 로딩: 월 전체 엔티티가 응답 직렬화 전까지 한꺼번에 살아 있음
+        long materialized = attendanceRepository.findByWorkDateBetween(START, END).size();
+        long beforeMs = time(() -> objectMapper.writeValue(OutputStream.nullOutputStream(),
+                controller.getAll(2026, 3).getBody()));
+
+        // 스트리밍: 사원 묶음을 내보낼 때마다 영속성 컨텍스트에 남은 엔티티 수를 기록
+        long[] peakManaged = {0};
+        OutputStream probe = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                long managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                peakManaged[0] = Math.max(peakManaged[0], managed);
+            }
+        };
+        long afterMs = time(() -> exportService.writeMonthly(START, END, AttendanceExportService.Format.NDJSON, probe));
+
+        System.out.printf("[전체 로딩 후 직렬화] %,d ms / 동시 보유 엔티티 %,d건%n", beforeMs, materialized + EMPLOYEES);
+        System.out.printf("[사원 단위 스트리밍] %,d ms / 동시 보유 엔티티 최대 %,d건%n", afterMs, peakManaged[0]);
+    }
+
+    private long time(Export export) throws Exception {
+        export.run(); // 워밍업
+        long start = System.nanoTime();
+        export.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private Map<Long, List<String>> normalize(JsonNode groups) {
+        Map<Long, List<String>> result = new TreeMap<>();
+        for (JsonNode group : groups) {
+            List<String> logs = new ArrayList<>();
+            group.get("logs").forEach(l -> logs.add(l.toString()));
+            logs.sort(Comparator.naturalOrder());
+            result.put(group.get("employeeId").asLong(), logs);
+        }
+        return result;
+    }
+
+    private void seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "X", EMPLOYEES, i -> "생산", i -> 2, 2);
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : ids) {
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+                logs.add(new Object[]{id, d, "09:00:00", "18:00:00", "퇴근", 480, 96_000});
+            }
+            if (logs.size() >= 10_000) {
+                insertLogs(logs);
+                logs.clear();
+            }
+        }
+        insertLogs(logs);
+    }
+
+    private void insertLogs(List<Object[]> logs) {
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, ?, ?, ?, ?, ?)", logs);
+    }
+
+    private interface Export {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.controller.AdminAttendanceController;
+import com.example.hr_service.dto.AttendanceLogResponse;
+import com.example.hr_service.entity.AttendanceLog;
+import com.example.hr_service.support.TestEmployees;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 월간 조회: 엔티티 로딩(사원 JOIN FETCH) 후 변환 vs DTO projection (1,000명 x 2026년 4월 근무일)
+ *
+ * 호출 1회당 평균 시간과 할당 바이트(테스트 스레드 기준, 응답 직렬화 제외)를 비교
+ * 변경 전 경로도 repository 조회와 같이 읽기 전용 트랜잭션 안에서 실행
+ *
+ * 실행: ./mvnw test -Dtest=MonthlyReadBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MonthlyReadBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+    private static final LocalDate START = LocalDate.of(2026, 4, 1);
+    private static final LocalDate END = LocalDate.of(2026, 4, 30);
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private AdminAttendanceController controller;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void entityVsProjection() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<Long> ids = seed();
+        Long employeeId = ids.get(ids.size() / 2);
+
+        // 결과 동일성
+        assertEquals(legacyAll(), toMap((List<Map<String, Object>>) controller.getAll(2026, 4).getBody()));
+        assertEquals(legacyEmployee(employeeId), controller.getMonthlyAttendance(employeeId, 2026, 4).getBody());
+
+        report("전 사원 월간 조회", () -> readOnly.execute(tx -> legacyAll()), () -> controller.getAll(2026, 4).getBody());
+        report("사원 월간 조회", () -> readOnly.execute(tx -> legacyEmployee(employeeId)),
+                () -> controller.getMonthlyAttendance(employeeId, 2026, 4).getBody());
+    }
+
+    private void report(String name, Supplier<Object> legacy, Supplier<Object> projection) {
+        long[] before = measure(legacy);
+        long[] after = measure(projection);
+        System.out.printf("[%s] 엔티티: %.2f ms, %,d KB/회 -> projection: %.2f ms, %,d KB/회%n",
+                name, before[0] / 1e6, before[1] / 1024, after[0] / 1e6, after[1] / 1024);
+    }
+
+    // [평균 ns, 평균 할당 바이트]
+    private long[] measure(Supplier<Object> call) {
+        for (int i = 0; i < WARMUP; i++) call.get();
+        long thread = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) call.get();
+        long elapsed = System.nanoTime() - start;
+        return new long[]{elapsed / ITERATIONS, (threads.getThreadAllocatedBytes(thread) - allocated) / ITERATIONS};
+    }
+
+    // 변경 전 /monthly/all: 근태 + 사원 엔티티 로딩 후 사원별 묶음
+    private Object legacyAll() {
+        List<AttendanceLog> logs = entityManager.createQuery("SELECT l FROM AttendanceLog l JOIN FETCH l.employee "
+                        + "WHERE l.workDate BETWEEN :start AND :end", AttendanceLog.class)
+                .setParameter("start", START).setParameter("end", END).getResultList();
+        Map<Long, List<AttendanceLogResponse>> grouped = logs.stream().collect(Collectors.groupingBy(
+                l -> l.getEmployee().getId(), TreeMap::new,
+                Collectors.mapping(AttendanceLogResponse::new, Collectors.toList())));
+        grouped.values().forEach(l -> l.sort(Comparator.comparing(AttendanceLogResponse::workDate)));
+        return grouped;
+    }
+
+    // 변경 전 /monthly/{employeeId}: 기본 EAGER 였던 사원까지 함께 로딩
+    private Object legacyEmployee(Long employeeId) {
+        return entityManager.createQuery("SELECT l FROM AttendanceLog l JOIN FETCH l.employee e "
+                        + "WHERE e.id = :id AND l.workDate BETWEEN :start AND :end ORDER BY l.workDate", AttendanceLog.class)
+                .setParameter("id", employeeId).setParameter("start", START).setParameter("end", END)
+                .getResultList().stream().map(AttendanceLogResponse::new).collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<AttendanceLogResponse>> toMap(List<Map<String, Object>> groups) {
+        Map<Long, List<AttendanceLogResponse>> result = new TreeMap<>();
+        groups.forEach(g -> result.put((Long) g.get("employeeId"), (List<AttendanceLogResponse>) g.get("logs")));
+        return result;
+    }
+
+    private List<Long> seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        // 비밀번호 해시까지 채워 실제 사원 엔티티 크기와 비슷하게
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "R", EMPLOYEES, i -> "생산");
+        jdbcTemplate.update("UPDATE employee SET phone = '010-0000-0000', password_hash = ?", "$2b$12$" + "x".repeat(53));
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : ids) {
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+                if (d.getDayOfWeek().getValue() >= 6) continue;
+                logs.add(new Object[]{id, d});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, check_in, check_out, status, "
+                + "working_minutes, daily_wage) VALUES (?, ?, '08:50:00', '18:00:00', '정상퇴근', 480, 96000)", logs);
+        return ids;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.service.PayrollService;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 월 급여 마감: 스레드 수(parallelism)별 마감 시간 (3,000명 x 30일)
+ *
+ * 매 측정 전 마감 결과를 지우고 같은 달을 다시 마감, 스레드 수는 1 부터 CPU 수(또는 -Dpayroll.threads)까지 2배씩
+ *
+ * 실행: ./mvnw test -Dtest=PayrollCloseBenchmark -Dbenchmark=true [-Dpayroll.threads=8]
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PayrollCloseBenchmark {
+
+    private static final int EMPLOYEES = 3000;
+    private static final LocalDate START = LocalDate.of(2025, 9, 1);
+    private static final LocalDate END = LocalDate.of(2025, 9, 30);
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void closeTimeByParallelism() {
+        seed();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = Integer.getInteger("payroll.threads", cores);
+        Long expected = null;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ReflectionTestUtils.setField(payrollService, "parallelism", threads);
+            reopen();
+            payrollService.close(START.getYear(), START.getMonthValue()); // 워밍업
+
+            long millis = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                reopen();
+                long start = System.nanoTime();
+                Map<String, Object> result = payrollService.close(START.getYear(), START.getMonthValue());
+                millis += (System.nanoTime() - start) / 1_000_000;
+
+                assertEquals(EMPLOYEES, result.get("employees"));
+                long gross = (Long) result.get("grossTotal");
+                if (expected == null) expected = gross;
+                assertEquals(expected, gross, "스레드 수와 관계없이 같은 결과");
+            }
+            System.out.printf("[급여 마감 %d 스레드] 평균 %,d ms (CPU %d개)%n", threads, millis / ROUNDS, cores);
+        }
+        ReflectionTestUtils.setField(payrollService, "parallelism", 0);
+    }
+
+    private void reopen() {
+        jdbcTemplate.update("DELETE FROM payroll_snapshot WHERE pay_year = ? AND pay_month = ?", START.getYear(), START.getMonthValue());
+        jdbcTemplate.update("DELETE FROM payroll_close WHERE pay_year = ? AND pay_month = ?", START.getYear(), START.getMonthValue());
+    }
+
+    private void seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        String[] statuses = {"정상퇴근", "정상퇴근", "정상퇴근", "지각/퇴근", "연차", "반차", "결근"};
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "P", EMPLOYEES, i -> i % 2 == 0 ? "생산" : "품질");
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : ids) {
+            int n = 0;
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1), n++) {
+                String status = statuses[(int) ((id + n) % statuses.length)];
+                boolean unpaid = "결근".equals(status);
+                logs.add(new Object[]{id, d, status, unpaid ? 0 : 480, unpaid ? 0 : 96_000});
+            }
+            if (logs.size() >= 10_000) {
+                insertLogs(logs);
+                logs.clear();
+            }
+        }
+        insertLogs(logs);
+    }
+
+    private void insertLogs(List<Object[]> logs) {
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, status, working_minutes, daily_wage) "
+                + "VALUES (?, ?, ?, ?, ?)", logs);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.dto.EmployeeMonthlySummary;
+import com.example.hr_service.entity.AttendanceLog;
+import com.example.hr_service.repository.AttendanceLogRepository;
+import com.example.hr_service.support.TestEmployees;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * /salary/all-summary 집계: 엔티티 전체 로딩 + groupingBy vs DB GROUP BY projection (3,000명 x 31일)
+ *
+ * 실행: ./mvnw test -Dtest=SalarySummaryBenchmark -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SalarySummaryBenchmark {
+
+    private static final int EMPLOYEES = 3000;
+    private static final LocalDate START = LocalDate.of(2026, 3, 1);
+    private static final LocalDate END = LocalDate.of(2026, 3, 31);
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private AttendanceLogRepository attendanceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entityGroupingVsProjection() {
+        seed();
+
+        Supplier<Map<Long, Long>> entityGrouping = () -> {
+            List<AttendanceLog> allLogs = attendanceRepository.findByWorkDateBetween(START, END);
+            return allLogs.stream()
+                    .filter(log -> log != null && log.getEmployee() != null)
+                    .collect(Collectors.groupingBy(
+                            log -> log.getEmployee().getId(),
+                            Collectors.summingLong(log -> log.getDailyWage() != null ? log.getDailyWage().longValue() : 0L)));
+        };
+        Supplier<Map<Long, Long>> projection = () -> attendanceRepository.summarizeByEmployee(START, END, null).stream()
+                .collect(Collectors.toMap(EmployeeMonthlySummary::employeeId, EmployeeMonthlySummary::totalWage));
+
+        assertEquals(run(entityGrouping).result, run(projection).result);
+        assertEquals(EMPLOYEES / 2, attendanceRepository.summarizeByEmployee(START, END, "생산").size());
+
+        Measurement before = measure(entityGrouping);
+        Measurement after = measure(projection);
+        System.out.printf("[엔티티 + groupingBy] 평균 %,d ms, 요청당 할당 %,d KB%n", before.millis, before.allocatedKb);
+        System.out.printf("[GROUP BY projection] 평균 %,d ms, 요청당 할당 %,d KB%n", after.millis, after.allocatedKb);
+    }
+
+    private Measurement measure(Supplier<Map<Long, Long>> query) {
+        run(query); // 워밍업
+        long millis = 0;
+        long allocated = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            Measurement m = run(query);
+            millis += m.millis;
+            allocated += m.allocatedKb;
+        }
+        return new Measurement(null, millis / ROUNDS, allocated / ROUNDS);
+    }
+
+    // 요청 1건 = 트랜잭션 1개 (영속성 컨텍스트에 쌓이는 엔티티까지 포함해 측정)
+    private Measurement run(Supplier<Map<Long, Long>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        Map<Long, Long> result = transactionTemplate.execute(tx -> {
+            Map<Long, Long> r = query.get();
+            entityManager.clear();
+            return r;
+        });
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long allocatedKb = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / 1024;
+        return new Measurement(result, millis, allocatedKb);
+    }
+
+    private void seed() {
+        TestEmployees.clear(jdbcTemplate);
+
+        List<Long> ids = TestEmployees.insert(jdbcTemplate, "S", EMPLOYEES, i -> i % 2 == 0 ? "생산" : "품질", i -> 2, 2);
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : ids) {
+            for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1)) {
+                logs.add(new Object[]{id, d, "퇴근", 480, 96_000});
+            }
+            if (logs.size() >= 10_000) {
+                insertLogs(logs);
+                logs.clear();
+            }
+        }
+        insertLogs(logs);
+    }
+
+    private void insertLogs(List<Object[]> logs) {
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (employee_id, work_date, status, working_minutes, daily_wage) "
+                + "VALUES (?, ?, ?, ?, ?)", logs);
+    }
+
+    private record Measurement(Map<Long, Long> result, long millis, long allocatedKb) {
+    }
+}
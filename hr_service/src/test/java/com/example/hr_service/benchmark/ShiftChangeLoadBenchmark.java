@@ -0,0 +1,274 @@
+package com.example.hr_service.benchmark;
+
+import com.example.hr_service.service.AttendanceScheduler;
+import com.example.hr_service.service.WorkingDayCalendar;
+import com.example.hr_service.support.SqlStatementCounter;
+import com.example.hr_service.support.TestEmployees;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 교대 시간 부하 재현 (H2 인메모리 DB, 외부 의존 없이 단일 장비에서 실행)
+ *
+ * 1. 사원 N명 등록, STOMP 구독: 표본 사원 S명은 /topic/attendance/{id}, 관리자 3명은 /topic/attendance/admin
+ * 2. 출근 파도(결근 5% 제외) -> 퇴근(출근자의 90%) -> 관리자 일괄 수정 -> 스케줄러(퇴근 미처리 마감, 결근 처리)
+ * 3. 단계별 처리량, 응답 p50/p99, 요청 ~ 웹소켓 알림 수신 지연, SQL 문장 수(datasource-proxy) 출력
+ *
+ * 실행: ./mvnw test -Dtest=ShiftChangeLoadBenchmark -Dbenchmark=true [-Dload.employees=2000 -Dload.concurrency=200 -Dload.subscribers=300]
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Import(SqlStatementCounter.class)
+class ShiftChangeLoadBenchmark {
+
+    private static final String ADMIN_TOPIC = "/topic/attendance/admin";
+    private static final int ADMIN_CLIENTS = 3;
+    private static final int ADMIN_EDITS = 50;
+
+    private final int employees = Integer.getInteger("load.employees", 2000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 200);
+    private final int subscribers = Integer.getInteger("load.subscribers", 300);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private AttendanceScheduler attendanceScheduler;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(10)).build();
+
+    // 현재 단계에서 알림을 기다리는 사원 (사원 ID -> 요청 시작 시각)
+    private volatile Phase current;
+    private CountDownLatch subscribed;
+
+    @Test
+    void shiftChange() throws Exception {
+        List<Long> ids = seed();
+        List<Long> sampled = ids.subList(0, Math.min(subscribers, ids.size()));
+        subscribed = new CountDownLatch(sampled.size() + ADMIN_CLIENTS);
+        List<StompClient> clients = new ArrayList<>();
+        for (Long id : sampled) clients.add(connect("/topic/attendance/" + id, id));
+        for (int i = 0; i < ADMIN_CLIENTS; i++) clients.add(connect(ADMIN_TOPIC, null));
+        subscribed.await(30, TimeUnit.SECONDS); // 구독 RECEIPT 대기
+
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled, new Random(7));
+        List<Long> present = shuffled.subList(0, ids.size() * 95 / 100);
+        List<Long> leaving = present.subList(0, present.size() * 90 / 100);
+        LocalDate today = LocalDate.now();
+
+        // 출근 / 퇴근: 표본 사원은 본인 채널의 CHECK_IN / CHECK_OUT 수신까지
+        report("출근", runHttp("CHECK_IN", present, id -> post("/api/attendance/check-in", "{\"id\": " + id + "}"), sampled));
+        report("퇴근", runHttp("CHECK_OUT", leaving, id -> post("/api/attendance/check-out", "{\"id\": " + id + "}"), sampled));
+
+        // 관리자 일괄 수정: 지난 근무일을 사원별로 연차 처리, 표본 사원은 본인 채널 ADMIN_DELTA 수신까지
+        LocalDate lastWorkingDay = today.minusDays(1);
+        while (!workingDayCalendar.isWorkingDay(lastWorkingDay)) lastWorkingDay = lastWorkingDay.minusDays(1);
+        String editDate = lastWorkingDay.toString();
+        report("관리자 수정", runHttp("ADMIN_DELTA", sampled.subList(0, Math.min(ADMIN_EDITS, sampled.size())), id -> post(
+                "/api/admin/attendance/update",
+                "{\"employeeId\": \"" + id + "\", \"status\": \"연차\", \"date\": \"" + editDate + "\"}"), sampled));
+
+        // 스케줄러: 퇴근 미처리 마감 -> 결근 처리 (관리자 채널 ABSENT_BATCH 수신까지)
+        sqlStatementCounter.reset();
+        long start = System.nanoTime();
+        AttendanceScheduler.MissingCheckOutResult closed = attendanceScheduler.closeMissingCheckOuts(today);
+        System.out.printf("[퇴근 미처리 마감] %s, %,d ms, %s%n", closed.counts(), (System.nanoTime() - start) / 1_000_000, statements());
+
+        Phase absent = new Phase("ABSENT_BATCH", 1);
+        current = absent;
+        sqlStatementCounter.reset();
+        start = System.nanoTime();
+        absent.sent.put(0L, start);
+        AttendanceScheduler.AbsenteeismResult marked = attendanceScheduler.markAbsentees(today);
+        long jobMs = (System.nanoTime() - start) / 1_000_000;
+        absent.done.await(30, TimeUnit.SECONDS);
+        System.out.printf("[결근 처리] %,d명, %,d ms, 관리자 알림 %s, %s%n",
+                marked.inserted(), jobMs, absent.delays.isEmpty() ? "미수신" : absent.delays.peek() / 1_000_000 + " ms", statements());
+
+        assertEquals(ids.size() - present.size(), marked.inserted());
+        clients.forEach(StompClient::close);
+    }
+
+    private Result runHttp(String notification, List<Long> targets, Function<Long, HttpRequest> request, List<Long> sampled)
+            throws InterruptedException {
+        Set<Long> watched = new HashSet<>(sampled);
+        int expected = (int) targets.stream().filter(watched::contains).count();
+        Phase phase = new Phase(notification, expected);
+        current = phase;
+        sqlStatementCounter.reset();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger failed = new AtomicInteger();
+        long[] latencies = new long[targets.size()];
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < targets.size(); i++) {
+            inFlight.acquireUninterruptibly();
+            int index = i;
+            Long id = targets.get(i);
+            long sentAt = System.nanoTime();
+            if (watched.contains(id)) phase.sent.put(id, sentAt);
+            futures.add(httpClient.sendAsync(request.apply(id), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        if (error != null || response.statusCode() != 200) failed.incrementAndGet();
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        String queries = statements();
+        phase.done.await(30, TimeUnit.SECONDS);
+
+        Arrays.sort(latencies);
+        return new Result(targets.size(), failed.get(), millis, percentile(latencies, 50), percentile(latencies, 99),
+                phase.delays.size(), expected, phase.delayPercentile(50), phase.delayPercentile(99), queries);
+    }
+
+    private void report(String name, Result result) {
+        System.out.printf("[%s] %,d건 %,d ms (%,.0f req/s), 응답 p50 %d ms / p99 %d ms, 실패 %d | 알림 %d/%d건 p50 %d ms / p99 %d ms | %s%n",
+                name, result.requests, result.millis, result.requests * 1000.0 / Math.max(1, result.millis),
+                result.p50Ms, result.p99Ms, result.failed, result.notified, result.expected,
+                result.notifyP50Ms, result.notifyP99Ms, result.statements);
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String statements() {
+        return sqlStatementCounter.snapshot().toString();
+    }
+
+    private List<Long> seed() {
+        TestEmployees.clear(jdbcTemplate);
+        return TestEmployees.insert(jdbcTemplate, "L", employees, i -> i % 3 == 0 ? "품질" : "생산");
+    }
+
+    private StompClient connect(String topic, Long employeeId) {
+        StompClient client = new StompClient(topic, employeeId);
+        URI uri = URI.create("ws://localhost:" + port + "/ws-attendance/websocket");
+        httpClient.newWebSocketBuilder().buildAsync(uri, client).join();
+        return client;
+    }
+
+    // 알림 수신 처리: 사원 채널은 현재 단계 유형이 오면, 관리자 채널은 ABSENT_BATCH 가 오면 지연 기록
+    private void onMessage(Long employeeId, String body) {
+        Phase phase = current;
+        if (phase == null) return;
+        long receivedAt = System.nanoTime();
+        JsonNode json = mapper.readTree(body);
+        String type = json.path("type").asString();
+        if (!phase.type.equals(type)) return;
+        Long key = employeeId != null ? employeeId : 0L;
+        Long sentAt = phase.sent.remove(key);
+        if (sentAt == null) return;
+        phase.delays.add(receivedAt - sentAt);
+        phase.done.countDown();
+    }
+
+    private static long percentile(long[] sortedNanos, int p) {
+        if (sortedNanos.length == 0) return 0;
+        return sortedNanos[Math.min(sortedNanos.length - 1, sortedNanos.length * p / 100)] / 1_000_000;
+    }
+
+    private record Result(int requests, int failed, long millis, long p50Ms, long p99Ms,
+                          int notified, int expected, long notifyP50Ms, long notifyP99Ms, String statements) {
+    }
+
+    private static final class Phase {
+        final String type;
+        final Map<Long, Long> sent = new ConcurrentHashMap<>();
+        final Queue<Long> delays = new ConcurrentLinkedQueue<>();
+        final CountDownLatch done;
+
+        Phase(String type, int expected) {
+            this.type = type;
+            this.done = new CountDownLatch(expected);
+        }
+
+        long delayPercentile(int p) {
+            return percentile(delays.stream().mapToLong(Long::longValue).sorted().toArray(), p);
+        }
+    }
+
+    // STOMP 1.2 최소 클라이언트 (CONNECTED 후 구독, RECEIPT 로 구독 완료 확인, MESSAGE 본문만 전달)
+    private final class StompClient implements WebSocket.Listener {
+        private final String topic;
+        private final Long employeeId;
+        private final StringBuilder frame = new StringBuilder();
+        private WebSocket webSocket;
+
+        StompClient(String topic, Long employeeId) {
+            this.topic = topic;
+            this.employeeId = employeeId;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            webSocket.sendText("CONNECT\naccept-version:1.2\nheart-beat:0,0\n\n\0", true);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            frame.append(data);
+            if (last) {
+                if (frame.indexOf("CONNECTED") == 0) {
+                    webSocket.sendText("SUBSCRIBE\nid:sub-0\ndestination:" + topic + "\nreceipt:sub-0\n\n\0", true);
+                } else if (frame.indexOf("RECEIPT") == 0) {
+                    subscribed.countDown();
+                } else if (frame.indexOf("MESSAGE") == 0) {
+                    int bodyStart = frame.indexOf("\n\n") + 2;
+                    int bodyEnd = frame.lastIndexOf("\0");
+                    onMessage(employeeId, frame.substring(bodyStart, bodyEnd > bodyStart ? bodyEnd : frame.length()));
+                }
+                frame.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        void close() {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+        }
+    }
+}
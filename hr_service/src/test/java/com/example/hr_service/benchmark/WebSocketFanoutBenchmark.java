@@ -0,0 +1,195 @@
+package com.example.hr_service.benchmark;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STOMP 구독자 2,000명 fan-out + 느린 클라이언트 차단 (SockJS 엔드포인트의 raw WebSocket 전송 사용)
+ *
+ * 1. /topic/attendance/admin 에 2,000명 구독 후 1KB 메시지 100건 전송 -> 전원 수신 시간, fan-out 지연
+ * 2. 읽지 않는 클라이언트 5명 + 일반 20명이 있는 토픽에 32KB 메시지 200건 -> 느린 세션만 끊기고 나머지는 모두 수신
+ *
+ * 실행: ./mvnw test -Dtest=WebSocketFanoutBenchmark -Dbenchmark=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "attendance.websocket.send-time-limit-ms=2000",
+        "attendance.websocket.send-buffer-size-limit=262144"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WebSocketFanoutBenchmark {
+
+    private static final String ADMIN_TOPIC = "/topic/attendance/admin";
+    private static final String BULK_TOPIC = "/topic/attendance/bulk-test";
+    private static final int SUBSCRIBERS = 2000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private SimpleBrokerMessageHandler brokerHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void fanoutAndSlowConsumerEviction() throws Exception {
+        // 1. 대량 구독자 fan-out
+        int messages = 100;
+        CountDownLatch received = new CountDownLatch(SUBSCRIBERS);
+        List<StompClient> clients = connect(SUBSCRIBERS, ADMIN_TOPIC, false, messages, received);
+        awaitSubscriptions(ADMIN_TOPIC, SUBSCRIBERS);
+
+        // outbound 대기열 최대 길이 샘플링
+        Gauge queueDepth = meterRegistry.get("websocket.channel.queue.depth").tag("channel", "outbound").gauge();
+        AtomicLong maxQueueDepth = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> maxQueueDepth.accumulateAndGet((long) queueDepth.value(), Math::max),
+                0, 20, TimeUnit.MILLISECONDS);
+
+        String small = "x".repeat(1024);
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) messagingTemplate.convertAndSend(ADMIN_TOPIC, (Object) Map.of("seq", i, "body", small));
+        assertTrue(received.await(120, TimeUnit.SECONDS), "수신 미완료: " + received.getCount());
+        long fanoutMs = (System.nanoTime() - start) / 1_000_000;
+        sampler.shutdownNow();
+        Timer latency = meterRegistry.get("websocket.fanout.latency").tag("destination", ADMIN_TOPIC).timer();
+        System.out.printf("[fan-out] 구독자 %,d명 x %d건: %,d ms / 세션 전송 %,d건, 평균 %.1f ms, %s, 최대 대기열 %,d%n",
+                SUBSCRIBERS, messages, fanoutMs, latency.count(), latency.mean(TimeUnit.MILLISECONDS), percentiles(latency),
+                maxQueueDepth.get());
+        clients.forEach(StompClient::close);
+
+        // 2. 느린 클라이언트가 섞인 토픽
+        int bulkMessages = 200;
+        CountDownLatch fastReceived = new CountDownLatch(20);
+        List<StompClient> slow = connect(5, BULK_TOPIC, true, bulkMessages, new CountDownLatch(5));
+        List<StompClient> fast = connect(20, BULK_TOPIC, false, bulkMessages, fastReceived);
+        awaitSubscriptions(BULK_TOPIC, 25);
+
+        String large = "y".repeat(32 * 1024);
+        start = System.nanoTime();
+        for (int i = 0; i < bulkMessages; i++) messagingTemplate.convertAndSend(BULK_TOPIC, (Object) Map.of("seq", i, "body", large));
+        assertTrue(fastReceived.await(120, TimeUnit.SECONDS), "일반 클라이언트 수신 미완료: " + fastReceived.getCount());
+        long bulkMs = (System.nanoTime() - start) / 1_000_000;
+
+        double dropped = 0;
+        for (int i = 0; i < 50 && dropped < slow.size(); i++) {
+            Thread.sleep(100);
+            dropped = meterRegistry.get("websocket.sessions.dropped").counter().count();
+        }
+        System.out.printf("[느린 클라이언트] 일반 20명 32KB x %d건 수신: %,d ms / 끊긴 세션 %.0f명%n", bulkMessages, bulkMs, dropped);
+        assertEquals(slow.size(), (int) dropped);
+
+        slow.forEach(StompClient::close);
+        fast.forEach(StompClient::close);
+    }
+
+    private List<StompClient> connect(int count, String topic, boolean slow, int expected, CountDownLatch done) {
+        URI uri = URI.create("ws://localhost:" + port + "/ws-attendance/websocket");
+        List<CompletableFuture<StompClient>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StompClient client = new StompClient(topic, slow, expected, done);
+            futures.add(httpClient.newWebSocketBuilder().buildAsync(uri, client).thenApply(ws -> client));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void awaitSubscriptions(String topic, int expected) throws InterruptedException {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(topic);
+        Message<byte[]> probe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        for (int i = 0; i < 600; i++) {
+            if (brokerHandler.getSubscriptionRegistry().findSubscriptions(probe).size() >= expected) return;
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("구독 미완료: " + topic);
+    }
+
+    private String percentiles(Timer timer) {
+        StringBuilder sb = new StringBuilder();
+        for (ValueAtPercentile p : timer.takeSnapshot().percentileValues()) {
+            sb.append(String.format("p%.0f %.1f ms ", p.percentile() * 100, p.value(TimeUnit.MILLISECONDS)));
+        }
+        return sb.toString().trim();
+    }
+
+    // STOMP 1.2 최소 클라이언트 (slow 이면 구독 후 더 이상 읽지 않음)
+    private static final class StompClient implements WebSocket.Listener {
+        private final String topic;
+        private final boolean slow;
+        private final int expected;
+        private final CountDownLatch done;
+        private final AtomicInteger messages = new AtomicInteger();
+        private final StringBuilder frame = new StringBuilder();
+        private WebSocket webSocket;
+
+        StompClient(String topic, boolean slow, int expected, CountDownLatch done) {
+            this.topic = topic;
+            this.slow = slow;
+            this.expected = expected;
+            this.done = done;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            webSocket.sendText("CONNECT\naccept-version:1.2\nheart-beat:0,0\n\n\0", true);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            frame.append(data);
+            if (last) {
+                if (frame.indexOf("CONNECTED") == 0) {
+                    webSocket.sendText("SUBSCRIBE\nid:sub-0\ndestination:" + topic + "\n\n\0", true);
+                } else if (frame.indexOf("MESSAGE") == 0 && messages.incrementAndGet() == expected) {
+                    done.countDown();
+                }
+                frame.setLength(0);
+            }
+            // 느린 클라이언트는 CONNECTED 를 받고 구독한 뒤로는 읽지 않음
+            if (!slow) webSocket.request(1);
+            return null;
+        }
+
+        void close() {
+            if (webSocket != null) webSocket.abort();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hr_service.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.listener.SingleQueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.sql.DataSource;
+
+/**
+ * 테스트용 SQL 문장 수 측정 (@Import(SqlStatementCounter.class) 후 주입)
+ *
+ * 1. DataSource 를 datasource-proxy 로 감싸 전 스레드 공용 카운터로 집계 (요청 스레드/스케줄러/writer 스레드 포함)
+ * 2. count(...) 는 카운터를 비우고 실행한 뒤 그 사이 실행된 문장 수를 돌려줌
+ * 3. JDBC batch 는 batchUpdate 1회를 1문장으로 셈
+ */
+@TestComponent
+public class SqlStatementCounter implements BeanPostProcessor {
+
+    private final SingleQueryCountHolder holder = new SingleQueryCountHolder();
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public record Statements(long select, long insert, long update, long delete, long other) {
+        public long total() {
+            return select + insert + update + delete + other;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SQL %,d (select %,d / insert %,d / update %,d / delete %,d / other %,d)",
+                    total(), select, insert, update, delete, other);
+        }
+    }
+
+    public Statements count(Action action) throws Exception {
+        reset();
+        action.run();
+        return snapshot();
+    }
+
+    public void reset() {
+        holder.clear();
+    }
+
+    public Statements snapshot() {
+        long select = 0, insert = 0, update = 0, delete = 0, other = 0;
+        for (QueryCount count : holder.getQueryCountMap().values()) {
+            select += count.getSelect();
+            insert += count.getInsert();
+            update += count.getUpdate();
+            delete += count.getDelete();
+            other += count.getOther();
+        }
+        return new Statements(select, insert, update, delete, other);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) return bean;
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName + "-proxy")
+                .countQuery(holder)
+                .build();
+    }
+}
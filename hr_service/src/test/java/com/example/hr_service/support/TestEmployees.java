@@ -0,0 +1,60 @@
+package com.example.hr_service.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * 테스트/벤치마크 공통 사원 데이터 (JdbcTemplate 로 직접 입력)
+ *
+ * 1. clear 는 근태/급여 원장/사원을 전부 삭제
+ * 2. insert 는 사원번호 prefix + 6자리 순번(0부터)으로 count 명을 batch 입력하고 입력 순 ID 를 돌려줌
+ * 3. insertOne 은 한 명만 입력하고 ID 를 돌려줌 (테스트마다 새 사원이 필요한 경우)
+ * 4. 따로 지정하지 않으면 직급 사원, 월급 0, 시급 12,000, 연차 15 / 병가 5
+ */
+public final class TestEmployees {
+
+    public static final int HOURLY_RATE = 12_000;
+
+    private static final String INSERT = "INSERT INTO employee (employee_number, name, department, position, "
+            + "monthly_salary, hourly_rate, annual_leave, sick_leave) VALUES (?, ?, ?, '사원', 0, ?, ?, ?)";
+
+    private TestEmployees() {
+    }
+
+    public static void clear(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM attendance");
+        jdbcTemplate.update("DELETE FROM salary_ledger");
+        jdbcTemplate.update("DELETE FROM employee");
+    }
+
+    // 이름 "사원" + 순번
+    public static List<Long> insert(JdbcTemplate jdbcTemplate, String prefix, int count, IntFunction<String> department) {
+        return insert(jdbcTemplate, prefix, count, department, i -> 15, 5);
+    }
+
+    public static List<Long> insert(JdbcTemplate jdbcTemplate, String prefix, int count, IntFunction<String> department,
+                                    IntToDoubleFunction annualLeave, int sickLeave) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{String.format("%s%06d", prefix, i), "사원" + i, department.apply(i), HOURLY_RATE,
+                    annualLeave.applyAsDouble(i), sickLeave});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        return jdbcTemplate.queryForList("SELECT id FROM employee WHERE employee_number LIKE ? ORDER BY id",
+                Long.class, prefix + "%");
+    }
+
+    public static Long insertOne(JdbcTemplate jdbcTemplate, String number, String name, String department) {
+        return insertOne(jdbcTemplate, number, name, department, HOURLY_RATE, 15, 5);
+    }
+
+    public static Long insertOne(JdbcTemplate jdbcTemplate, String number, String name, String department,
+                                 int hourlyRate, double annualLeave, int sickLeave) {
+        jdbcTemplate.update(INSERT, number, name, department, hourlyRate, annualLeave, sickLeave);
+        return jdbcTemplate.queryForObject("SELECT id FROM employee WHERE employee_number = ?", Long.class, number);
+    }
+}